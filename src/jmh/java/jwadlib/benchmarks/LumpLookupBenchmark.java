@@ -0,0 +1,157 @@
+/*
+ * LumpLookupBenchmark.java
+ * This file is part of jwadlib.
+ *
+ * jwadlib WAD Library - A Java(TM) library for manipulating WAD files.
+ * Copyright (C) 2025 @picttarge
+ *
+ * jwadlib is free software; you can redistribute it and/or
+ * modify it under the terms of the GNU Lesser General Public
+ * License as published by the Free Software Foundation; either
+ * version 2.1 of the License, or (at your option) any later version.
+ *
+ * jwadlib is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the GNU
+ * Lesser General Public License for more details.
+ *
+ * You should have received a copy of the GNU Lesser General Public
+ * License along with this library; if not, write to the Free Software
+ * Foundation, Inc., 51 Franklin Street, Fifth Floor, Boston, MA  02110-1301  USA
+ */
+package jwadlib.benchmarks;
+
+import jwadlib.Lump;
+import jwadlib.LumpName;
+import jwadlib.Wad;
+import jwadlib.WadLoadMode;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.util.Random;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Measures the latency of looking a {@link Lump Lump} up by name, through the
+ * name index and by scanning {@link Wad#getAllLumps() getAllLumps()}.
+ * @author @picttarge
+ * @version 1.1
+ * @since 1.1
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class LumpLookupBenchmark {
+    /**
+     * The number of lumps in the generated WAD.
+     * @since 1.1
+     */
+    @Param({"100", "10000"})
+    public int lumpcount;
+
+    /**
+     * The generated WAD, opened lazily so only the directory is in memory.
+     * @since 1.1
+     */
+    private Wad wad;
+
+    /**
+     * The names that are looked up, in a random order.
+     * @since 1.1
+     */
+    private String[] names;
+
+    /**
+     * The names that are looked up, as {@link LumpName LumpNames}.
+     * @since 1.1
+     */
+    private LumpName[] lumpnames;
+
+    /**
+     * The position in {@link #names names} of the next name to look up.
+     * @since 1.1
+     */
+    private int next;
+
+    /**
+     * Generates and opens the WAD file.
+     * @throws java.lang.Exception if the WAD file cannot be written or read.
+     * @since 1.1
+     */
+    @Setup
+    public void setUp() throws Exception {
+        wad = new Wad(SyntheticWad.create(lumpcount, 16), WadLoadMode.LAZY);
+        final Random random = new Random(lumpcount);
+        names = new String[1024];
+        lumpnames = new LumpName[names.length];
+        for(int i=0; i<names.length; i++) {
+            names[i] = SyntheticWad.nameOf(random.nextInt(lumpcount));
+            lumpnames[i] = LumpName.of(names[i]);
+        }
+    }
+
+    /**
+     * Closes the WAD file.
+     * @throws java.lang.Exception if the WAD file cannot be closed.
+     * @since 1.1
+     */
+    @TearDown
+    public void tearDown() throws Exception {
+        wad.close();
+    }
+
+    /**
+     * Looks a {@link Lump Lump} up by {@link java.lang.String String} name.
+     * @return the {@link Lump Lump} found.
+     * @since 1.1
+     */
+    @Benchmark
+    public Lump findLumpByString() {
+        next = (next+1) & (names.length-1);
+        return wad.findLump(names[next]);
+    }
+
+    /**
+     * Looks a {@link Lump Lump} up by {@link LumpName LumpName}.
+     * @return the {@link Lump Lump} found.
+     * @since 1.1
+     */
+    @Benchmark
+    public Lump findLumpByLumpName() {
+        next = (next+1) & (lumpnames.length-1);
+        return wad.findLump(lumpnames[next]);
+    }
+
+    /**
+     * Looks a {@link Lump Lump} up by scanning every {@link Lump Lump} from the
+     * end, which is how lookups were done before the name index.
+     * @return the {@link Lump Lump} found.
+     * @since 1.1
+     */
+    @Benchmark
+    public Lump scanAllLumps() {
+        next = (next+1) & (lumpnames.length-1);
+        final LumpName name = lumpnames[next];
+        for(int i=wad.getNumberOfLumps()-1; i>=0; i--) {
+            final Lump lump = wad.getAllLumps().get(i);
+            if(lump.getLumpName().equals(name)) {
+                return lump;
+            }
+        }
+        return null;
+    }
+}
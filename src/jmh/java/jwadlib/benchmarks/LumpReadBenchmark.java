@@ -0,0 +1,159 @@
+/*
+ * LumpReadBenchmark.java
+ * This file is part of jwadlib.
+ *
+ * jwadlib WAD Library - A Java(TM) library for manipulating WAD files.
+ * Copyright (C) 2025 @picttarge
+ *
+ * jwadlib is free software; you can redistribute it and/or
+ * modify it under the terms of the GNU Lesser General Public
+ * License as published by the Free Software Foundation; either
+ * version 2.1 of the License, or (at your option) any later version.
+ *
+ * jwadlib is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the GNU
+ * Lesser General Public License for more details.
+ *
+ * You should have received a copy of the GNU Lesser General Public
+ * License along with this library; if not, write to the Free Software
+ * Foundation, Inc., 51 Franklin Street, Fifth Floor, Boston, MA  02110-1301  USA
+ */
+package jwadlib.benchmarks;
+
+import jwadlib.Lump;
+import jwadlib.Wad;
+import jwadlib.WadByteBuffer;
+import jwadlib.WadLoadMode;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.nio.channels.FileChannel;
+import java.util.Random;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Measures reading every lump of a WAD file from disk in directory order and
+ * in a random order, one read per lump.
+ * @author @picttarge
+ * @version 1.1
+ * @since 1.1
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class LumpReadBenchmark {
+    /**
+     * The number of lumps in the generated WAD.
+     * @since 1.1
+     */
+    @Param({"1000"})
+    public int lumpcount;
+
+    /**
+     * The size, in bytes, of each lump in the generated WAD.
+     * @since 1.1
+     */
+    @Param({"256", "16384"})
+    public int lumpsize;
+
+    /**
+     * The generated WAD, opened lazily so that no lump data is in memory.
+     * @since 1.1
+     */
+    private Wad wad;
+
+    /**
+     * The positions of the lumps in a random order.
+     * @since 1.1
+     */
+    private int[] shuffled;
+
+    /**
+     * Generates and opens the WAD file.
+     * @throws java.lang.Exception if the WAD file cannot be written or read.
+     * @since 1.1
+     */
+    @Setup
+    public void setUp() throws Exception {
+        wad = new Wad(SyntheticWad.create(lumpcount, lumpsize), WadLoadMode.LAZY);
+        shuffled = new int[lumpcount];
+        for(int i=0; i<lumpcount; i++) {
+            shuffled[i] = i;
+        }
+        final Random random = new Random(lumpcount);
+        for(int i=lumpcount-1; i>0; i--) {
+            final int j = random.nextInt(i+1);
+            final int temp = shuffled[i];
+            shuffled[i] = shuffled[j];
+            shuffled[j] = temp;
+        }
+    }
+
+    /**
+     * Closes the WAD file.
+     * @throws java.lang.Exception if the WAD file cannot be closed.
+     * @since 1.1
+     */
+    @TearDown
+    public void tearDown() throws Exception {
+        wad.close();
+    }
+
+    /**
+     * Reads the lump at the specified position from disk.
+     * @param index the position of the lump.
+     * @return the first byte of the lump.
+     * @throws java.lang.Exception if the WAD file cannot be read.
+     * @since 1.1
+     */
+    private byte read(final int index) throws Exception {
+        final Lump lump = wad.getAllLumps().get(index);
+        final FileChannel filechannel = wad.getWadFileChannel();
+        return new WadByteBuffer(filechannel, lump.getSize(), lump.getPointer()).getByte(0);
+    }
+
+    /**
+     * Reads every lump in directory order.
+     * @return the sum of the first byte of each lump.
+     * @throws java.lang.Exception if the WAD file cannot be read.
+     * @since 1.1
+     */
+    @Benchmark
+    public int sequential() throws Exception {
+        int sum = 0;
+        for(int i=0; i<lumpcount; i++) {
+            sum += read(i);
+        }
+        return sum;
+    }
+
+    /**
+     * Reads every lump in a random order.
+     * @return the sum of the first byte of each lump.
+     * @throws java.lang.Exception if the WAD file cannot be read.
+     * @since 1.1
+     */
+    @Benchmark
+    public int random() throws Exception {
+        int sum = 0;
+        for(int i=0; i<lumpcount; i++) {
+            sum += read(shuffled[i]);
+        }
+        return sum;
+    }
+}
@@ -0,0 +1,80 @@
+/*
+ * SyntheticWad.java
+ * This file is part of jwadlib.
+ *
+ * jwadlib WAD Library - A Java(TM) library for manipulating WAD files.
+ * Copyright (C) 2025 @picttarge
+ *
+ * jwadlib is free software; you can redistribute it and/or
+ * modify it under the terms of the GNU Lesser General Public
+ * License as published by the Free Software Foundation; either
+ * version 2.1 of the License, or (at your option) any later version.
+ *
+ * jwadlib is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the GNU
+ * Lesser General Public License for more details.
+ *
+ * You should have received a copy of the GNU Lesser General Public
+ * License along with this library; if not, write to the Free Software
+ * Foundation, Inc., 51 Franklin Street, Fifth Floor, Boston, MA  02110-1301  USA
+ */
+package jwadlib.benchmarks;
+
+import jwadlib.WadByteBuffer;
+import jwadlib.WadWriter;
+
+import java.io.File;
+import java.io.IOException;
+import java.util.Random;
+
+/**
+ * Generates WAD files of random lumps for the benchmarks, so that no copyrighted
+ * IWAD is needed to run them.
+ * @author @picttarge
+ * @version 1.1
+ * @since 1.1
+ */
+final class SyntheticWad {
+    //Constructors
+    /**
+     * {@link SyntheticWad SyntheticWad} only has static methods.
+     * @since 1.1
+     */
+    private SyntheticWad() {
+    }
+
+    //Package Static Methods
+    /**
+     * Returns the name of the lump at the specified position in a generated WAD.
+     * @param index the position of the lump.
+     * @return the name of the lump.
+     * @since 1.1
+     */
+    static String nameOf(final int index) {
+        return String.format("L%07d", index);
+    }
+
+    /**
+     * Writes a PWAD of random lumps to a new temporary file, which is deleted 
+     * when the JVM exits. The same arguments always generate the same file.
+     * @param lumpcount the number of lumps.
+     * @param lumpsize the size, in bytes, of each lump.
+     * @return a {@link java.io.File File} object that points to the WAD file.
+     * @throws java.io.IOException if the WAD file cannot be written.
+     * @since 1.1
+     */
+    static File create(final int lumpcount, final int lumpsize) throws IOException {
+        final File file = File.createTempFile("jwadlib-bench-", ".wad");
+        file.deleteOnExit();
+        final Random random = new Random(lumpcount*31L+lumpsize);
+        final byte[] data = new byte[lumpsize];
+        try(final WadWriter writer = new WadWriter(file)) {
+            for(int i=0; i<lumpcount; i++) {
+                random.nextBytes(data);
+                writer.addLump(nameOf(i), new WadByteBuffer(data.clone()));
+            }
+        }
+        return file;
+    }
+}
@@ -0,0 +1,177 @@
+/*
+ * WadByteBufferBenchmark.java
+ * This file is part of jwadlib.
+ *
+ * jwadlib WAD Library - A Java(TM) library for manipulating WAD files.
+ * Copyright (C) 2025 @picttarge
+ *
+ * jwadlib is free software; you can redistribute it and/or
+ * modify it under the terms of the GNU Lesser General Public
+ * License as published by the Free Software Foundation; either
+ * version 2.1 of the License, or (at your option) any later version.
+ *
+ * jwadlib is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the GNU
+ * Lesser General Public License for more details.
+ *
+ * You should have received a copy of the GNU Lesser General Public
+ * License along with this library; if not, write to the Free Software
+ * Foundation, Inc., 51 Franklin Street, Fifth Floor, Boston, MA  02110-1301  USA
+ */
+package jwadlib.benchmarks;
+
+import jwadlib.LumpName;
+import jwadlib.LumpView;
+import jwadlib.WadByteBuffer;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.util.Random;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Measures reading a 64 KB buffer of directory-like records through {@link
+ * WadByteBuffer WadByteBuffer's} relative and absolute methods and through a
+ * {@link LumpView LumpView}.
+ * @author @picttarge
+ * @version 1.1
+ * @since 1.1
+ */
+@State(Scope.Thread)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class WadByteBufferBenchmark {
+    /**
+     * The number of bytes read by each benchmark.
+     * @since 1.1
+     */
+    private static final int SIZE = 64*1024;
+
+    /**
+     * The buffer that is read.
+     * @since 1.1
+     */
+    private WadByteBuffer buffer;
+
+    /**
+     * A view of the same bytes as {@link #buffer buffer}.
+     * @since 1.1
+     */
+    private LumpView view;
+
+    /**
+     * Fills the buffer with random bytes.
+     * @since 1.1
+     */
+    @Setup
+    public void setUp() {
+        final byte[] data = new byte[SIZE];
+        new Random(SIZE).nextBytes(data);
+        buffer = new WadByteBuffer(data);
+        view = new LumpView(buffer);
+    }
+
+    /**
+     * Reads every integer with {@link WadByteBuffer#getInt() getInt()}.
+     * @return the sum of the integers.
+     * @since 1.1
+     */
+    @Benchmark
+    public int getIntRelative() {
+        buffer.setPosition(0);
+        int sum = 0;
+        for(int i=0; i<SIZE; i+=4) {
+            sum += buffer.getInt();
+        }
+        return sum;
+    }
+
+    /**
+     * Reads every integer with {@link WadByteBuffer#getInt(int) getInt(int)}.
+     * @return the sum of the integers.
+     * @since 1.1
+     */
+    @Benchmark
+    public int getIntAbsolute() {
+        int sum = 0;
+        for(int i=0; i<SIZE; i+=4) {
+            sum += buffer.getInt(i);
+        }
+        return sum;
+    }
+
+    /**
+     * Reads every short with {@link WadByteBuffer#getShort() getShort()}.
+     * @return the sum of the shorts.
+     * @since 1.1
+     */
+    @Benchmark
+    public int getShortRelative() {
+        buffer.setPosition(0);
+        int sum = 0;
+        for(int i=0; i<SIZE; i+=2) {
+            sum += buffer.getShort();
+        }
+        return sum;
+    }
+
+    /**
+     * Reads every integer with {@link LumpView#i32(int) LumpView.i32()}.
+     * @return the sum of the integers.
+     * @since 1.1
+     */
+    @Benchmark
+    public int viewI32() {
+        int sum = 0;
+        for(int i=0; i<SIZE; i+=4) {
+            sum += view.i32(i);
+        }
+        return sum;
+    }
+
+    /**
+     * Reads every eight byte name with {@link WadByteBuffer#getEightByteString()
+     * getEightByteString()}.
+     * @return the sum of the names' lengths.
+     * @since 1.1
+     */
+    @Benchmark
+    public int getEightByteString() {
+        buffer.setPosition(0);
+        int sum = 0;
+        for(int i=0; i<SIZE; i+=8) {
+            sum += buffer.getEightByteString().length();
+        }
+        return sum;
+    }
+
+    /**
+     * Reads every eight byte name with {@link WadByteBuffer#getLumpName()
+     * getLumpName()}.
+     * @return the sum of the names' hash codes.
+     * @since 1.1
+     */
+    @Benchmark
+    public int getLumpName() {
+        buffer.setPosition(0);
+        int sum = 0;
+        for(int i=0; i<SIZE; i+=8) {
+            final LumpName name = buffer.getLumpName();
+            sum += name.hashCode();
+        }
+        return sum;
+    }
+}
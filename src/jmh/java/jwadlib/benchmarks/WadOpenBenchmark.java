@@ -0,0 +1,106 @@
+/*
+ * WadOpenBenchmark.java
+ * This file is part of jwadlib.
+ *
+ * jwadlib WAD Library - A Java(TM) library for manipulating WAD files.
+ * Copyright (C) 2025 @picttarge
+ *
+ * jwadlib is free software; you can redistribute it and/or
+ * modify it under the terms of the GNU Lesser General Public
+ * License as published by the Free Software Foundation; either
+ * version 2.1 of the License, or (at your option) any later version.
+ *
+ * jwadlib is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the GNU
+ * Lesser General Public License for more details.
+ *
+ * You should have received a copy of the GNU Lesser General Public
+ * License along with this library; if not, write to the Free Software
+ * Foundation, Inc., 51 Franklin Street, Fifth Floor, Boston, MA  02110-1301  USA
+ */
+package jwadlib.benchmarks;
+
+import jwadlib.Wad;
+import jwadlib.WadLoadMode;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.io.File;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Measures how long it takes to open a WAD file with each {@link WadLoadMode
+ * WadLoadMode}, and how much it allocates when run with the <code>gc</code>
+ * profiler.
+ * @author @picttarge
+ * @version 1.1
+ * @since 1.1
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class WadOpenBenchmark {
+    /**
+     * The number of lumps in the generated WAD.
+     * @since 1.1
+     */
+    @Param({"100", "10000"})
+    public int lumpcount;
+
+    /**
+     * The size, in bytes, of each lump in the generated WAD.
+     * @since 1.1
+     */
+    @Param({"64", "4096"})
+    public int lumpsize;
+
+    /**
+     * How the WAD is opened.
+     * @since 1.1
+     */
+    @Param({"EAGER", "LAZY", "MAPPED", "DIRECT"})
+    public WadLoadMode loadmode;
+
+    /**
+     * The generated WAD file.
+     * @since 1.1
+     */
+    private File file;
+
+    /**
+     * Generates the WAD file.
+     * @throws java.lang.Exception if the WAD file cannot be written.
+     * @since 1.1
+     */
+    @Setup
+    public void setUp() throws Exception {
+        file = SyntheticWad.create(lumpcount, lumpsize);
+    }
+
+    /**
+     * Opens and closes the WAD file.
+     * @return the number of lumps, so that the work is not optimised away.
+     * @throws java.lang.Exception if the WAD file cannot be read.
+     * @since 1.1
+     */
+    @Benchmark
+    public int open() throws Exception {
+        try(final Wad wad = new Wad(file, loadmode)) {
+            return wad.getNumberOfLumps();
+        }
+    }
+}
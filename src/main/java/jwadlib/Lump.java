@@ -21,7 +21,12 @@
  */
 package jwadlib;
 
+import java.io.IOException;
+import java.nio.ByteBuffer;
 import java.nio.channels.FileChannel;
+import java.nio.channels.WritableByteChannel;
+import java.util.Arrays;
+import java.util.function.IntFunction;
 
 /**
  * The {@link Lump Lump} class is the parent class of all lump classes that are used 
@@ -34,10 +39,10 @@ import java.nio.channels.FileChannel;
 public class Lump {
     //Protected Variables   
     /**
-     * The name of the lump as a {@link java.lang.String String}.
+     * The name of the lump as a {@link LumpName LumpName}.
      * @since 1.0
      */
-    protected String name;
+    protected LumpName name;
     
     /**
      * The {@link WadByteBuffer WadByteBuffer} that contains the content of the 
@@ -46,6 +51,103 @@ public class Lump {
      */
     protected WadByteBuffer content;
     
+    //Private Static Variables
+    /**
+     * The owners of a {@link Lump Lump} that is in no {@link LumpDirectory 
+     * LumpDirectory}.
+     * @since 1.1
+     */
+    private static final LumpDirectory[] NO_OWNERS = new LumpDirectory[0];
+    
+    //Private Variables
+    /**
+     * The {@link LumpDirectory LumpDirectories} the lump is in, once for every 
+     * position it is at, which are told when the lump is renamed.
+     * @since 1.1
+     */
+    private volatile LumpDirectory[] owners = NO_OWNERS;
+    
+    /**
+     * The {@link java.nio.channels.FileChannel FileChannel} of the WAD file the 
+     * lump data was read from, or null if the lump is not backed by a WAD file 
+     * or its data has been altered since it was read.
+     * @since 1.1
+     */
+    private FileChannel filechannel;
+    
+    /**
+     * The starting location in the WAD file of the lump data.
+     * @since 1.1
+     */
+    private int pointer = -1;
+    
+    /**
+     * The size, in bytes, of the lump data as declared in the WAD file's 
+     * directory.
+     * @since 1.1
+     */
+    private int size;
+    
+    /**
+     * The {@link LumpView LumpView} of the lump data, or null if it has not been 
+     * needed since the lump data was last replaced.
+     * @since 1.1
+     */
+    private LumpView view;
+    
+    /**
+     * The {@link LumpCache LumpCache} that keeps the lump data instead of the 
+     * {@link Lump Lump} while it has not been read, or null if there is none.
+     * @since 1.1
+     */
+    private LumpCache cache;
+    
+    /**
+     * The {@link LumpDeduplicator LumpDeduplicator} that lets the lump share its 
+     * data with identical lumps, or null if there is none.
+     * @since 1.1
+     */
+    private LumpDeduplicator deduplicator;
+    
+    /**
+     * The {@link XXHash64 XXHash64} of the lump data stored in the WAD file at 
+     * {@link #pointer pointer}, if {@link #hashed hashed} is true.
+     * @since 1.1
+     */
+    private long contenthash;
+    
+    /**
+     * Whether {@link #contenthash contenthash} holds the hash of the lump data 
+     * stored in the WAD file.
+     * @since 1.1
+     */
+    private boolean hashed;
+    
+    /**
+     * Whether {@link #content content} is a read-only copy of the lump data in 
+     * the WAD file, possibly shared with other lumps, that must be copied before 
+     * it is handed out to be written to.
+     * @since 1.1
+     */
+    private boolean copyonwrite;
+    
+    /**
+     * Allocates the buffer that {@link #content content} is copied into when it 
+     * is {@link #copyonwrite copied on write}, such as the direct memory of a 
+     * {@link WadLoadMode#DIRECT DIRECT} {@link Wad Wad}, or null once there is 
+     * nothing left to copy.
+     * @since 1.1
+     */
+    private IntFunction<ByteBuffer> allocator;
+    
+    /**
+     * Whether {@link #content content} has been returned by {@link 
+     * #getRawLumpData() getRawLumpData()} to be written to, so that it may no 
+     * longer match the lump data in the WAD file.
+     * @since 1.1
+     */
+    private boolean handedout;
+    
     //Constructors
     /**
      * Creates a {@link Lump Lump} with the specified name, of size 0.
@@ -67,7 +169,7 @@ public class Lump {
      * @since 1.0
      */
     public Lump(final String name, final int size) throws UnableToInitializeLumpException {
-        this.name = WadByteBuffer.convertToEightByteString(name);
+        this.name = LumpName.of(name);
         content = new WadByteBuffer(size);
         if(!initialize()) {
             throw new UnableToInitializeLumpException("Lump could not be initialized.");
@@ -96,7 +198,20 @@ public class Lump {
      * @since 1.0
      */
     public Lump(final String name, final WadByteBuffer data) throws UnableToInitializeLumpException {
-        this.name = WadByteBuffer.convertToEightByteString(name);
+        this(LumpName.of(name), data);
+    }
+    
+    /**
+     * Creates a {@link Lump Lump} with the specified name and data.
+     * @param name the name of the {@link Lump Lump} as a {@link LumpName LumpName}.
+     * @param data the data contained in the {@link Lump Lump} as a {@link WadByteBuffer 
+     * WadByteBuffer}.
+     * @throws jwadlib.UnableToInitializeLumpException if the {@link Lump Lump's} 
+     * {@link #initialize() initialize()} method returns false.
+     * @since 1.1
+     */
+    public Lump(final LumpName name, final WadByteBuffer data) throws UnableToInitializeLumpException {
+        this.name = name;
         content = data;
         if(!initialize()) {
             throw new UnableToInitializeLumpException("Lump could not be initialized.");
@@ -105,13 +220,7 @@ public class Lump {
     
     /**
      * Creates a {@link Lump Lump} object from the information in the WAD file's 
-     * directory.  The actual lump data is not extracted, however the information 
-     * needed to extract the data is passed into the object, along with the name 
-     * of the lump and the WAD that is found in.  The lump itself is actually 
-     * extracted from the WAD file when {@link Lump Lump's} {@link #getRawLumpData() 
-     * getRawLumpData()} method is called. This is done to save memory and time by 
-     * storing only pointers to the data as opposed to the data itself, unless 
-     * necessary.
+     * directory.  The lump data is read from the WAD file immediately.
      * @param name the name of lump as a {@link java.lang.String String}.
      * @param size the size, in bytes, of the lump data.
      * @param filechannel the parent {@link Wad Wad's} {@link java.nio.channels.FileChannel 
@@ -123,18 +232,93 @@ public class Lump {
      * @since 1.0
      */
     public Lump(final String name, final int size, final FileChannel filechannel, final int pointer) throws UnableToInitializeLumpException, UnableToReadWADFileException {
-        this.name = WadByteBuffer.convertToEightByteString(name);
+        this(name, size, filechannel, pointer, false);
+    }
+    
+    /**
+     * Creates a {@link Lump Lump} object from the information in the WAD file's 
+     * directory.  If the lump is lazy, the actual lump data is not extracted, 
+     * however the information needed to extract the data is passed into the 
+     * object, along with the name of the lump and the WAD that is found in.  The 
+     * lump itself is then extracted from the WAD file when {@link Lump Lump's} 
+     * {@link #getRawLumpData() getRawLumpData()} method is first called. This is 
+     * done to save memory and time by storing only pointers to the data as opposed 
+     * to the data itself, unless necessary.
+     * @param name the name of lump as a {@link java.lang.String String}.
+     * @param size the size, in bytes, of the lump data.
+     * @param filechannel the parent {@link Wad Wad's} {@link java.nio.channels.FileChannel 
+     * FileChannel}.
+     * @param pointer the starting location in the WAD file of the lump data.
+     * @param lazy true if the lump data should not be read until it is first needed.
+     * @throws jwadlib.UnableToInitializeLumpException if the {@link Lump Lump's} 
+     * {@link #initialize() initialize()} method returns false.
+     * @throws jwadlib.UnableToReadWADFileException if the WAD file cannot be read.
+     * @since 1.1
+     */
+    public Lump(final String name, final int size, final FileChannel filechannel, final int pointer, final boolean lazy) throws UnableToInitializeLumpException, UnableToReadWADFileException {
+        this(LumpName.of(name), size, filechannel, pointer, lazy);
+    }
+    
+    /**
+     * Creates a {@link Lump Lump} object from the information in the WAD file's 
+     * directory, as described by {@link #Lump(java.lang.String, int, 
+     * java.nio.channels.FileChannel, int, boolean) Lump(String, int, FileChannel, 
+     * int, boolean)}.
+     * @param name the name of lump as a {@link LumpName LumpName}.
+     * @param size the size, in bytes, of the lump data.
+     * @param filechannel the parent {@link Wad Wad's} {@link java.nio.channels.FileChannel 
+     * FileChannel}.
+     * @param pointer the starting location in the WAD file of the lump data.
+     * @param lazy true if the lump data should not be read until it is first needed.
+     * @throws jwadlib.UnableToInitializeLumpException if the {@link Lump Lump's} 
+     * {@link #initialize() initialize()} method returns false.
+     * @throws jwadlib.UnableToReadWADFileException if the WAD file cannot be read.
+     * @since 1.1
+     */
+    public Lump(final LumpName name, final int size, final FileChannel filechannel, final int pointer, final boolean lazy) throws UnableToInitializeLumpException, UnableToReadWADFileException {
+        this.name = name;
+        this.filechannel = filechannel;
+        this.pointer = pointer;
+        this.size = size;
         if(size == 0) {
             content = new WadByteBuffer(0);
         }
-        else {
-            content = new WadByteBuffer(filechannel, size, pointer);
+        else if(!lazy) {
+            content = readContent();
         }
         if(!initialize()) {
             throw new UnableToInitializeLumpException("Lump could not be initialized.");
         }
     }
     
+    /**
+     * Creates a {@link Lump Lump} object from the information in the WAD file's 
+     * directory, whose data has already been read, or is a view of the WAD file 
+     * that is already in memory, such as a {@link WadLoadMode#MAPPED mapped} WAD file.
+     * @param name the name of lump as a {@link LumpName LumpName}.
+     * @param data the lump data.
+     * @param filechannel the parent {@link Wad Wad's} {@link java.nio.channels.FileChannel 
+     * FileChannel}.
+     * @param pointer the starting location in the WAD file of the lump data.
+     * @param allocator allocates the buffer that read-only data is copied into 
+     * before it is handed out by {@link #getRawLumpData() getRawLumpData()}, 
+     * because it shares its bytes with other lumps, or null if read-only data is 
+     * handed out as it is.
+     * @throws jwadlib.UnableToInitializeLumpException if the {@link Lump Lump's} 
+     * {@link #initialize() initialize()} method returns false.
+     * @since 1.1
+     */
+    Lump(final LumpName name, final WadByteBuffer data, final FileChannel filechannel, final int pointer, final IntFunction<ByteBuffer> allocator) throws UnableToInitializeLumpException {
+        this(name, data);
+        this.filechannel = filechannel;
+        this.pointer = pointer;
+        this.size = data.getCapacity();
+        if(allocator != null && data.isReadOnly()) {
+            this.allocator = allocator;
+            copyonwrite = true;
+        }
+    }
+    
     //Private Methods
     /**
      * This method is called at the end of every {@link Lump Lump} constructor. 
@@ -147,6 +331,348 @@ public class Lump {
         return true;
     }
     
+    /**
+     * Reads the lump data from the WAD file it is backed by.
+     * @return the lump data as a {@link WadByteBuffer WadByteBuffer}.
+     * @throws jwadlib.UnableToReadWADFileException if the WAD file cannot be read.
+     * @since 1.1
+     */
+    private WadByteBuffer readContent() throws UnableToReadWADFileException {
+        return new WadByteBuffer(filechannel, size, pointer);
+    }
+    
+    /**
+     * Returns a read-only {@link WadByteBuffer WadByteBuffer} of the same data.
+     * @param data the data.
+     * @return a read-only view of the data.
+     * @since 1.1
+     */
+    private static WadByteBuffer readOnly(final WadByteBuffer data) {
+        return new WadByteBuffer(data.duplicateByteBuffer().asReadOnlyBuffer());
+    }
+    
+    /**
+     * Makes sure that the lump data is in memory, reading it from the WAD file 
+     * if this has not been done yet.
+     * @throws java.lang.IllegalStateException if the WAD file cannot be read.
+     * @since 1.1
+     */
+    private synchronized void load() throws IllegalStateException {
+        if(content == null) {
+            try {
+                content = deduplicator != null ? deduplicator.intern(readContent()) : readContent();
+            } catch(final UnableToReadWADFileException e) {
+                throw new IllegalStateException("Lump data could not be read from the WAD file.", e);
+            }
+        }
+    }
+    
+    /**
+     * Replaces read-only lump data that shares its bytes with other lumps with a 
+     * writable copy of its own, in memory from the lump's {@link #allocator 
+     * allocator}, so that writing to it cannot change the data of another lump. 
+     * Data that the {@link Lump Lump} owns is left as it is.
+     * @since 1.1
+     */
+    private synchronized void unshare() {
+        if(content != null && copyonwrite) {
+            final ByteBuffer copy = allocator.apply(content.getCapacity());
+            copy.put(content.duplicateByteBuffer()).flip();
+            content = new WadByteBuffer(copy);
+            view = null;
+        }
+        copyonwrite = false;
+        allocator = null;
+    }
+    
+    /**
+     * Returns the lump data, from the {@link LumpCache LumpCache} if the {@link 
+     * Lump Lump} has one and does not hold its own data, otherwise from the 
+     * {@link Lump Lump}, reading it first if it has not been read yet.
+     * @return the lump data, which is shared and read-only if it is cached.
+     * @throws java.lang.IllegalStateException if the WAD file cannot be read.
+     * @since 1.1
+     */
+    private synchronized WadByteBuffer data() throws IllegalStateException {
+        if(content == null && cache != null) {
+            return cache.getContent(this);
+        }
+        load();
+        return content;
+    }
+    
+    /**
+     * Returns true if the lump data can be copied straight from the WAD file, 
+     * which is the case if it has not been read yet or if the data read has not 
+     * been handed out to be written to since.
+     * @return true if the lump data can be copied from the WAD file, otherwise false.
+     * @since 1.1
+     */
+    private synchronized boolean isBackedByFile() {
+        return filechannel != null && filechannel.isOpen() && !handedout;
+    }
+    
+    /**
+     * Returns the {@link XXHash64 XXHash64} of the lump data stored in the WAD 
+     * file, streaming it through the hash the first time without reading it 
+     * into the {@link Lump Lump}.
+     * @return the hash of the stored lump data.
+     * @throws java.io.IOException if the WAD file cannot be read.
+     * @since 1.1
+     */
+    private synchronized long hashStored() throws IOException {
+        if(!hashed) {
+            final HashingChannel hashing = new HashingChannel();
+            long done = 0;
+            while(done < size) {
+                final long transferred = filechannel.transferTo(pointer+done, size-done, hashing);
+                if(transferred <= 0) {
+                    throw new IOException("Lump data could not be read from the WAD file.");
+                }
+                done += transferred;
+            }
+            contenthash = hashing.hash.getValue();
+            hashed = true;
+        }
+        return contenthash;
+    }
+    
+    /**
+     * Returns the {@link XXHash64 XXHash64} of the lump data as it is now.
+     * @return the hash of the lump data.
+     * @throws java.io.IOException if the lump data cannot be read.
+     * @since 1.1
+     */
+    private synchronized long hashCurrent() throws IOException {
+        if(isBackedByFile()) {
+            return hashStored();
+        }
+        final HashingChannel hashing = new HashingChannel();
+        transferTo(hashing);
+        return hashing.hash.getValue();
+    }
+    
+    /**
+     * Forgets the location of the lump data in the WAD file, after the data 
+     * held in memory has been replaced.
+     * @since 1.1
+     */
+    private synchronized void detach() {
+        filechannel = null;
+        pointer = -1;
+        view = null;
+        hashed = false;
+        copyonwrite = false;
+        allocator = null;
+        handedout = false;
+        if(cache != null) {
+            cache.invalidate(this);
+        }
+    }
+    
+    //Package Methods
+    /**
+     * Sets the {@link LumpCache LumpCache} that keeps the lump data while the 
+     * {@link Lump Lump} has not read it. Data already held by the {@link Lump 
+     * Lump} is kept.
+     * @param cache the {@link LumpCache LumpCache}, or null to keep the data in 
+     * the {@link Lump Lump} once it is read.
+     * @since 1.1
+     */
+    synchronized void setCache(final LumpCache cache) {
+        this.cache = cache;
+        view = null;
+    }
+    
+    /**
+     * Records that the lump has been put at a position of the specified {@link 
+     * LumpDirectory LumpDirectory}, which is told from now on when the lump is 
+     * renamed.
+     * @param owner the {@link LumpDirectory LumpDirectory}.
+     * @since 1.1
+     */
+    synchronized void addOwner(final LumpDirectory owner) {
+        final LumpDirectory[] old = owners;
+        final LumpDirectory[] added = Arrays.copyOf(old, old.length+1);
+        added[old.length] = owner;
+        owners = added;
+    }
+    
+    /**
+     * Records that the lump has been taken from a position of the specified 
+     * {@link LumpDirectory LumpDirectory}.
+     * @param owner the {@link LumpDirectory LumpDirectory}.
+     * @since 1.1
+     */
+    synchronized void removeOwner(final LumpDirectory owner) {
+        final LumpDirectory[] old = owners;
+        for(int i=0; i<old.length; i++) {
+            if(old[i] == owner) {
+                final LumpDirectory[] removed = old.length == 1 ? NO_OWNERS : new LumpDirectory[old.length-1];
+                System.arraycopy(old, 0, removed, 0, i);
+                System.arraycopy(old, i+1, removed, i, old.length-i-1);
+                owners = removed;
+                return;
+            }
+        }
+    }
+    
+    /**
+     * Returns true if the lump data was read from, or last written to, the WAD 
+     * file with the specified channel and has not been altered or resized since. 
+     * Data that has been handed out to be written to may still have been changed 
+     * in place.
+     * @param filechannel the {@link java.nio.channels.FileChannel FileChannel} 
+     * of a WAD file.
+     * @return true if the lump data has a location in that WAD file, otherwise false.
+     * @since 1.1
+     */
+    synchronized boolean isStoredIn(final FileChannel filechannel) {
+        return filechannel != null && this.filechannel == filechannel && pointer >= 0 
+                && (content == null || content.getCapacity() == size);
+    }
+    
+    /**
+     * Returns true if the lump data is stored, unaltered, in the WAD file with 
+     * the specified channel. Data that has been handed out to be written to is 
+     * compared with the stored data by its {@link XXHash64 XXHash64}; the hash of 
+     * the stored data is only computed once for each location.
+     * @param filechannel the {@link java.nio.channels.FileChannel FileChannel} 
+     * of a WAD file.
+     * @return true if the lump data is stored in that WAD file, otherwise false.
+     * @throws java.io.IOException if the WAD file cannot be read.
+     * @since 1.1
+     */
+    synchronized boolean isBackedBy(final FileChannel filechannel) throws IOException {
+        if(!isStoredIn(filechannel) || !filechannel.isOpen()) {
+            return false;
+        }
+        return !handedout || hashCurrent() == hashStored();
+    }
+    
+    /**
+     * Returns true if the lump data is read from the WAD file with the specified 
+     * channel when it is not held in memory.
+     * @param filechannel the {@link java.nio.channels.FileChannel FileChannel} 
+     * of a WAD file.
+     * @return true if the lump belongs to that WAD file, otherwise false.
+     * @since 1.1
+     */
+    synchronized boolean isReadFrom(final FileChannel filechannel) {
+        return filechannel != null && this.filechannel == filechannel;
+    }
+    
+    /**
+     * Returns true if the specified {@link LumpDirectory LumpDirectory} is the 
+     * only one that holds the lump.
+     * @param owner the {@link LumpDirectory LumpDirectory}.
+     * @return true if no other {@link LumpDirectory LumpDirectory} holds the 
+     * lump, otherwise false.
+     * @since 1.1
+     */
+    boolean isOwnedOnlyBy(final LumpDirectory owner) {
+        final LumpDirectory[] current = owners;
+        for(final LumpDirectory other : current) {
+            if(other != owner) {
+                return false;
+            }
+        }
+        return current.length > 0;
+    }
+    
+    /**
+     * Records that the lump data has been written to the specified location of a 
+     * WAD file, which it is read from from now on if it is not held in memory. 
+     * Data held in memory is kept, and counts as handed out if it can be written 
+     * to, since whoever gave it to the {@link Lump Lump} may still change it.
+     * @param filechannel the {@link java.nio.channels.FileChannel FileChannel} of 
+     * the WAD file.
+     * @param pointer the starting location of the lump data in the WAD file.
+     * @since 1.1
+     */
+    synchronized void rebase(final FileChannel filechannel, final int pointer) {
+        this.filechannel = filechannel;
+        this.pointer = pointer;
+        hashed = false;
+        if(content != null) {
+            size = content.getCapacity();
+            handedout = !content.isReadOnly() && !copyonwrite;
+        }
+    }
+    
+    /**
+     * Records the hash of the lump data stored at the specified location, as 
+     * computed while streaming through the WAD file, unless the lump data has 
+     * been altered or moved since it was there. It is only taken to be the hash 
+     * of the lump data while the data has not been handed out to be written to.
+     * @param filechannel the {@link java.nio.channels.FileChannel FileChannel} of 
+     * the WAD file that was hashed.
+     * @param pointer the location of the lump data that was hashed.
+     * @param hash the {@link XXHash64 XXHash64} of the lump data.
+     * @since 1.1
+     */
+    synchronized void setContentHash(final FileChannel filechannel, final int pointer, final long hash) {
+        if(isStoredIn(filechannel) && this.pointer == pointer) {
+            contenthash = hash;
+            hashed = true;
+        }
+    }
+    
+    /**
+     * Sets the {@link LumpDeduplicator LumpDeduplicator} that lets the lump share 
+     * its data with identical lumps. If the lump already holds the data it read 
+     * from the WAD file, that data is shared straight away.
+     * @param deduplicator the {@link LumpDeduplicator LumpDeduplicator}, or null 
+     * to stop sharing data that is read from now on.
+     * @since 1.1
+     */
+    synchronized void setDeduplicator(final LumpDeduplicator deduplicator) {
+        this.deduplicator = deduplicator;
+        if(deduplicator != null && content != null && isBackedByFile()) {
+            content = deduplicator.intern(content);
+            copyonwrite = false;
+            allocator = null;
+            view = null;
+        }
+    }
+    
+    /**
+     * Reads the lump data from the WAD file into a read-only buffer that can be 
+     * shared through a {@link LumpCache LumpCache}.
+     * @return the read-only lump data.
+     * @throws java.lang.IllegalStateException if the WAD file cannot be read.
+     * @since 1.1
+     */
+    WadByteBuffer readShared() throws IllegalStateException {
+        final LumpDeduplicator sharer;
+        synchronized(this) {
+            sharer = deduplicator;
+        }
+        try {
+            if(sharer != null) {
+                return sharer.intern(readContent());
+            }
+            return readOnly(readContent());
+        } catch(final UnableToReadWADFileException e) {
+            throw new IllegalStateException("Lump data could not be read from the WAD file.", e);
+        }
+    }
+    
+    /**
+     * Lets go of the lump data if it is still the data that was read from the 
+     * WAD file into direct memory, so that the memory it was read into can be freed when the WAD 
+     * file is closed. The lump data cannot be read again afterwards. Data that 
+     * has been given to the {@link Lump Lump} since it was read, or handed out 
+     * to be written to, is kept.
+     * @since 1.1
+     */
+    synchronized void release() {
+        if(filechannel != null && !handedout && content != null && content.duplicateByteBuffer().isDirect()) {
+            content = null;
+            view = null;
+        }
+    }
+    
     //Public Methods
     /**
      * Returns the name of the lump as a {@link java.lang.String String}.
@@ -154,6 +680,15 @@ public class Lump {
      * @since 1.0
      */
     public String getName() {
+        return name.toString();
+    }
+    
+    /**
+     * Returns the name of the lump as a {@link LumpName LumpName}.
+     * @return the name of the lump as a {@link LumpName LumpName}.
+     * @since 1.1
+     */
+    public LumpName getLumpName() {
         return name;
     }
     
@@ -168,7 +703,7 @@ public class Lump {
          * bytes but only has 0, it is still real. The content must be able to 
          * contain 0 bytes, no more no less, for it to be virtual.
          */
-        return content.getCapacity() == 0;
+        return getSize() == 0;
     }
     
     /**
@@ -176,20 +711,158 @@ public class Lump {
      * @return true if completed successfully.
      * @since 1.0
      */
-    public boolean makeVirtual() {
+    public synchronized boolean makeVirtual() {
         content = new WadByteBuffer(0);
+        detach();
         return true;
     }
     
+    /**
+     * Returns true if the lump data is held in memory, or false if it has yet 
+     * to be read from the WAD file.
+     * @return true if the lump data is held in memory, otherwise false.
+     * @since 1.1
+     */
+    public synchronized boolean isLoaded() {
+        return content != null;
+    }
+    
+    /**
+     * Returns the starting location of the lump data in the WAD file, or -1 if 
+     * the lump is not backed by a WAD file or its data has been altered since 
+     * it was read.
+     * @return the starting location of the lump data in the WAD file, or -1.
+     * @since 1.1
+     */
+    public int getPointer() {
+        return pointer;
+    }
+    
     /**
      * Sets and returns the actual data of the lump from the WAD file.  After this 
      * method has been called, the {@link Lump Lump} object will store the data 
-     * in memory as opposed to retrieving it from the WAD file.
-     * @return the lump data as an {@link java.util.ArrayList ArrayList}.
+     * in memory as opposed to retrieving it from the WAD file, unless the lump 
+     * has a {@link LumpCache LumpCache}, in which case the data is kept in the 
+     * cache and a new read-only {@link WadByteBuffer WadByteBuffer} of it is 
+     * returned each time. Otherwise the returned buffer may be written to and is 
+     * the lump's own data, not a copy, unless the lump shares its bytes with 
+     * other lumps, in which case they are copied the first time.
+     * @return the lump data as a {@link WadByteBuffer WadByteBuffer}.
+     * @throws java.lang.IllegalStateException if the lump data has to be read 
+     * from the WAD file and the WAD file cannot be read.
      * @since 1.0
      */
-    public WadByteBuffer getRawLumpData() {
-        return content;
+    public synchronized WadByteBuffer getRawLumpData() throws IllegalStateException {
+        unshare();
+        final WadByteBuffer data = data();
+        if(data != content) {
+            return new WadByteBuffer(data.duplicateByteBuffer());
+        }
+        if(!data.isReadOnly()) {
+            handedout = true;
+        }
+        return data;
+    }
+    
+    /**
+     * Copies the lump data to the specified channel, at its current position. If 
+     * the data is still backed by the WAD file it was read from, it is moved with 
+     * {@link java.nio.channels.FileChannel#transferTo(long, long, 
+     * java.nio.channels.WritableByteChannel) FileChannel.transferTo()}, which lets 
+     * the operating system copy it without it passing through the Java heap; this 
+     * does not read the data into the {@link Lump Lump}. Otherwise the data held 
+     * in memory is written.
+     * @param target the channel to copy the lump data to.
+     * @return the number of bytes copied, which is the {@link #getSize() size} of 
+     * the lump.
+     * @throws java.io.IOException if the data cannot be read or written.
+     * @since 1.1
+     */
+    public long transferTo(final WritableByteChannel target) throws IOException {
+        return transferTo(target, 0, getSize());
+    }
+    
+    /**
+     * Copies part of the lump data to the specified channel, at its current 
+     * position, in the same way as {@link #transferTo(java.nio.channels.WritableByteChannel) 
+     * transferTo()}. If the data is still backed by the WAD file and the channel 
+     * is a socket, the operating system can send it straight from the file.
+     * @param target the channel to copy the lump data to.
+     * @param offset the offset in the lump data of the first byte to copy.
+     * @param length the number of bytes to copy.
+     * @return the number of bytes copied.
+     * @throws java.io.IOException if the data cannot be read or written.
+     * @throws java.lang.IndexOutOfBoundsException if the part to copy does not 
+     * lie within the lump data.
+     * @since 1.1
+     */
+    public long transferTo(final WritableByteChannel target, final long offset, final long length) throws IOException, IndexOutOfBoundsException {
+        if(offset < 0 || length < 0 || offset+length > getSize()) {
+            throw new IndexOutOfBoundsException("Range "+offset+"+"+length+" out of bounds for size "+getSize());
+        }
+        if(isBackedByFile()) {
+            long done = 0;
+            while(done < length) {
+                final long transferred = filechannel.transferTo(pointer+offset+done, length-done, target);
+                if(transferred <= 0) {
+                    throw new IOException("Lump data could not be read from the WAD file.");
+                }
+                done += transferred;
+            }
+            return done;
+        }
+        final ByteBuffer data = data().duplicateByteBuffer();
+        data.limit((int)(offset+length)).position((int)offset);
+        while(data.hasRemaining()) {
+            target.write(data);
+        }
+        return length;
+    }
+    
+    /**
+     * Returns the 64 bit {@link XXHash64 XXHash64} of the lump data, which can be 
+     * used to tell whether two lumps hold the same data, or whether a lump has 
+     * changed. The hash is computed the first time it is needed, by streaming the 
+     * data through the hash without keeping it in the {@link Lump Lump} if it has 
+     * not been read yet, unless {@link Wad#computeFingerprint(java.lang.String) 
+     * Wad.computeFingerprint()} has already computed it. The hash is only kept 
+     * while the lump data is backed by the WAD file; data that has been handed 
+     * out by {@link #getRawLumpData() getRawLumpData()}, or was never stored in 
+     * a WAD file, may be changed in place, so its hash is computed every time.
+     * @return the hash of the lump data.
+     * @throws java.lang.IllegalStateException if the lump data has to be read 
+     * from the WAD file and the WAD file cannot be read.
+     * @since 1.1
+     */
+    public synchronized long getContentHash() throws IllegalStateException {
+        try {
+            return hashCurrent();
+        } catch(final IOException e) {
+            throw new IllegalStateException("Lump data could not be read from the WAD file.", e);
+        }
+    }
+    
+    /**
+     * Returns a read-only {@link LumpView LumpView} of the lump data, reading the 
+     * data from the WAD file first if it has not been read yet. A {@link LumpView 
+     * LumpView} reads every value from an absolute offset, so unlike the {@link 
+     * WadByteBuffer WadByteBuffer} returned by {@link #getRawLumpData() 
+     * getRawLumpData()} it can be shared between threads without locking.
+     * @return a {@link LumpView LumpView} of the lump data.
+     * @throws java.lang.IllegalStateException if the lump data has to be read 
+     * from the WAD file and the WAD file cannot be read.
+     * @since 1.1
+     */
+    public synchronized LumpView getView() throws IllegalStateException {
+        if(view == null) {
+            final WadByteBuffer data = data();
+            if(data != content) {
+                //Keeping the view would keep the cached data alive after it is evicted.
+                return new LumpView(data);
+            }
+            view = new LumpView(content);
+        }
+        return view;
     }
     
     /**
@@ -198,7 +871,8 @@ public class Lump {
      * @since 1.0
      */
     public int getNumberOfBytes() {
-        return content.getLength();
+        final WadByteBuffer data = content;
+        return data == null ? size : data.getLength();
     }
     
     /**
@@ -210,7 +884,8 @@ public class Lump {
      * @since 1.0
      */
     public int getSize() {
-        return content.getCapacity();
+        final WadByteBuffer data = content;
+        return data == null ? size : data.getCapacity();
     }
     
     /**
@@ -222,7 +897,19 @@ public class Lump {
      * @since 1.0
      */
     public void changeName(final String name) {
-        this.name = WadByteBuffer.convertToEightByteString(name);
+        changeName(LumpName.of(name));
+    }
+    
+    /**
+     * Changes the name of the lump to the specified {@link LumpName LumpName}.
+     * @param name the new name as a {@link LumpName LumpName}.
+     * @since 1.1
+     */
+    public void changeName(final LumpName name) {
+        this.name = name;
+        for(final LumpDirectory owner : owners) {
+            owner.renamed();
+        }
     }
     
     /**
@@ -242,9 +929,10 @@ public class Lump {
      * @return true when the lump data is updated.
      * @since 1.0
      */
-    public boolean alterRawLumpData(final WadByteBuffer data) {
+    public synchronized boolean alterRawLumpData(final WadByteBuffer data) {
         content = data;
         content.setPosition(0);
+        detach();
         return true;
     }
     
@@ -264,7 +952,10 @@ public class Lump {
      * @return true if completed successfully.
      * @since 1.0
      */
-    public boolean appendRawLumpData(final WadByteBuffer data) {
+    public synchronized boolean appendRawLumpData(final WadByteBuffer data) {
+        load();
+        unshare();
+        detach();
         content.alterBufferSize(content.getLength()+data.getLength());
         content.put(data);
         return true;
@@ -281,4 +972,47 @@ public class Lump {
     public String toString() {
         return getName();
     }
-}
\ No newline at end of file
+
+    /**
+     * A channel that hashes everything written to it.
+     * @since 1.1
+     */
+    private static final class HashingChannel implements WritableByteChannel {
+        /**
+         * The hash of everything written so far.
+         * @since 1.1
+         */
+        private final XXHash64 hash = new XXHash64();
+
+        /**
+         * Adds the remaining bytes of the buffer to the hash.
+         * @param source the bytes to hash.
+         * @return the number of bytes hashed.
+         * @since 1.1
+         */
+        @Override
+        public int write(final ByteBuffer source) {
+            final int length = source.remaining();
+            hash.update(source);
+            return length;
+        }
+
+        /**
+         * Returns true; the channel is never closed.
+         * @return true.
+         * @since 1.1
+         */
+        @Override
+        public boolean isOpen() {
+            return true;
+        }
+
+        /**
+         * Does nothing.
+         * @since 1.1
+         */
+        @Override
+        public void close() {
+        }
+    }
+}
@@ -0,0 +1,122 @@
+/*
+ * LumpArena.java
+ * This file is part of jwadlib.
+ *
+ * jwadlib WAD Library - A Java(TM) library for manipulating WAD files.
+ * Copyright (C) 2025 @picttarge
+ *
+ * jwadlib is free software; you can redistribute it and/or
+ * modify it under the terms of the GNU Lesser General Public
+ * License as published by the Free Software Foundation; either
+ * version 2.1 of the License, or (at your option) any later version.
+ *
+ * jwadlib is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the GNU
+ * Lesser General Public License for more details.
+ *
+ * You should have received a copy of the GNU Lesser General Public
+ * License along with this library; if not, write to the Free Software
+ * Foundation, Inc., 51 Franklin Street, Fifth Floor, Boston, MA  02110-1301  USA
+ */
+package jwadlib;
+
+import java.nio.ByteBuffer;
+import java.util.ArrayList;
+
+/**
+ * Hands out direct memory for the lump data of a {@link WadLoadMode#DIRECT
+ * DIRECT} {@link Wad Wad}. Memory is taken from the operating system in large
+ * blocks and split between lumps, rather than as one direct buffer per lump,
+ * which would cost a native allocation and a cleaner each. Java cannot free
+ * direct memory explicitly without risking a crash if it is still used, so
+ * {@link #close() closing} the arena lets go of its blocks and they are freed
+ * by the garbage collector once nothing else refers to them.
+ * @author @picttarge
+ * @version 1.1
+ * @since 1.1
+ */
+final class LumpArena {
+    //Private Static Variables
+    /**
+     * The size of each block of direct memory, in bytes.
+     * @since 1.1
+     */
+    private static final int BLOCK_SIZE = 16 << 20;
+
+    //Private Variables
+    /**
+     * Every block taken so far.
+     * @since 1.1
+     */
+    private final ArrayList<ByteBuffer> blocks = new ArrayList<>();
+
+    /**
+     * The block that memory is currently handed out from, or null if there is none.
+     * @since 1.1
+     */
+    private ByteBuffer current;
+
+    /**
+     * The number of bytes of direct memory taken so far.
+     * @since 1.1
+     */
+    private long reserved;
+
+    /**
+     * Whether the arena has been closed.
+     * @since 1.1
+     */
+    private boolean closed;
+
+    //Package Methods
+    /**
+     * Returns a direct buffer with the specified number of bytes. A request for
+     * more than a quarter of a block gets a block of its own, so that the rest of
+     * the current block is not wasted.
+     * @param size the number of bytes.
+     * @return a direct {@link java.nio.ByteBuffer ByteBuffer} of exactly that size.
+     * @throws java.lang.IllegalStateException if the arena has been closed.
+     * @since 1.1
+     */
+    synchronized ByteBuffer allocate(final int size) throws IllegalStateException {
+        if(closed) {
+            throw new IllegalStateException("Arena has been closed.");
+        }
+        if(size > BLOCK_SIZE/4) {
+            final ByteBuffer block = ByteBuffer.allocateDirect(size);
+            blocks.add(block);
+            reserved += size;
+            return block;
+        }
+        if(current == null || current.remaining() < size) {
+            current = ByteBuffer.allocateDirect(BLOCK_SIZE);
+            blocks.add(current);
+            reserved += BLOCK_SIZE;
+        }
+        final ByteBuffer slice = current.slice(current.position(), size);
+        current.position(current.position()+size);
+        return slice;
+    }
+
+    /**
+     * Returns the number of bytes of direct memory taken so far.
+     * @return the number of bytes taken.
+     * @since 1.1
+     */
+    synchronized long getReserved() {
+        return reserved;
+    }
+
+    /**
+     * Lets go of every block, so that they can be freed once no lump data refers
+     * to them any longer.
+     * @since 1.1
+     */
+    synchronized void close() {
+        blocks.clear();
+        current = null;
+        reserved = 0;
+        closed = true;
+    }
+}
@@ -0,0 +1,297 @@
+/*
+ * LumpCache.java
+ * This file is part of jwadlib.
+ *
+ * jwadlib WAD Library - A Java(TM) library for manipulating WAD files.
+ * Copyright (C) 2025 @picttarge
+ *
+ * jwadlib is free software; you can redistribute it and/or
+ * modify it under the terms of the GNU Lesser General Public
+ * License as published by the Free Software Foundation; either
+ * version 2.1 of the License, or (at your option) any later version.
+ *
+ * jwadlib is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the GNU
+ * Lesser General Public License for more details.
+ *
+ * You should have received a copy of the GNU Lesser General Public
+ * License along with this library; if not, write to the Free Software
+ * Foundation, Inc., 51 Franklin Street, Fifth Floor, Boston, MA  02110-1301  USA
+ */
+package jwadlib;
+
+import java.util.Collection;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.function.Function;
+
+/**
+ * A cache of lump data, and of objects decoded from it, that holds at most a
+ * fixed number of bytes and evicts whatever was used least recently to stay
+ * under it. One {@link LumpCache LumpCache} can be shared by any number of
+ * {@link Wad Wads}, so that all of them together stay under one budget.
+ * <p>
+ * Once a {@link Wad Wad} opened with {@link WadLoadMode#LAZY LAZY} is given a
+ * cache with {@link Wad#setLumpCache(jwadlib.LumpCache) setLumpCache()}, its
+ * lumps no longer keep their data after reading it. The data is kept in the
+ * cache instead and read from the WAD file again once it has been evicted.
+ * Because cached data is shared, {@link Lump#getRawLumpData() getRawLumpData()}
+ * then returns read-only buffers; {@link Lump#alterRawLumpData(jwadlib.WadByteBuffer)
+ * Altering} a lump gives it its own data again, which is not cached.
+ * <p>
+ * Each entry weighs the {@link Lump#getSize() size} of its lump plus a small
+ * allowance for the entry itself, whether it holds the data or an object
+ * decoded from it.
+ * @author @picttarge
+ * @version 1.1
+ * @since 1.1
+ */
+public class LumpCache {
+    //Private Static Variables
+    /**
+     * The bytes that each entry is taken to cost on top of the lump size.
+     * @since 1.1
+     */
+    private static final long ENTRY_OVERHEAD = 64;
+
+    //Private Variables
+    /**
+     * The cached data and decoded objects. Data is keyed by its {@link Lump Lump},
+     * and decoded objects by a {@link DecodedKey DecodedKey}.
+     * @since 1.1
+     */
+    private final WeightedLruCache<Object, Entry> entries;
+
+    /**
+     * Every type that an object has been decoded into, so that the decoded
+     * objects of a lump can be removed by key without searching the cache.
+     * There are only ever a handful of them.
+     * @since 1.1
+     */
+    private final Set<Class<?>> decodedtypes = ConcurrentHashMap.newKeySet();
+
+    //Constructors
+    /**
+     * Creates an empty {@link LumpCache LumpCache}.
+     * @param capacity the most bytes that the cache may hold.
+     * @since 1.1
+     */
+    public LumpCache(final long capacity) {
+        entries = new WeightedLruCache<>(capacity, entry -> entry.weight);
+    }
+
+    //Package Methods
+    /**
+     * Returns the read-only data of the specified lump, reading it from its WAD
+     * file if it is not in the cache.
+     * @param lump the {@link Lump Lump}.
+     * @return the lump data, which must not be changed.
+     * @throws java.lang.IllegalStateException if the WAD file cannot be read.
+     * @since 1.1
+     */
+    WadByteBuffer getContent(final Lump lump) throws IllegalStateException {
+        return (WadByteBuffer)entries.get(lump, key -> new Entry(lump.readShared(), lump.getSize()+ENTRY_OVERHEAD)).value;
+    }
+
+    //Public Methods
+    /**
+     * Returns an object decoded from the specified lump, decoding it and keeping
+     * it in the cache if it is not there already. Each lump can have one cached
+     * object of each type.
+     * @param <T> the type of the decoded object.
+     * @param lump the {@link Lump Lump} to decode.
+     * @param type the type of the decoded object.
+     * @param decoder decodes the {@link Lump Lump}, such as
+     * <code>Playpal::decode</code>.
+     * @return the decoded object, or null if the decoder returns null.
+     * @throws java.lang.IllegalStateException if the lump data cannot be read.
+     * @since 1.1
+     */
+    public <T> T getDecoded(final Lump lump, final Class<T> type, final Function<? super Lump, ? extends T> decoder) throws IllegalStateException {
+        decodedtypes.add(type);
+        final Entry entry = entries.get(new DecodedKey(lump, type), key -> {
+            final T decoded = decoder.apply(lump);
+            return decoded == null ? null : new Entry(decoded, lump.getSize()+ENTRY_OVERHEAD);
+        });
+        return entry == null ? null : type.cast(entry.value);
+    }
+
+    /**
+     * Removes the data of the specified lump, and every object decoded from it,
+     * from the cache.
+     * @param lump the {@link Lump Lump}.
+     * @since 1.1
+     */
+    public void invalidate(final Lump lump) {
+        entries.remove(lump);
+        for(final Class<?> type : decodedtypes) {
+            entries.remove(new DecodedKey(lump, type));
+        }
+    }
+
+    /**
+     * Removes the data of the specified lumps, and every object decoded from
+     * them, from the cache.
+     * @param lumps the {@link Lump Lumps}.
+     * @since 1.1
+     */
+    public void invalidateAll(final Collection<Lump> lumps) {
+        for(final Lump lump : lumps) {
+            invalidate(lump);
+        }
+    }
+
+    /**
+     * Removes everything from the cache. The counters are not reset.
+     * @since 1.1
+     */
+    public void clear() {
+        entries.clear();
+    }
+
+    /**
+     * Returns the number of entries in the cache.
+     * @return the number of entries in the cache.
+     * @since 1.1
+     */
+    public int size() {
+        return entries.size();
+    }
+
+    /**
+     * Returns the number of bytes that the entries in the cache weigh.
+     * @return the number of bytes in the cache.
+     * @since 1.1
+     */
+    public long getWeight() {
+        return entries.getWeight();
+    }
+
+    /**
+     * Returns the most bytes that the cache may hold.
+     * @return the capacity of the cache, in bytes.
+     * @since 1.1
+     */
+    public long getCapacity() {
+        return entries.getCapacity();
+    }
+
+    /**
+     * Returns the number of lookups that found an entry.
+     * @return the number of hits.
+     * @since 1.1
+     */
+    public long getHitCount() {
+        return entries.getHitCount();
+    }
+
+    /**
+     * Returns the number of lookups that did not find an entry.
+     * @return the number of misses.
+     * @since 1.1
+     */
+    public long getMissCount() {
+        return entries.getMissCount();
+    }
+
+    /**
+     * Returns the number of entries evicted to make room for others.
+     * @return the number of evictions.
+     * @since 1.1
+     */
+    public long getEvictionCount() {
+        return entries.getEvictionCount();
+    }
+
+    /**
+     * Returns the counters and the weight of the cache.
+     * @return a description of the cache.
+     * @since 1.1
+     */
+    @Override
+    public String toString() {
+        return "LumpCache"+entries.toString().substring("WeightedLruCache".length());
+    }
+
+    /**
+     * A cached value and its weight.
+     * @since 1.1
+     */
+    private static final class Entry {
+        /**
+         * The lump data or decoded object.
+         * @since 1.1
+         */
+        final Object value;
+
+        /**
+         * The number of bytes the entry is taken to cost.
+         * @since 1.1
+         */
+        final long weight;
+
+        /**
+         * Creates an entry.
+         * @param value the lump data or decoded object.
+         * @param weight the number of bytes the entry is taken to cost.
+         * @since 1.1
+         */
+        Entry(final Object value, final long weight) {
+            this.value = value;
+            this.weight = weight;
+        }
+    }
+
+    /**
+     * The key of an object decoded from a lump: the {@link Lump Lump}, compared
+     * by identity, and the type of the object.
+     * @since 1.1
+     */
+    private static final class DecodedKey {
+        /**
+         * The {@link Lump Lump} the object was decoded from.
+         * @since 1.1
+         */
+        final Lump lump;
+
+        /**
+         * The type of the object.
+         * @since 1.1
+         */
+        final Class<?> type;
+
+        /**
+         * Creates a key.
+         * @param lump the {@link Lump Lump} the object was decoded from.
+         * @param type the type of the object.
+         * @since 1.1
+         */
+        DecodedKey(final Lump lump, final Class<?> type) {
+            this.lump = lump;
+            this.type = type;
+        }
+
+        /**
+         * Returns true if the other object is a key for the same {@link Lump Lump}
+         * and type.
+         * @param other the other object.
+         * @return true if the keys are equal, otherwise false.
+         * @since 1.1
+         */
+        @Override
+        public boolean equals(final Object other) {
+            return other instanceof DecodedKey && ((DecodedKey)other).lump == lump && ((DecodedKey)other).type == type;
+        }
+
+        /**
+         * Returns a hash code made from the {@link Lump Lump's} identity and the type.
+         * @return the hash code.
+         * @since 1.1
+         */
+        @Override
+        public int hashCode() {
+            return System.identityHashCode(lump)*31+type.hashCode();
+        }
+    }
+}
@@ -0,0 +1,203 @@
+/*
+ * LumpDeduplicator.java
+ * This file is part of jwadlib.
+ *
+ * jwadlib WAD Library - A Java(TM) library for manipulating WAD files.
+ * Copyright (C) 2025 @picttarge
+ *
+ * jwadlib is free software; you can redistribute it and/or
+ * modify it under the terms of the GNU Lesser General Public
+ * License as published by the Free Software Foundation; either
+ * version 2.1 of the License, or (at your option) any later version.
+ *
+ * jwadlib is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the GNU
+ * Lesser General Public License for more details.
+ *
+ * You should have received a copy of the GNU Lesser General Public
+ * License along with this library; if not, write to the Free Software
+ * Foundation, Inc., 51 Franklin Street, Fifth Floor, Boston, MA  02110-1301  USA
+ */
+package jwadlib;
+
+import java.lang.ref.Reference;
+import java.lang.ref.ReferenceQueue;
+import java.lang.ref.WeakReference;
+import java.nio.ByteBuffer;
+import java.util.ArrayList;
+import java.util.HashMap;
+
+/**
+ * Makes {@link Lump Lumps} with identical data share one copy of it. Collections
+ * of PWADs often carry the same sprites, sounds and music many times over; once
+ * their {@link Wad Wads} are given the same deduplicator with {@link
+ * Wad#setLumpDeduplicator(jwadlib.LumpDeduplicator) setLumpDeduplicator()},
+ * every lump read from them is hashed with {@link XXHash64 XXHash64} and
+ * compared byte for byte with the data already seen, and lumps with the same
+ * data hold read-only views of a single buffer.
+ * <p>
+ * The deduplicator only refers to the data weakly, so it does not keep anything
+ * in memory that no {@link Lump Lump} uses any longer. The first copy of any
+ * data is copied into a buffer of its own, so that it does not keep the larger
+ * buffer that it may have been read as part of in memory. Data in direct memory,
+ * as read by {@link WadLoadMode#MAPPED MAPPED} and {@link WadLoadMode#DIRECT
+ * DIRECT} {@link Wad Wads}, is not on the Java heap and is left alone, as is
+ * data that has been {@link Lump#alterRawLumpData(jwadlib.WadByteBuffer) altered}.
+ * <p>
+ * A {@link Lump Lump} with a deduplicator returns read-only data from {@link
+ * Lump#getRawLumpData() getRawLumpData()} until it is altered.
+ * @author @picttarge
+ * @version 1.1
+ * @since 1.1
+ */
+public class LumpDeduplicator {
+    //Private Variables
+    /**
+     * Weak references to the shared data, by hash. There is one for each distinct
+     * piece of data, however many {@link Lump Lumps} share it.
+     * @since 1.1
+     */
+    private final HashMap<Long, ArrayList<Entry>> entries = new HashMap<>();
+
+    /**
+     * The queue that references to data that is no longer used are put on.
+     * @since 1.1
+     */
+    private final ReferenceQueue<byte[]> cleared = new ReferenceQueue<>();
+
+    /**
+     * The number of lumps that have been given shared data instead of their own.
+     * @since 1.1
+     */
+    private long duplicates;
+
+    /**
+     * The number of bytes that have been shared instead of kept twice.
+     * @since 1.1
+     */
+    private long duplicatebytes;
+
+    //Constructors
+    /**
+     * Creates a {@link LumpDeduplicator LumpDeduplicator} that has not seen any data.
+     * @since 1.1
+     */
+    public LumpDeduplicator() {
+    }
+
+    //Private Methods
+    /**
+     * Removes the references to data that is no longer used.
+     * @since 1.1
+     */
+    private void expunge() {
+        Reference<? extends byte[]> reference;
+        while((reference = cleared.poll()) != null) {
+            final Entry entry = (Entry)reference;
+            final ArrayList<Entry> list = entries.get(entry.hash);
+            if(list != null && list.remove(entry) && list.isEmpty()) {
+                entries.remove(entry.hash);
+            }
+        }
+    }
+
+    /**
+     * Returns a new read-only view of the specified shared data. Every view 
+     * refers to the array, which keeps it from being cleared from the {@link 
+     * #entries entries} while any {@link Lump Lump} still uses it.
+     * @param data the shared data.
+     * @return a read-only {@link WadByteBuffer WadByteBuffer} of the data.
+     * @since 1.1
+     */
+    private static WadByteBuffer share(final byte[] data) {
+        return new WadByteBuffer(ByteBuffer.wrap(data).asReadOnlyBuffer());
+    }
+
+    //Package Methods
+    /**
+     * Returns a read-only view of data identical to the specified data, shared
+     * with any other {@link Lump Lump} that has the same data. Data in direct
+     * memory and empty data are returned as they are.
+     * @param content the lump data.
+     * @return the shared, read-only lump data.
+     * @since 1.1
+     */
+    synchronized WadByteBuffer intern(final WadByteBuffer content) {
+        final ByteBuffer data = content.duplicateByteBuffer();
+        if(data.isDirect() || data.capacity() == 0) {
+            return content;
+        }
+        expunge();
+        final long hash = XXHash64.hash(data);
+        final ArrayList<Entry> list = entries.computeIfAbsent(hash, key -> new ArrayList<>(1));
+        for(final Entry entry : list) {
+            final byte[] shared = entry.get();
+            if(shared != null && ByteBuffer.wrap(shared).equals(data)) {
+                duplicates++;
+                duplicatebytes += data.capacity();
+                return share(shared);
+            }
+        }
+        final byte[] copy = new byte[data.capacity()];
+        data.get(copy);
+        list.add(new Entry(copy, hash, cleared));
+        return share(copy);
+    }
+
+    //Public Methods
+    /**
+     * Returns the number of times a {@link Lump Lump} has been given shared data
+     * instead of keeping its own.
+     * @return the number of duplicate lumps found.
+     * @since 1.1
+     */
+    public synchronized long getDuplicateCount() {
+        return duplicates;
+    }
+
+    /**
+     * Returns the number of bytes that {@link Lump Lumps} have shared instead of
+     * keeping their own copy.
+     * @return the number of duplicate bytes found.
+     * @since 1.1
+     */
+    public synchronized long getDuplicateBytes() {
+        return duplicatebytes;
+    }
+
+    /**
+     * Returns a {@link java.lang.String String} describing the duplicates found.
+     * @return the number of duplicate lumps and bytes found.
+     * @since 1.1
+     */
+    @Override
+    public synchronized String toString() {
+        return "LumpDeduplicator[duplicates="+duplicates+", duplicatebytes="+duplicatebytes+"]";
+    }
+
+    /**
+     * A weak reference to shared data, which remembers its hash.
+     * @since 1.1
+     */
+    private static final class Entry extends WeakReference<byte[]> {
+        /**
+         * The hash of the data.
+         * @since 1.1
+         */
+        private final long hash;
+
+        /**
+         * Creates an {@link Entry Entry}.
+         * @param data the shared data.
+         * @param hash the hash of the data.
+         * @param queue the queue to put the {@link Entry Entry} on once the data
+         * is no longer used.
+         * @since 1.1
+         */
+        private Entry(final byte[] data, final long hash, final ReferenceQueue<byte[]> queue) {
+            super(data, queue);
+            this.hash = hash;
+        }
+    }
+}
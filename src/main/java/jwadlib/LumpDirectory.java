@@ -0,0 +1,491 @@
+/*
+ * LumpDirectory.java
+ * This file is part of jwadlib.
+ *
+ * jwadlib WAD Library - A Java(TM) library for manipulating WAD files.
+ * Copyright (C) 2025 @picttarge
+ *
+ * jwadlib is free software; you can redistribute it and/or
+ * modify it under the terms of the GNU Lesser General Public
+ * License as published by the Free Software Foundation; either
+ * version 2.1 of the License, or (at your option) any later version.
+ *
+ * jwadlib is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the GNU
+ * Lesser General Public License for more details.
+ *
+ * You should have received a copy of the GNU Lesser General Public
+ * License along with this library; if not, write to the Free Software
+ * Foundation, Inc., 51 Franklin Street, Fifth Floor, Boston, MA  02110-1301  USA
+ */
+package jwadlib;
+
+import java.util.AbstractList;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.List;
+import java.util.RandomAccess;
+import java.util.Spliterator;
+import java.util.Spliterators;
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * The ordered list of {@link Lump Lumps} in a {@link Wad Wad}, stored in an
+ * array and indexed by name. Looking a {@link Lump Lump} up by name takes
+ * constant time no matter how many lumps there are, and when several lumps
+ * share a name the last one wins, as it does in Doom.
+ * <p>
+ * The index is rebuilt the next time it is needed after the list is changed
+ * or one of its {@link Lump Lumps} is {@link Lump#changeName(java.lang.String)
+ * renamed}; renaming a {@link Lump Lump} elsewhere leaves it alone.
+ * @author @picttarge
+ * @version 1.1
+ * @since 1.1
+ */
+public class LumpDirectory extends AbstractList<Lump> implements RandomAccess {
+    //Private Variables
+    /**
+     * The {@link Lump Lumps} in directory order. Only the first {@link #size
+     * size} elements are used.
+     * @since 1.1
+     */
+    private Lump[] lumps;
+
+    /**
+     * The number of {@link Lump Lumps} in the directory.
+     * @since 1.1
+     */
+    private int size;
+
+    /**
+     * Incremented every time the directory is changed.
+     * @since 1.1
+     */
+    private int version;
+
+    /**
+     * The {@link #version version} of the directory when the index was last built,
+     * or -1 if it has never been built.
+     * @since 1.1
+     */
+    private int indexedversion = -1;
+
+    /**
+     * The number of times a {@link Lump Lump} in the directory has been renamed.
+     * It is kept apart from {@link #version version} because a {@link Lump Lump}
+     * is renamed without holding the directory's lock.
+     * @since 1.1
+     */
+    private final AtomicInteger namechanges = new AtomicInteger();
+
+    /**
+     * The number of {@link #namechanges renames} when the index was last built.
+     * @since 1.1
+     */
+    private int indexednamechanges;
+
+    /**
+     * Maps each name to the position of the last {@link Lump Lump} with that name.
+     * @since 1.1
+     */
+    private final HashMap<LumpName, Integer> lastbyname = new HashMap<>();
+
+    /**
+     * For each position, the position of the previous {@link Lump Lump} with the
+     * same name, or -1 if there is none.
+     * @since 1.1
+     */
+    private int[] previousbyname = new int[0];
+
+    /**
+     * The {@link LumpNamespace LumpNamespace} of the {@link Lump Lump} at each
+     * position.
+     * @since 1.1
+     */
+    private LumpNamespace[] namespaces = new LumpNamespace[0];
+
+    /**
+     * The maps in the directory, in directory order.
+     * @since 1.1
+     */
+    private final ArrayList<WadMap> maps = new ArrayList<>();
+
+    /**
+     * Maps each map name to the last map with that name.
+     * @since 1.1
+     */
+    private final HashMap<LumpName, WadMap> mapsbyname = new HashMap<>();
+
+    //Constructors
+    /**
+     * Creates an empty {@link LumpDirectory LumpDirectory} with room for the
+     * specified number of {@link Lump Lumps}.
+     * @param capacity the number of {@link Lump Lumps} to make room for.
+     * @since 1.1
+     */
+    public LumpDirectory(final int capacity) {
+        lumps = new Lump[Math.max(capacity, 0)];
+    }
+
+    //Private Methods
+    /**
+     * Rebuilds the name index, the namespaces and the maps if the directory has
+     * been changed since they were last built.
+     * @since 1.1
+     */
+    private void index() {
+        final int renames = namechanges.get();
+        if(indexedversion == version && indexednamechanges == renames) {
+            return;
+        }
+        lastbyname.clear();
+        previousbyname = new int[size];
+        namespaces = new LumpNamespace[size];
+        maps.clear();
+        mapsbyname.clear();
+        LumpNamespace current = LumpNamespace.GLOBAL;
+        int mapend = 0;
+        for(int i=0; i<size; i++) {
+            final LumpName name = lumps[i].getLumpName();
+            final Integer previous = lastbyname.put(name, i);
+            previousbyname[i] = previous == null ? -1 : previous;
+
+            final LumpNamespace started = LumpNamespace.startedBy(name);
+            if(started != null) {
+                namespaces[i] = LumpNamespace.GLOBAL;
+                current = started;
+            }
+            else if(current.isEndedBy(name)) {
+                namespaces[i] = LumpNamespace.GLOBAL;
+                current = LumpNamespace.GLOBAL;
+            }
+            else {
+                namespaces[i] = current;
+            }
+
+            //The lumps of a map are never taken to be the marker of another one.
+            if(i >= mapend) {
+                final int length = WadMap.lengthAt(lumps, size, i);
+                if(length > 0) {
+                    final WadMap map = WadMap.of(lumps, i, length);
+                    maps.add(map);
+                    mapsbyname.put(name, map);
+                    mapend = i+length;
+                }
+            }
+        }
+        indexedversion = version;
+        indexednamechanges = renames;
+    }
+
+    /**
+     * Returns the position of the last {@link Lump Lump} with the specified name
+     * in the specified namespace.
+     * @param name the name of the {@link Lump Lump}.
+     * @param namespace the namespace to search, or null to search every namespace.
+     * @return the position of the {@link Lump Lump}, or -1 if there is none.
+     * @since 1.1
+     */
+    private int lastIndexOf(final LumpName name, final LumpNamespace namespace) {
+        final Integer last = lastbyname.get(name);
+        int i = last == null ? -1 : last;
+        while(i >= 0 && namespace != null && namespaces[i] != namespace) {
+            i = previousbyname[i];
+        }
+        return i;
+    }
+
+    /**
+     * Makes sure that the directory can hold the specified number of {@link Lump
+     * Lumps}.
+     * @param capacity the number of {@link Lump Lumps} to make room for.
+     * @since 1.1
+     */
+    private void ensureCapacity(final int capacity) {
+        if(capacity > lumps.length) {
+            lumps = Arrays.copyOf(lumps, Math.max(capacity, lumps.length+(lumps.length >> 1)+1));
+        }
+    }
+
+    //Package Methods
+    /**
+     * Records that a {@link Lump Lump} in the directory has been renamed.
+     * @since 1.1
+     */
+    void renamed() {
+        namechanges.incrementAndGet();
+    }
+
+    /**
+     * Returns a number that changes every time the directory is changed or a 
+     * {@link Lump Lump} in it is renamed, so that anything built from the 
+     * directory can tell when it is out of date.
+     * @return the current version of the directory.
+     * @since 1.1
+     */
+    synchronized long getVersion() {
+        return ((long)version << 32) | (namechanges.get() & 0xFFFFFFFFL);
+    }
+
+    //Public Methods
+    /**
+     * Returns the {@link Lump Lump} at the specified position in the directory.
+     * @param index the position of the {@link Lump Lump}.
+     * @return the {@link Lump Lump} at the specified position.
+     * @throws java.lang.IndexOutOfBoundsException if the position is out of range.
+     * @since 1.1
+     */
+    @Override
+    public Lump get(final int index) throws IndexOutOfBoundsException {
+        if(index < 0 || index >= size) {
+            throw new IndexOutOfBoundsException("Index: "+index+", Size: "+size);
+        }
+        return lumps[index];
+    }
+
+    /**
+     * Returns the number of {@link Lump Lumps} in the directory.
+     * @return the number of {@link Lump Lumps} in the directory.
+     * @since 1.1
+     */
+    @Override
+    public int size() {
+        return size;
+    }
+
+    /**
+     * Returns a {@link java.util.Spliterator Spliterator} over a snapshot of the
+     * {@link Lump Lumps} in the directory, taken when this method is called. It
+     * is backed by an array, knows its exact size and splits into halves, so a
+     * parallel {@link java.util.stream.Stream Stream} of the directory spreads
+     * evenly over the threads of a fork-join pool. Changes made to the directory
+     * afterwards do not affect it.
+     * @return a {@link java.util.Spliterator Spliterator} over the {@link Lump Lumps}.
+     * @since 1.1
+     */
+    @Override
+    public synchronized Spliterator<Lump> spliterator() {
+        return Spliterators.spliterator(Arrays.copyOf(lumps, size), 0, size, Spliterator.ORDERED | Spliterator.NONNULL | Spliterator.IMMUTABLE);
+    }
+
+    /**
+     * Replaces the {@link Lump Lump} at the specified position in the directory.
+     * @param index the position of the {@link Lump Lump}.
+     * @param lump the new {@link Lump Lump}.
+     * @return the {@link Lump Lump} that was replaced.
+     * @throws java.lang.IndexOutOfBoundsException if the position is out of range.
+     * @since 1.1
+     */
+    @Override
+    public synchronized Lump set(final int index, final Lump lump) throws IndexOutOfBoundsException {
+        final Lump old = get(index);
+        lump.addOwner(this);
+        old.removeOwner(this);
+        lumps[index] = lump;
+        version++;
+        return old;
+    }
+
+    /**
+     * Inserts a {@link Lump Lump} at the specified position in the directory.
+     * @param index the position to insert the {@link Lump Lump} at.
+     * @param lump the {@link Lump Lump} to insert.
+     * @throws java.lang.IndexOutOfBoundsException if the position is out of range.
+     * @since 1.1
+     */
+    @Override
+    public synchronized void add(final int index, final Lump lump) throws IndexOutOfBoundsException {
+        if(index < 0 || index > size) {
+            throw new IndexOutOfBoundsException("Index: "+index+", Size: "+size);
+        }
+        ensureCapacity(size+1);
+        lump.addOwner(this);
+        System.arraycopy(lumps, index, lumps, index+1, size-index);
+        lumps[index] = lump;
+        size++;
+        version++;
+        modCount++;
+    }
+
+    /**
+     * Removes the {@link Lump Lump} at the specified position in the directory.
+     * @param index the position of the {@link Lump Lump}.
+     * @return the {@link Lump Lump} that was removed.
+     * @throws java.lang.IndexOutOfBoundsException if the position is out of range.
+     * @since 1.1
+     */
+    @Override
+    public synchronized Lump remove(final int index) throws IndexOutOfBoundsException {
+        final Lump old = get(index);
+        old.removeOwner(this);
+        System.arraycopy(lumps, index+1, lumps, index, size-index-1);
+        lumps[--size] = null;
+        version++;
+        modCount++;
+        return old;
+    }
+
+    /**
+     * Returns the {@link LumpNamespace LumpNamespace} of the {@link Lump Lump} at
+     * the specified position in the directory.
+     * @param index the position of the {@link Lump Lump}.
+     * @return the {@link LumpNamespace LumpNamespace} of the {@link Lump Lump}.
+     * @throws java.lang.IndexOutOfBoundsException if the position is out of range.
+     * @since 1.1
+     */
+    public synchronized LumpNamespace getNamespace(final int index) throws IndexOutOfBoundsException {
+        get(index);
+        index();
+        return namespaces[index];
+    }
+
+    /**
+     * Returns the last {@link Lump Lump} with the specified name, which is the
+     * one Doom would use.
+     * @param name the name of the {@link Lump Lump}.
+     * @return the last {@link Lump Lump} with the specified name, or null if
+     * there is none.
+     * @since 1.1
+     */
+    public Lump findLump(final String name) {
+        return findLump(name, null);
+    }
+
+    /**
+     * Returns the last {@link Lump Lump} with the specified name in the specified
+     * namespace.
+     * @param name the name of the {@link Lump Lump}.
+     * @param namespace the namespace to search, or null to search every namespace.
+     * @return the last {@link Lump Lump} with the specified name in the namespace,
+     * or null if there is none.
+     * @since 1.1
+     */
+    public Lump findLump(final String name, final LumpNamespace namespace) {
+        return findLump(LumpName.of(name), namespace);
+    }
+
+    /**
+     * Returns the last {@link Lump Lump} with the specified name, which is the
+     * one Doom would use.
+     * @param name the name of the {@link Lump Lump}.
+     * @return the last {@link Lump Lump} with the specified name, or null if
+     * there is none.
+     * @since 1.1
+     */
+    public Lump findLump(final LumpName name) {
+        return findLump(name, null);
+    }
+
+    /**
+     * Returns the last {@link Lump Lump} with the specified name in the specified
+     * namespace.
+     * @param name the name of the {@link Lump Lump}.
+     * @param namespace the namespace to search, or null to search every namespace.
+     * @return the last {@link Lump Lump} with the specified name in the namespace,
+     * or null if there is none.
+     * @since 1.1
+     */
+    public synchronized Lump findLump(final LumpName name, final LumpNamespace namespace) {
+        index();
+        final int i = lastIndexOf(name, namespace);
+        return i < 0 ? null : lumps[i];
+    }
+
+    /**
+     * Returns every {@link Lump Lump} with the specified name, in directory order.
+     * @param name the name of the {@link Lump Lumps}.
+     * @return a {@link java.util.List List} of the {@link Lump Lumps} with the
+     * specified name, which is empty if there are none.
+     * @since 1.1
+     */
+    public List<Lump> findAllLumps(final String name) {
+        return findAllLumps(name, null);
+    }
+
+    /**
+     * Returns every {@link Lump Lump} with the specified name in the specified
+     * namespace, in directory order.
+     * @param name the name of the {@link Lump Lumps}.
+     * @param namespace the namespace to search, or null to search every namespace.
+     * @return a {@link java.util.List List} of the {@link Lump Lumps} with the
+     * specified name, which is empty if there are none.
+     * @since 1.1
+     */
+    public List<Lump> findAllLumps(final String name, final LumpNamespace namespace) {
+        return findAllLumps(LumpName.of(name), namespace);
+    }
+
+    /**
+     * Returns every {@link Lump Lump} with the specified name in the specified
+     * namespace, in directory order.
+     * @param name the name of the {@link Lump Lumps}.
+     * @param namespace the namespace to search, or null to search every namespace.
+     * @return a {@link java.util.List List} of the {@link Lump Lumps} with the
+     * specified name, which is empty if there are none.
+     * @since 1.1
+     */
+    public synchronized List<Lump> findAllLumps(final LumpName name, final LumpNamespace namespace) {
+        index();
+        final ArrayList<Lump> found = new ArrayList<>();
+        for(int i=lastIndexOf(name, namespace); i>=0; i=previousbyname[i]) {
+            if(namespace == null || namespaces[i] == namespace) {
+                found.add(lumps[i]);
+            }
+        }
+        Collections.reverse(found);
+        return found;
+    }
+
+    /**
+     * Returns every {@link Lump Lump} in the specified namespace, in directory order.
+     * @param namespace the namespace.
+     * @return a {@link java.util.List List} of the {@link Lump Lumps} in the
+     * namespace.
+     * @since 1.1
+     */
+    public synchronized List<Lump> getLumps(final LumpNamespace namespace) {
+        index();
+        final ArrayList<Lump> found = new ArrayList<>();
+        for(int i=0; i<size; i++) {
+            if(namespaces[i] == namespace) {
+                found.add(lumps[i]);
+            }
+        }
+        return found;
+    }
+
+    /**
+     * Returns every map in the directory, in directory order.
+     * @return an unmodifiable {@link java.util.List List} of the {@link WadMap
+     * WadMaps}.
+     * @since 1.1
+     */
+    public synchronized List<WadMap> getMaps() {
+        index();
+        return Collections.unmodifiableList(new ArrayList<>(maps));
+    }
+
+    /**
+     * Returns the last map with the specified name.
+     * @param name the name of the map, such as <code>MAP01</code>.
+     * @return the {@link WadMap WadMap}, or null if there is none.
+     * @since 1.1
+     */
+    public WadMap getMap(final String name) {
+        return getMap(LumpName.of(name));
+    }
+
+    /**
+     * Returns the last map with the specified name.
+     * @param name the name of the map as a {@link LumpName LumpName}.
+     * @return the {@link WadMap WadMap}, or null if there is none.
+     * @since 1.1
+     */
+    public synchronized WadMap getMap(final LumpName name) {
+        index();
+        return mapsbyname.get(name);
+    }
+}
@@ -0,0 +1,86 @@
+/*
+ * LumpLookup.java
+ * This file is part of jwadlib.
+ *
+ * jwadlib WAD Library - A Java(TM) library for manipulating WAD files.
+ * Copyright (C) 2025 @picttarge
+ *
+ * jwadlib is free software; you can redistribute it and/or
+ * modify it under the terms of the GNU Lesser General Public
+ * License as published by the Free Software Foundation; either
+ * version 2.1 of the License, or (at your option) any later version.
+ *
+ * jwadlib is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the GNU
+ * Lesser General Public License for more details.
+ *
+ * You should have received a copy of the GNU Lesser General Public
+ * License along with this library; if not, write to the Free Software
+ * Foundation, Inc., 51 Franklin Street, Fifth Floor, Boston, MA  02110-1301  USA
+ */
+package jwadlib;
+
+import java.util.List;
+
+/**
+ * Something that {@link Lump Lumps} can be looked up in by name, such as a
+ * single {@link Wad Wad} or a {@link WadStack WadStack} of them. When several
+ * lumps share a name, the one Doom would use is returned.
+ * @author @picttarge
+ * @version 1.1
+ * @since 1.1
+ */
+public interface LumpLookup {
+    /**
+     * Returns the {@link Lump Lump} Doom would use for the specified name in the
+     * specified namespace.
+     * @param name the name of the {@link Lump Lump} as a {@link LumpName LumpName}.
+     * @param namespace the namespace to search, or null to search every namespace.
+     * @return the {@link Lump Lump}, or null if there is none.
+     * @since 1.1
+     */
+    Lump findLump(LumpName name, LumpNamespace namespace);
+
+    /**
+     * Returns the {@link Lump Lumps} Doom would use in the specified namespace,
+     * in directory order.
+     * @param namespace the namespace.
+     * @return a {@link java.util.List List} of the {@link Lump Lumps} in the
+     * namespace.
+     * @since 1.1
+     */
+    List<Lump> getLumps(LumpNamespace namespace);
+
+    /**
+     * Returns the {@link Lump Lump} Doom would use for the specified name.
+     * @param name the name of the {@link Lump Lump} as a {@link LumpName LumpName}.
+     * @return the {@link Lump Lump}, or null if there is none.
+     * @since 1.1
+     */
+    default Lump findLump(final LumpName name) {
+        return findLump(name, null);
+    }
+
+    /**
+     * Returns the {@link Lump Lump} Doom would use for the specified name.
+     * @param name the name of the {@link Lump Lump}.
+     * @return the {@link Lump Lump}, or null if there is none.
+     * @since 1.1
+     */
+    default Lump findLump(final String name) {
+        return findLump(LumpName.of(name), null);
+    }
+
+    /**
+     * Returns the {@link Lump Lump} Doom would use for the specified name in the
+     * specified namespace.
+     * @param name the name of the {@link Lump Lump}.
+     * @param namespace the namespace to search, or null to search every namespace.
+     * @return the {@link Lump Lump}, or null if there is none.
+     * @since 1.1
+     */
+    default Lump findLump(final String name, final LumpNamespace namespace) {
+        return findLump(LumpName.of(name), namespace);
+    }
+}
@@ -0,0 +1,205 @@
+/*
+ * LumpName.java
+ * This file is part of jwadlib.
+ *
+ * jwadlib WAD Library - A Java(TM) library for manipulating WAD files.
+ * Copyright (C) 2025 @picttarge
+ *
+ * jwadlib is free software; you can redistribute it and/or
+ * modify it under the terms of the GNU Lesser General Public
+ * License as published by the Free Software Foundation; either
+ * version 2.1 of the License, or (at your option) any later version.
+ *
+ * jwadlib is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the GNU
+ * Lesser General Public License for more details.
+ *
+ * You should have received a copy of the GNU Lesser General Public
+ * License along with this library; if not, write to the Free Software
+ * Foundation, Inc., 51 Franklin Street, Fifth Floor, Boston, MA  02110-1301  USA
+ */
+package jwadlib;
+
+/**
+ * The eight byte name of a {@link Lump Lump}, packed into a <code>long</code>
+ * in the order the bytes are stored in a WAD file's directory (the first
+ * character is the lowest byte). Names are normalised when they are created:
+ * letters are converted to uppercase, illegal characters are replaced by
+ * <code>-</code>, and everything after the first null character is cleared,
+ * so two {@link LumpName LumpNames} are equal if and only if Doom would treat
+ * them as the same name.
+ * <p>
+ * Creating a {@link LumpName LumpName} from the directory of a WAD file does
+ * not create any {@link java.lang.String String}; the {@link
+ * java.lang.String String} form is only built, and then kept, the first time
+ * {@link #toString() toString()} is called.
+ * @author @picttarge
+ * @version 1.1
+ * @since 1.1
+ */
+public final class LumpName implements Comparable<LumpName> {
+    //Private Variables
+    /**
+     * The eight normalised bytes of the name.
+     * @since 1.1
+     */
+    private final long value;
+
+    /**
+     * The name as an eight byte {@link java.lang.String String}, or null if
+     * it has not been needed yet.
+     * @since 1.1
+     */
+    private String string;
+
+    //Constructors
+    /**
+     * Creates a {@link LumpName LumpName} from eight bytes that have already
+     * been normalised.
+     * @param value the eight normalised bytes of the name.
+     * @since 1.1
+     */
+    private LumpName(final long value) {
+        this.value = value;
+    }
+
+    //Private Static Methods
+    /**
+     * Returns the normalised form of a single character of a name. The legal
+     * characters are capital A through Z and 0 through 9 along with "[", "]",
+     * "-", "_" and "\"; lowercase letters are converted to uppercase and any
+     * other character becomes "-".
+     * @param c the character.
+     * @return the normalised character.
+     * @since 1.1
+     */
+    private static int normalise(final int c) {
+        if(c >= 'a' && c <= 'z') {
+            return c-('a'-'A');
+        }
+        if((c >= 'A' && c <= 'Z') || (c >= '0' && c <= '9') || c == '[' || c == ']' || c == '-' || c == '_' || c == '\\') {
+            return c;
+        }
+        return '-';
+    }
+
+    //Public Methods
+    /**
+     * Returns the eight normalised bytes of the name, packed with the first
+     * character in the lowest byte.
+     * @return the eight bytes of the name as a <code>long</code>.
+     * @since 1.1
+     */
+    public long longValue() {
+        return value;
+    }
+
+    /**
+     * Returns true if the other object is a {@link LumpName LumpName} with the
+     * same eight bytes.
+     * @param other the object to compare with.
+     * @return true if the names are the same, otherwise false.
+     * @since 1.1
+     */
+    @Override
+    public boolean equals(final Object other) {
+        return other instanceof LumpName && ((LumpName)other).value == value;
+    }
+
+    /**
+     * Returns a hash code for the name.
+     * @return a hash code for the name.
+     * @since 1.1
+     */
+    @Override
+    public int hashCode() {
+        return (int)((value*0x9E3779B97F4A7C15L) >>> 32);
+    }
+
+    /**
+     * Compares two names in the order of their characters.
+     * @param other the name to compare with.
+     * @return a negative number, zero or a positive number if this name comes
+     * before, is the same as or comes after the other name.
+     * @since 1.1
+     */
+    @Override
+    public int compareTo(final LumpName other) {
+        return Long.compareUnsigned(Long.reverseBytes(value), Long.reverseBytes(other.value));
+    }
+
+    /**
+     * Returns the name as an eight byte {@link java.lang.String String} padded
+     * with null characters, as returned by {@link Lump#getName() getName()}.
+     * @return the name as an eight byte {@link java.lang.String String}.
+     * @since 1.1
+     */
+    @Override
+    public String toString() {
+        String temp = string;
+        if(temp == null) {
+            final char[] chars = new char[8];
+            for(int i=0; i<8; i++) {
+                chars[i] = (char)((value >>> (i*8)) & 0xFF);
+            }
+            temp = new String(chars);
+            string = temp;
+        }
+        return temp;
+    }
+
+    //Public Static Methods
+    /**
+     * Returns the {@link LumpName LumpName} of eight bytes read from a WAD file,
+     * packed with the first character in the lowest byte, as read by {@link
+     * WadByteBuffer#getLong() WadByteBuffer.getLong()}.
+     * @param bytes the eight bytes of the name.
+     * @return the normalised {@link LumpName LumpName}.
+     * @since 1.1
+     */
+    public static LumpName of(final long bytes) {
+        return new LumpName(normalise(bytes));
+    }
+
+    /**
+     * Returns the normalised form of eight bytes read from a WAD file, packed
+     * with the first character in the lowest byte, without creating a {@link
+     * LumpName LumpName}. The result is the same as the {@link #longValue()
+     * longValue()} of the {@link LumpName LumpName} of those bytes.
+     * @param bytes the eight bytes of the name.
+     * @return the eight normalised bytes of the name.
+     * @since 1.1
+     */
+    public static long normalise(final long bytes) {
+        long temp = 0;
+        for(int i=0; i<8; i++) {
+            final int c = (int)((bytes >>> (i*8)) & 0xFF);
+            if(c == 0) {
+                break;
+            }
+            temp |= ((long)normalise(c)) << (i*8);
+        }
+        return temp;
+    }
+
+    /**
+     * Returns the {@link LumpName LumpName} of a {@link java.lang.String String}.
+     * {@link java.lang.String Strings} longer than eight characters are truncated.
+     * @param name the name as a {@link java.lang.String String}.
+     * @return the normalised {@link LumpName LumpName}.
+     * @since 1.1
+     */
+    public static LumpName of(final String name) {
+        long temp = 0;
+        final int length = Math.min(name.length(), 8);
+        for(int i=0; i<length; i++) {
+            final char c = name.charAt(i);
+            if(c == 0) {
+                break;
+            }
+            temp |= ((long)normalise(c)) << (i*8);
+        }
+        return new LumpName(temp);
+    }
+}
@@ -0,0 +1,141 @@
+/*
+ * LumpNamespace.java
+ * This file is part of jwadlib.
+ *
+ * jwadlib WAD Library - A Java(TM) library for manipulating WAD files.
+ * Copyright (C) 2025 @picttarge
+ *
+ * jwadlib is free software; you can redistribute it and/or
+ * modify it under the terms of the GNU Lesser General Public
+ * License as published by the Free Software Foundation; either
+ * version 2.1 of the License, or (at your option) any later version.
+ *
+ * jwadlib is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the GNU
+ * Lesser General Public License for more details.
+ *
+ * You should have received a copy of the GNU Lesser General Public
+ * License along with this library; if not, write to the Free Software
+ * Foundation, Inc., 51 Franklin Street, Fifth Floor, Boston, MA  02110-1301  USA
+ */
+package jwadlib;
+
+/**
+ * The sections of a WAD file's directory that are enclosed by a pair of marker
+ * lumps. A {@link Lump Lump} between two markers belongs to that namespace, and
+ * every other {@link Lump Lump}, including the markers themselves, belongs to
+ * {@link #GLOBAL GLOBAL}. Both the single and the doubled letter markers that
+ * PWADs use (for example <code>SS_START</code>) are recognised.
+ * @author @picttarge
+ * @version 1.1
+ * @since 1.1
+ */
+public enum LumpNamespace {
+    /**
+     * Lumps that are not enclosed by any markers.
+     * @since 1.1
+     */
+    GLOBAL(null),
+
+    /**
+     * Sprites, enclosed by <code>S_START</code> and <code>S_END</code>.
+     * @since 1.1
+     */
+    SPRITES("S"),
+
+    /**
+     * Flats, enclosed by <code>F_START</code> and <code>F_END</code>.
+     * @since 1.1
+     */
+    FLATS("F"),
+
+    /**
+     * Wall patches, enclosed by <code>P_START</code> and <code>P_END</code>.
+     * @since 1.1
+     */
+    PATCHES("P");
+
+    //Private Static Variables
+    /**
+     * Every namespace, kept so that looking up markers does not copy {@link
+     * #values() values()} each time.
+     * @since 1.1
+     */
+    private static final LumpNamespace[] NAMESPACES = values();
+
+    //Private Variables
+    /**
+     * The name of the marker that starts the namespace.
+     * @since 1.1
+     */
+    private final LumpName start;
+
+    /**
+     * The name of the doubled letter marker that starts the namespace.
+     * @since 1.1
+     */
+    private final LumpName doubledstart;
+
+    /**
+     * The name of the marker that ends the namespace.
+     * @since 1.1
+     */
+    private final LumpName end;
+
+    /**
+     * The name of the doubled letter marker that ends the namespace.
+     * @since 1.1
+     */
+    private final LumpName doubledend;
+
+    //Constructors
+    /**
+     * Creates a namespace whose markers begin with the specified letter.
+     * @param letter the letter the markers begin with, or null if the namespace
+     * has no markers.
+     * @since 1.1
+     */
+    LumpNamespace(final String letter) {
+        if(letter == null) {
+            start = null;
+            doubledstart = null;
+            end = null;
+            doubledend = null;
+        }
+        else {
+            start = LumpName.of(letter+"_START");
+            doubledstart = LumpName.of(letter+letter+"_START");
+            end = LumpName.of(letter+"_END");
+            doubledend = LumpName.of(letter+letter+"_END");
+        }
+    }
+
+    //Public Methods
+    /**
+     * Returns true if a lump with the specified name ends the namespace.
+     * @param name the name of the lump.
+     * @return true if the lump is an end marker of the namespace, otherwise false.
+     * @since 1.1
+     */
+    public boolean isEndedBy(final LumpName name) {
+        return end != null && (end.equals(name) || doubledend.equals(name));
+    }
+
+    //Public Static Methods
+    /**
+     * Returns the namespace that a lump with the specified name starts.
+     * @param name the name of the lump.
+     * @return the namespace that is started, or null if the lump is not a start
+     * marker.
+     * @since 1.1
+     */
+    public static LumpNamespace startedBy(final LumpName name) {
+        for(final LumpNamespace namespace : NAMESPACES) {
+            if(namespace.start != null && (namespace.start.equals(name) || namespace.doubledstart.equals(name))) {
+                return namespace;
+            }
+        }
+        return null;
+    }
+}
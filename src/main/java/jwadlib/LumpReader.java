@@ -0,0 +1,228 @@
+/*
+ * LumpReader.java
+ * This file is part of jwadlib.
+ *
+ * jwadlib WAD Library - A Java(TM) library for manipulating WAD files.
+ * Copyright (C) 2025 @picttarge
+ *
+ * jwadlib is free software; you can redistribute it and/or
+ * modify it under the terms of the GNU Lesser General Public
+ * License as published by the Free Software Foundation; either
+ * version 2.1 of the License, or (at your option) any later version.
+ *
+ * jwadlib is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the GNU
+ * Lesser General Public License for more details.
+ *
+ * You should have received a copy of the GNU Lesser General Public
+ * License along with this library; if not, write to the Free Software
+ * Foundation, Inc., 51 Franklin Street, Fifth Floor, Boston, MA  02110-1301  USA
+ */
+package jwadlib;
+
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.nio.ByteBuffer;
+import java.nio.channels.FileChannel;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.Executor;
+import java.util.function.IntFunction;
+
+/**
+ * Reads the data of many lumps from a WAD file at once. Lumps that are stored
+ * next to each other, or separated by only a small gap, are grouped into runs,
+ * each run is read with a single positional read, and every lump gets a slice
+ * of its run's buffer instead of a copy. A lump whose bytes overlap those of
+ * another lump, as when a WAD stores identical lumps once, gets a read-only
+ * slice, which its {@link Lump Lump} copies before it hands the data out to be
+ * written to; every other lump owns its slice. Loading a whole IWAD this way takes a
+ * handful of reads rather than one or two system calls per lump. The runs can
+ * be read concurrently by an {@link java.util.concurrent.Executor Executor}.
+ * @author @picttarge
+ * @version 1.1
+ * @since 1.1
+ */
+final class LumpReader {
+    //Private Static Variables
+    /**
+     * The largest run that lumps are grouped into, in bytes. A single lump that
+     * is larger than this is read as a run of its own.
+     * @since 1.1
+     */
+    private static final int MAX_RUN_BYTES = 8 << 20;
+
+    /**
+     * The largest gap between two lumps, in bytes, that is read and thrown away
+     * so that the lumps can be read in the same run.
+     * @since 1.1
+     */
+    private static final int MAX_GAP_BYTES = 4096;
+
+    //Constructors
+    /**
+     * {@link LumpReader LumpReader} only has static methods.
+     * @since 1.1
+     */
+    private LumpReader() {
+    }
+
+    //Private Static Methods
+    /**
+     * Reads bytes from the specified position of a channel until the buffer is
+     * full or the end of the file is reached. Any bytes past the end of the file
+     * are left as zero.
+     * @param filechannel the channel to read from.
+     * @param buffer the buffer to read into.
+     * @param position the position in the file to start reading from.
+     * @throws java.io.IOException if the file cannot be read.
+     * @since 1.1
+     */
+    private static void readFully(final FileChannel filechannel, final ByteBuffer buffer, final long position) throws IOException {
+        while(buffer.hasRemaining()) {
+            if(filechannel.read(buffer, position+buffer.position()) < 0) {
+                break;
+            }
+        }
+    }
+
+    /**
+     * Reads one run of lumps and slices it into their contents. The slices of
+     * lumps that overlap another lump of the run are read-only.
+     * @param filechannel the channel to read from.
+     * @param order the positions of the lumps, sorted by pointer.
+     * @param first the first element of the order in the run.
+     * @param last the element of the order after the last one in the run.
+     * @param pointers the starting location of each lump.
+     * @param sizes the size of each lump.
+     * @param contents the array to put the contents of each lump in.
+     * @param allocator allocates the buffer that the run is read into.
+     * @since 1.1
+     */
+    private static void readRun(final FileChannel filechannel, final long[] order, final int first, final int last, final int[] pointers, final int[] sizes, final WadByteBuffer[] contents, final IntFunction<ByteBuffer> allocator) {
+        final int start = pointers[(int)order[first]];
+        int end = start;
+        for(int i=first; i<last; i++) {
+            final int lump = (int)order[i];
+            end = Math.max(end, pointers[lump]+sizes[lump]);
+        }
+        final ByteBuffer run = allocator.apply(end-start);
+        try {
+            readFully(filechannel, run, start);
+        } catch(final IOException e) {
+            throw new UncheckedIOException(e);
+        }
+        int covered = start;
+        for(int i=first; i<last; i++) {
+            final int lump = (int)order[i];
+            final int lumpend = pointers[lump]+sizes[lump];
+
+            //Sorted by pointer, a lump overlaps another if an earlier one reaches past its start or the next one starts before its end.
+            final boolean overlapping = pointers[lump] < covered || (i+1 < last && pointers[(int)order[i+1]] < lumpend);
+            covered = Math.max(covered, lumpend);
+            final ByteBuffer slice = run.slice(pointers[lump]-start, sizes[lump]);
+            contents[lump] = new WadByteBuffer(overlapping ? slice.asReadOnlyBuffer() : slice);
+        }
+    }
+
+    //Package Static Methods
+    /**
+     * Reads the data of every lump described by the specified pointers and sizes.
+     * @param filechannel the {@link java.nio.channels.FileChannel FileChannel} of
+     * the WAD file.
+     * @param pointers the starting location of each lump in the WAD file.
+     * @param sizes the size of each lump.
+     * @param executor the {@link java.util.concurrent.Executor Executor} to read
+     * the runs with, or null to read them in the calling thread.
+     * @return the contents of each lump, in the same order as the pointers, which
+     * are read-only for lumps that overlap another lump.
+     * @throws jwadlib.UnableToReadWADFileException if the WAD file cannot be read,
+     * or a lump lies outside of it.
+     * @since 1.1
+     */
+    static WadByteBuffer[] read(final FileChannel filechannel, final int[] pointers, final int[] sizes, final Executor executor) throws UnableToReadWADFileException {
+        return read(filechannel, pointers, sizes, executor, ByteBuffer::allocate);
+    }
+
+    /**
+     * Reads the data of every lump described by the specified pointers and sizes
+     * into buffers from the specified allocator. The allocator may be called from
+     * several threads at once when an {@link java.util.concurrent.Executor Executor}
+     * is given.
+     * @param filechannel the {@link java.nio.channels.FileChannel FileChannel} of
+     * the WAD file.
+     * @param pointers the starting location of each lump in the WAD file.
+     * @param sizes the size of each lump.
+     * @param executor the {@link java.util.concurrent.Executor Executor} to read
+     * the runs with, or null to read them in the calling thread.
+     * @param allocator allocates a buffer of the requested size for each run.
+     * @return the contents of each lump, in the same order as the pointers, which
+     * are read-only for lumps that overlap another lump.
+     * @throws jwadlib.UnableToReadWADFileException if the WAD file cannot be read,
+     * or a lump lies outside of it.
+     * @since 1.1
+     */
+    static WadByteBuffer[] read(final FileChannel filechannel, final int[] pointers, final int[] sizes, final Executor executor, final IntFunction<ByteBuffer> allocator) throws UnableToReadWADFileException {
+        final WadByteBuffer[] contents = new WadByteBuffer[pointers.length];
+
+        //Sorts the lumps that have data by pointer, keeping their position in the low bits.
+        final long[] order = new long[pointers.length];
+        int count = 0;
+        for(int i=0; i<pointers.length; i++) {
+            if(sizes[i] <= 0) {
+                contents[i] = new WadByteBuffer(0);
+            }
+            else if(pointers[i] < 0 || (long)pointers[i]+sizes[i] > Integer.MAX_VALUE) {
+                throw new UnableToReadWADFileException("Position out of file bounds.");
+            }
+            else {
+                order[count++] = ((long)pointers[i] << 32) | i;
+            }
+        }
+        Arrays.sort(order, 0, count);
+        for(int i=0; i<count; i++) {
+            order[i] &= 0xFFFFFFFFL;
+        }
+
+        final ArrayList<CompletableFuture<Void>> runs = new ArrayList<>();
+        int first = 0;
+        while(first < count) {
+            final int start = pointers[(int)order[first]];
+            long end = (long)start+sizes[(int)order[first]];
+            int last = first+1;
+            while(last < count) {
+                final int lump = (int)order[last];
+                final long lumpend = Math.max(end, (long)pointers[lump]+sizes[lump]);
+                if(pointers[lump] > end+MAX_GAP_BYTES || lumpend-start > MAX_RUN_BYTES) {
+                    break;
+                }
+                end = lumpend;
+                last++;
+            }
+            final int runfirst = first;
+            final int runlast = last;
+            final Runnable task = () -> readRun(filechannel, order, runfirst, runlast, pointers, sizes, contents, allocator);
+            if(executor == null) {
+                try {
+                    task.run();
+                } catch(final UncheckedIOException e) {
+                    throw new UnableToReadWADFileException("WAD file cannot be read.", e.getCause());
+                }
+            }
+            else {
+                runs.add(CompletableFuture.runAsync(task, executor));
+            }
+            first = last;
+        }
+        try {
+            CompletableFuture.allOf(runs.toArray(new CompletableFuture<?>[0])).join();
+        } catch(final CompletionException e) {
+            final Throwable cause = e.getCause() instanceof UncheckedIOException ? e.getCause().getCause() : e.getCause();
+            throw new UnableToReadWADFileException("WAD file cannot be read.", cause);
+        }
+        return contents;
+    }
+}
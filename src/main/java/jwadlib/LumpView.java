@@ -0,0 +1,195 @@
+/*
+ * LumpView.java
+ * This file is part of jwadlib.
+ *
+ * jwadlib WAD Library - A Java(TM) library for manipulating WAD files.
+ * Copyright (C) 2025 @picttarge
+ *
+ * jwadlib is free software; you can redistribute it and/or
+ * modify it under the terms of the GNU Lesser General Public
+ * License as published by the Free Software Foundation; either
+ * version 2.1 of the License, or (at your option) any later version.
+ *
+ * jwadlib is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the GNU
+ * Lesser General Public License for more details.
+ *
+ * You should have received a copy of the GNU Lesser General Public
+ * License along with this library; if not, write to the Free Software
+ * Foundation, Inc., 51 Franklin Street, Fifth Floor, Boston, MA  02110-1301  USA
+ */
+package jwadlib;
+
+import java.nio.ByteBuffer;
+import java.nio.ByteOrder;
+
+/**
+ * A read-only view of lump data in which every value is read from an absolute
+ * offset. Unlike a {@link WadByteBuffer WadByteBuffer}, a {@link LumpView
+ * LumpView} has no position, so it never changes when it is read and can be
+ * shared by any number of threads without locking. All values are read in
+ * {@link java.nio.ByteOrder#LITTLE_ENDIAN little endian} order.
+ * <p>
+ * The view shares its bytes with the data it was created from. It stays
+ * consistent for as long as nothing writes to that data.
+ * @author @picttarge
+ * @version 1.1
+ * @since 1.1
+ */
+public final class LumpView {
+    //Private Variables
+    /**
+     * The read-only {@link java.nio.ByteBuffer ByteBuffer} the values are read
+     * from. Only its absolute methods are ever used.
+     * @since 1.1
+     */
+    private final ByteBuffer bytebuffer;
+
+    //Constructors
+    /**
+     * Creates a {@link LumpView LumpView} of every byte that the specified
+     * {@link WadByteBuffer WadByteBuffer} can hold.
+     * @param data the data to view.
+     * @since 1.1
+     */
+    public LumpView(final WadByteBuffer data) {
+        this(data.duplicateByteBuffer());
+    }
+
+    /**
+     * Creates a {@link LumpView LumpView} of the bytes of the specified
+     * {@link java.nio.ByteBuffer ByteBuffer} from its position to its limit.
+     * @param bytebuffer the bytes to view.
+     * @since 1.1
+     */
+    public LumpView(final ByteBuffer bytebuffer) {
+        this.bytebuffer = bytebuffer.slice().asReadOnlyBuffer().order(ByteOrder.LITTLE_ENDIAN);
+    }
+
+    //Public Methods
+    /**
+     * Returns the number of bytes in the view.
+     * @return the number of bytes in the view.
+     * @since 1.1
+     */
+    public int size() {
+        return bytebuffer.capacity();
+    }
+
+    /**
+     * Returns the signed byte at the specified offset.
+     * @param offset the offset of the byte.
+     * @return the byte at the offset.
+     * @throws java.lang.IndexOutOfBoundsException if the offset is out of range.
+     * @since 1.1
+     */
+    public byte i8(final int offset) throws IndexOutOfBoundsException {
+        return bytebuffer.get(offset);
+    }
+
+    /**
+     * Returns the unsigned byte at the specified offset.
+     * @param offset the offset of the byte.
+     * @return the byte at the offset, from 0 to 255.
+     * @throws java.lang.IndexOutOfBoundsException if the offset is out of range.
+     * @since 1.1
+     */
+    public int u8(final int offset) throws IndexOutOfBoundsException {
+        return bytebuffer.get(offset) & 0xFF;
+    }
+
+    /**
+     * Returns the signed short at the specified offset.
+     * @param offset the offset of the short.
+     * @return the short at the offset.
+     * @throws java.lang.IndexOutOfBoundsException if the offset is out of range.
+     * @since 1.1
+     */
+    public short i16(final int offset) throws IndexOutOfBoundsException {
+        return bytebuffer.getShort(offset);
+    }
+
+    /**
+     * Returns the unsigned short at the specified offset.
+     * @param offset the offset of the short.
+     * @return the short at the offset, from 0 to 65535.
+     * @throws java.lang.IndexOutOfBoundsException if the offset is out of range.
+     * @since 1.1
+     */
+    public int u16(final int offset) throws IndexOutOfBoundsException {
+        return bytebuffer.getShort(offset) & 0xFFFF;
+    }
+
+    /**
+     * Returns the integer at the specified offset.
+     * @param offset the offset of the integer.
+     * @return the integer at the offset.
+     * @throws java.lang.IndexOutOfBoundsException if the offset is out of range.
+     * @since 1.1
+     */
+    public int i32(final int offset) throws IndexOutOfBoundsException {
+        return bytebuffer.getInt(offset);
+    }
+
+    /**
+     * Returns the long at the specified offset.
+     * @param offset the offset of the long.
+     * @return the long at the offset.
+     * @throws java.lang.IndexOutOfBoundsException if the offset is out of range.
+     * @since 1.1
+     */
+    public long i64(final int offset) throws IndexOutOfBoundsException {
+        return bytebuffer.getLong(offset);
+    }
+
+    /**
+     * Returns the eight byte name at the specified offset.
+     * @param offset the offset of the name.
+     * @return the name at the offset as a {@link LumpName LumpName}.
+     * @throws java.lang.IndexOutOfBoundsException if the offset is out of range.
+     * @since 1.1
+     */
+    public LumpName name(final int offset) throws IndexOutOfBoundsException {
+        return LumpName.of(bytebuffer.getLong(offset));
+    }
+
+    /**
+     * Copies bytes from the specified offset into an array.
+     * @param offset the offset of the first byte to copy.
+     * @param destination the array to copy the bytes into.
+     * @param destinationoffset the position in the array of the first byte.
+     * @param length the number of bytes to copy.
+     * @throws java.lang.IndexOutOfBoundsException if the offsets or the length are
+     * out of range.
+     * @since 1.1
+     */
+    public void get(final int offset, final byte[] destination, final int destinationoffset, final int length) throws IndexOutOfBoundsException {
+        bytebuffer.get(offset, destination, destinationoffset, length);
+    }
+
+    /**
+     * Returns a {@link LumpView LumpView} of part of this view.
+     * @param offset the offset of the first byte of the new view.
+     * @param length the number of bytes in the new view.
+     * @return a {@link LumpView LumpView} that shares the bytes of this one.
+     * @throws java.lang.IndexOutOfBoundsException if the offset or the length are
+     * out of range.
+     * @since 1.1
+     */
+    public LumpView slice(final int offset, final int length) throws IndexOutOfBoundsException {
+        return new LumpView(bytebuffer.slice(offset, length));
+    }
+
+    /**
+     * Returns a new read-only {@link java.nio.ByteBuffer ByteBuffer} of the bytes
+     * in the view. Each call returns a different {@link java.nio.ByteBuffer
+     * ByteBuffer}, so its position can be changed without affecting anyone else.
+     * @return a read-only {@link java.nio.ByteBuffer ByteBuffer} of the bytes in
+     * the view.
+     * @since 1.1
+     */
+    public ByteBuffer asByteBuffer() {
+        return bytebuffer.duplicate().order(ByteOrder.LITTLE_ENDIAN);
+    }
+}
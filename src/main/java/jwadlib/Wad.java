@@ -23,12 +23,27 @@ package jwadlib;
 
 import com.badlogic.gdx.files.FileHandle;
 
+import java.io.Closeable;
 import java.io.File;
 import java.io.FileNotFoundException;
+import java.io.IOException;
 import java.io.RandomAccessFile;
+import java.nio.ByteBuffer;
+import java.nio.ByteOrder;
+import java.nio.MappedByteBuffer;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardCopyOption;
+import java.nio.file.StandardOpenOption;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.util.Arrays;
+import java.util.concurrent.Executor;
+import java.util.function.IntFunction;
 import java.nio.channels.FileChannel;
-import java.util.LinkedList;
 import java.util.List;
+import java.util.stream.Stream;
 
 /**
  * The {@link Wad Wad} class is used to virtually open WAD files.  It allows for the manipulation of a WAD file on the Java platform.
@@ -37,27 +52,42 @@ import java.util.List;
  * @version 1.0.1
  * @since 1.0
  */
-public class Wad {
+public class Wad implements Closeable, LumpLookup {
+    //Private Static Variables
+    /**
+     * The number of bytes read at a time by {@link #computeFingerprint(java.lang.String) 
+     * computeFingerprint()}.
+     * @since 1.1
+     */
+    private static final int FINGERPRINT_CHUNK_BYTES = 1 << 20;
+    
+    //Private Variables
+    /**
+     * The location of the WAD file.
+     * @since 1.1
+     */
+    private final File file;
+    
     /**
      * The WAD file as a {@link java.io.RandomAccessFile RandomAccessFile}.
      * @since 1.0
      */
-    private final RandomAccessFile wadfile;
+    private RandomAccessFile wadfile;
     
     /**
      * The {@link java.nio.channels.FileChannel FileChannel} associated with the 
      * {@link #wadfile WAD file}.
      * @since 1.0
      */
-    private final FileChannel wadfilechannel;
+    private FileChannel wadfilechannel;
     
     //Protected Variables
     /**
-     * A {@link LinkedList LinkedList} of the {@link Lump Lumps} in the {@link 
+     * A {@link LumpDirectory LumpDirectory} of the {@link Lump Lumps} in the {@link 
      * Wad Wad}.
      * @since 1.0
      */
-    protected LinkedList<Lump> lumps;
+    protected LumpDirectory lumps;
     
     /**
      * The first four bytes of the WAD file.
@@ -65,6 +95,47 @@ public class Wad {
      */
     protected int identifier;
     
+    /**
+     * How the data of the {@link Lump Lumps} in the WAD file is read.
+     * @since 1.1
+     */
+    protected final WadLoadMode loadmode;
+    
+    /**
+     * The read-only mapping of the whole WAD file if it was opened as {@link 
+     * WadLoadMode#MAPPED MAPPED}, otherwise null.
+     * @since 1.1
+     */
+    private MappedByteBuffer wadfilemap;
+    
+    /**
+     * The {@link LumpCache LumpCache} that keeps the data of {@link Lump Lumps} 
+     * that have not been read, or null if there is none.
+     * @since 1.1
+     */
+    private LumpCache cache;
+    
+    /**
+     * The {@link LumpArena LumpArena} that the lump data is read into if the WAD 
+     * file was opened as {@link WadLoadMode#DIRECT DIRECT}, otherwise null.
+     * @since 1.1
+     */
+    private LumpArena arena;
+    
+    /**
+     * The {@link LumpDeduplicator LumpDeduplicator} that lets the {@link Lump 
+     * Lumps} share identical data, or null if there is none.
+     * @since 1.1
+     */
+    private LumpDeduplicator deduplicator;
+    
+    /**
+     * The {@link WadFingerprint WadFingerprint} last computed, or null if none 
+     * has been computed since the WAD file was opened or last written.
+     * @since 1.1
+     */
+    private WadFingerprint fingerprint;
+    
     /**
      * Creates a {@link Wad Wad} object from a wad file as specified from the filepath.
      * @param filepath the location of the wad file including the name and extension.
@@ -76,6 +147,19 @@ public class Wad {
         this(new File(filepath));
     }
 
+    /**
+     * Creates a {@link Wad Wad} object from a wad file as specified from the filepath, 
+     * reading the lump data as specified by the {@link WadLoadMode WadLoadMode}.
+     * @param filepath the location of the wad file including the name and extension.
+     * @param loadmode how the lump data should be read.
+     * @throws java.io.FileNotFoundException if the WAD file cannot be found.
+     * @throws jwadlib.UnableToReadWADFileException if the WAD file cannot be read.
+     * @since 1.1
+     */ 
+    public Wad(final String filepath, final WadLoadMode loadmode) throws FileNotFoundException, UnableToReadWADFileException {
+        this(new File(filepath), loadmode);
+    }
+
     /**
      * Creates a {@link Wad Wad} object from a wad file as specified from the libGDX FileHandle.
      * @param fileHandle the libGDX FileHandle location of the wad file including the name and extension.
@@ -86,6 +170,19 @@ public class Wad {
     public Wad(final FileHandle fileHandle) throws FileNotFoundException, UnableToReadWADFileException {
         this(fileHandle.file());
     }
+
+    /**
+     * Creates a {@link Wad Wad} object from a wad file as specified from the libGDX FileHandle, 
+     * reading the lump data as specified by the {@link WadLoadMode WadLoadMode}.
+     * @param fileHandle the libGDX FileHandle location of the wad file including the name and extension.
+     * @param loadmode how the lump data should be read.
+     * @throws java.io.FileNotFoundException if the WAD file cannot be found.
+     * @throws jwadlib.UnableToReadWADFileException if the WAD file cannot be read.
+     * @since 1.1
+     */
+    public Wad(final FileHandle fileHandle, final WadLoadMode loadmode) throws FileNotFoundException, UnableToReadWADFileException {
+        this(fileHandle.file(), loadmode);
+    }
     
     /**
      * Creates a {@link Wad Wad} object from a wad file that has been already pointed to by 
@@ -96,38 +193,178 @@ public class Wad {
      * @since 1.0
      */
     public Wad(final File file) throws FileNotFoundException, UnableToReadWADFileException {
+        this(file, WadLoadMode.EAGER);
+    }
+    
+    /**
+     * Creates a {@link Wad Wad} object from a wad file that has been already pointed to by 
+     * a {@link java.io.File File} object, reading the lump data as specified by the 
+     * {@link WadLoadMode WadLoadMode}.
+     * @param file a {@link java.io.File File} object that points to a wad file.
+     * @param loadmode how the lump data should be read.
+     * @throws java.io.FileNotFoundException if the WAD file cannot be found.
+     * @throws jwadlib.UnableToReadWADFileException if the WAD file cannot be read.
+     * @since 1.1
+     */
+    public Wad(final File file, final WadLoadMode loadmode) throws FileNotFoundException, UnableToReadWADFileException {
+        this(file, loadmode, null);
+    }
+    
+    /**
+     * Creates a {@link Wad Wad} object from a wad file that has been already pointed to by 
+     * a {@link java.io.File File} object, reading the lump data as specified by the 
+     * {@link WadLoadMode WadLoadMode}. If the lumps are read {@link WadLoadMode#EAGER 
+     * eagerly} or {@link WadLoadMode#DIRECT directly}, lumps that are stored next to each other are read together and the 
+     * reads are run concurrently by the specified {@link java.util.concurrent.Executor 
+     * Executor}, such as a thread pool, which can make opening large WAD files on fast 
+     * storage considerably quicker.
+     * @param file a {@link java.io.File File} object that points to a wad file.
+     * @param loadmode how the lump data should be read.
+     * @param executor the {@link java.util.concurrent.Executor Executor} to read the 
+     * lump data with, or null to read it in the calling thread.
+     * @throws java.io.FileNotFoundException if the WAD file cannot be found.
+     * @throws jwadlib.UnableToReadWADFileException if the WAD file cannot be read.
+     * @since 1.1
+     */
+    public Wad(final File file, final WadLoadMode loadmode, final Executor executor) throws FileNotFoundException, UnableToReadWADFileException {
+        this.loadmode = loadmode;
+        this.file = file;
         wadfile = new RandomAccessFile(file, "r");
         wadfilechannel = wadfile.getChannel();
+        if(loadmode == WadLoadMode.MAPPED) {
+            try {
+                wadfilemap = wadfilechannel.map(FileChannel.MapMode.READ_ONLY, 0, wadfilechannel.size());
+            } catch(final IOException e) {
+                throw new UnableToReadWADFileException("WAD file cannot be mapped into memory.", e);
+            }
+        }
 
-        final WadByteBuffer header = new WadByteBuffer(wadfilechannel, 12, 0);
+        final WadByteBuffer header = read(12, 0);
         identifier = header.getInt(0);
-        final WadByteBuffer directory = new WadByteBuffer(wadfilechannel, header.getInt(4)*16, header.getInt(8));
-        lumps = new LinkedList<>();
+        final int count = header.getInt(4);
+        final WadByteBuffer directory = read(count*16, header.getInt(8));
+        final int[] pointers = new int[count];
+        final int[] sizes = new int[count];
+        final LumpName[] names = new LumpName[count];
+        for(int i=0; i<count; i++) {
+            pointers[i] = directory.getInt();
+            sizes[i] = directory.getInt();
+            names[i] = directory.getLumpName();
+        }
+        final WadByteBuffer[] contents;
+        final IntFunction<ByteBuffer> allocator;
+        if(loadmode == WadLoadMode.EAGER) {
+            allocator = ByteBuffer::allocate;
+            contents = LumpReader.read(wadfilechannel, pointers, sizes, executor, allocator);
+        }
+        else if(loadmode == WadLoadMode.DIRECT) {
+            arena = new LumpArena();
+            allocator = arena::allocate;
+            contents = LumpReader.read(wadfilechannel, pointers, sizes, executor, allocator);
+        }
+        else {
+            allocator = null;
+            contents = null;
+        }
+        lumps = new LumpDirectory(count);
         
-        //Adds all of the lumps in the WAD file to the Wad object's LinkedList of lump objects.
-        for(int i=0; i<header.getInt(4); i++) {
-            final int pointer = directory.getInt();
-            final int size = directory.getInt();
-            final String name = directory.getEightByteString();
-            
+        //Adds all of the lumps in the WAD file to the Wad object's LumpDirectory of lump objects.
+        for(int i=0; i<count; i++) {
             /* This should never occur because a basic Lump's initialization 
              * method always will return true.
              */
             try {
-                lumps.add(new Lump(name, size, wadfilechannel, pointer));
+                if(contents != null) {
+                    lumps.add(new Lump(names[i], contents[i], wadfilechannel, pointers[i], allocator));
+                }
+                else if(loadmode == WadLoadMode.MAPPED) {
+                    lumps.add(new Lump(names[i], read(sizes[i], pointers[i]), wadfilechannel, pointers[i], null));
+                }
+                else {
+                    lumps.add(new Lump(names[i], sizes[i], wadfilechannel, pointers[i], loadmode == WadLoadMode.LAZY));
+                }
             } catch(final UnableToInitializeLumpException e) {
                 throw new UnableToReadWADFileException("A lump in the WAD file could not be intialized.", e);
             }
         }
     }
     
+    //Private Methods
+    /**
+     * Reads the specified number of bytes of the WAD file from the specified 
+     * position. If the WAD file is {@link WadLoadMode#MAPPED mapped}, the 
+     * returned {@link WadByteBuffer WadByteBuffer} is a read-only view of the 
+     * mapping instead of a copy.
+     * @param length the number of bytes to read.
+     * @param position the position in the WAD file to start reading from.
+     * @return the bytes read as a {@link WadByteBuffer WadByteBuffer}.
+     * @throws jwadlib.UnableToReadWADFileException if the WAD file cannot be read 
+     * from or to the specified points.
+     * @since 1.1
+     */
+    private WadByteBuffer read(final int length, final int position) throws UnableToReadWADFileException {
+        if(wadfilemap == null) {
+            return new WadByteBuffer(wadfilechannel, length, position);
+        }
+        try {
+            return new WadByteBuffer(wadfilemap.slice(position, length));
+        } catch(final IndexOutOfBoundsException e) {
+            throw new UnableToReadWADFileException("Position out of file bounds.", e);
+        }
+    }
+    
+    /**
+     * Returns the first four bytes of the WAD file as a {@link java.lang.String 
+     * String}, such as <code>"PWAD"</code>.
+     * @return the identifier of the WAD file.
+     * @since 1.1
+     */
+    private String getIdentifierString() {
+        final byte[] id = new byte[4];
+        for(int i=0; i<4; i++) {
+            id[i] = (byte)(identifier >>> (i*8));
+        }
+        return new String(id, StandardCharsets.ISO_8859_1);
+    }
+
+    /**
+     * Points the {@link Lump Lump} at the specified index at the location its
+     * data has just been written to in the WAD file. A lump that belongs to this
+     * WAD file, or that no other {@link LumpDirectory LumpDirectory} holds, is
+     * rebased. A lump that is shared with another directory, such as one added
+     * from another {@link Wad Wad}, is left as it is for that directory, and this
+     * one gets a new lump that reads the data from this WAD file when needed.
+     * @param index the index of the {@link Lump Lump}.
+     * @param owned the {@link java.nio.channels.FileChannel FileChannel} that the
+     * lumps of this WAD file were read from before the data was written.
+     * @param pointer the starting location of the lump data in the WAD file.
+     * @throws java.io.IOException if the new {@link Lump Lump} cannot be created.
+     * @since 1.1
+     */
+    private void relocate(final int index, final FileChannel owned, final int pointer) throws IOException {
+        final Lump lump = lumps.get(index);
+        if(lump.isReadFrom(owned) || lump.isOwnedOnlyBy(lumps)) {
+            lump.rebase(wadfilechannel, pointer);
+            return;
+        }
+        final Lump copy;
+        try {
+            copy = new Lump(lump.getLumpName(), lump.getSize(), wadfilechannel, pointer, true);
+        } catch(final UnableToInitializeLumpException | UnableToReadWADFileException e) {
+            throw new IOException("Lump could not be created for the saved data.", e);
+        }
+        copy.setCache(cache);
+        copy.setDeduplicator(deduplicator);
+        lumps.set(index, copy);
+    }
+
     //Public Methods
     /**
      * Returns the {@link java.nio.channels.FileChannel FileChannel} of the WAD file.
      * @return the {@link java.nio.channels.FileChannel FileChannel} of the WAD file.
      * @since 1.0
      */
-    public FileChannel getWadFileChannel() {
+    public synchronized FileChannel getWadFileChannel() {
         return wadfilechannel;
     }
     
@@ -138,10 +375,19 @@ public class Wad {
      * that is represented by the {@link Wad Wad} object.
      * @since 1.0
      */
-    public RandomAccessFile getWad() {
+    public synchronized RandomAccessFile getWad() {
         return wadfile;
     }
     
+    /**
+     * Returns the location of the WAD file.
+     * @return a {@link java.io.File File} object that points to the WAD file.
+     * @since 1.1
+     */
+    public File getFile() {
+        return file;
+    }
+    
     /**
      * Returns the first four bytes of the WAD file.
      * @return the first four bytes of the WAD file.
@@ -151,6 +397,75 @@ public class Wad {
         return identifier;
     }
     
+    /**
+     * Returns how the data of the {@link Lump Lumps} in the WAD file is read.
+     * @return the {@link WadLoadMode WadLoadMode} the WAD file was opened with.
+     * @since 1.1
+     */
+    public WadLoadMode getLoadMode() {
+        return loadmode;
+    }
+    
+    /**
+     * Sets the {@link LumpCache LumpCache} that keeps the data of the {@link Lump 
+     * Lumps} in the WAD that have not been read yet, so that they read it into 
+     * the cache rather than keeping it themselves. This is only useful for a WAD 
+     * opened as {@link WadLoadMode#LAZY LAZY}. The same cache can be shared by 
+     * many {@link Wad Wads}. Anything in the previous cache from this WAD is 
+     * removed from it.
+     * @param cache the {@link LumpCache LumpCache}, or null to stop caching.
+     * @return true if the cache is successfully set.
+     * @since 1.1
+     */
+    public synchronized boolean setLumpCache(final LumpCache cache) {
+        if(this.cache != null) {
+            this.cache.invalidateAll(lumps);
+        }
+        this.cache = cache;
+        for(final Lump lump : lumps) {
+            lump.setCache(cache);
+        }
+        return true;
+    }
+    
+    /**
+     * Returns the {@link LumpCache LumpCache} that keeps the data of the {@link 
+     * Lump Lumps} in the WAD.
+     * @return the {@link LumpCache LumpCache}, or null if there is none.
+     * @since 1.1
+     */
+    public synchronized LumpCache getLumpCache() {
+        return cache;
+    }
+    
+    /**
+     * Sets the {@link LumpDeduplicator LumpDeduplicator} that lets the {@link Lump 
+     * Lumps} in the WAD share their data with identical lumps, in this and any 
+     * other {@link Wad Wad} with the same deduplicator. Lumps that have already 
+     * been read share their data straight away, and the others as they are read.
+     * @param deduplicator the {@link LumpDeduplicator LumpDeduplicator}, or null 
+     * to stop sharing data that is read from now on.
+     * @return true if the deduplicator is successfully set.
+     * @since 1.1
+     */
+    public synchronized boolean setLumpDeduplicator(final LumpDeduplicator deduplicator) {
+        this.deduplicator = deduplicator;
+        for(final Lump lump : lumps) {
+            lump.setDeduplicator(deduplicator);
+        }
+        return true;
+    }
+    
+    /**
+     * Returns the {@link LumpDeduplicator LumpDeduplicator} that lets the {@link 
+     * Lump Lumps} in the WAD share identical data.
+     * @return the {@link LumpDeduplicator LumpDeduplicator}, or null if there is none.
+     * @since 1.1
+     */
+    public synchronized LumpDeduplicator getLumpDeduplicator() {
+        return deduplicator;
+    }
+    
     /**
      * Returns the number of lumps in the WAD, as specified in the header.
      * @return the number of lumps in the WAD, as specified in the header.
@@ -161,16 +476,156 @@ public class Wad {
     }
     
     /**
-     * Returns an {@link java.util.LinkedList LinkedList} of every 
-     * {@link Lump Lump} in the WAD.
-     * @return an {@link java.util.LinkedList LinkedList} of every 
-     * {@link Lump Lump} in the WAD.
+     * Returns a {@link java.util.List List} of every {@link Lump Lump} in the WAD, 
+     * in directory order.
+     * @return a {@link java.util.List List} of every {@link Lump Lump} in the WAD.
      * @since 1.0
      */
     public List<Lump> getAllLumps() {
         return lumps;
     }
     
+    /**
+     * Returns a sequential {@link java.util.stream.Stream Stream} of every {@link 
+     * Lump Lump} in the WAD, in directory order, as it was when this method was 
+     * called. The stream is backed by an array and splits evenly, so calling 
+     * {@link java.util.stream.Stream#parallel() parallel()} on it spreads work such 
+     * as hashing, converting or validating every lump across all cores. Each 
+     * {@link Lump Lump} can be read from any thread; {@link Lump#getView() 
+     * getView()} gives a view of its data that many threads can read at once.
+     * <pre>
+     * wad.lumps().parallel().filter(lump -&gt; Picture.isPicture(lump.getView())).forEach(...);
+     * </pre>
+     * @return a {@link java.util.stream.Stream Stream} of every {@link Lump Lump} 
+     * in the WAD.
+     * @since 1.1
+     */
+    public Stream<Lump> lumps() {
+        return lumps.stream();
+    }
+    
+    /**
+     * Returns every {@link Lump Lump} in the specified namespace, in directory order.
+     * @param namespace the namespace.
+     * @return a {@link java.util.List List} of the {@link Lump Lumps} in the namespace.
+     * @since 1.1
+     */
+    @Override
+    public List<Lump> getLumps(final LumpNamespace namespace) {
+        return lumps.getLumps(namespace);
+    }
+    
+    /**
+     * Returns the last {@link Lump Lump} in the WAD with the specified name, which 
+     * is the one Doom would use.
+     * @param name the name of the {@link Lump Lump}.
+     * @return the last {@link Lump Lump} with the specified name, or null if there 
+     * is none.
+     * @since 1.1
+     */
+    @Override
+    public Lump findLump(final String name) {
+        return lumps.findLump(name);
+    }
+    
+    /**
+     * Returns the last {@link Lump Lump} in the WAD with the specified name in the 
+     * specified namespace, such as a sprite between <code>S_START</code> and 
+     * <code>S_END</code>.
+     * @param name the name of the {@link Lump Lump}.
+     * @param namespace the namespace to search, or null to search every namespace.
+     * @return the last {@link Lump Lump} with the specified name in the namespace, 
+     * or null if there is none.
+     * @since 1.1
+     */
+    @Override
+    public Lump findLump(final String name, final LumpNamespace namespace) {
+        return lumps.findLump(name, namespace);
+    }
+    
+    /**
+     * Returns the last {@link Lump Lump} in the WAD with the specified name, which 
+     * is the one Doom would use.
+     * @param name the name of the {@link Lump Lump} as a {@link LumpName LumpName}.
+     * @return the last {@link Lump Lump} with the specified name, or null if there 
+     * is none.
+     * @since 1.1
+     */
+    @Override
+    public Lump findLump(final LumpName name) {
+        return lumps.findLump(name);
+    }
+    
+    /**
+     * Returns the last {@link Lump Lump} in the WAD with the specified name in the 
+     * specified namespace.
+     * @param name the name of the {@link Lump Lump} as a {@link LumpName LumpName}.
+     * @param namespace the namespace to search, or null to search every namespace.
+     * @return the last {@link Lump Lump} with the specified name in the namespace, 
+     * or null if there is none.
+     * @since 1.1
+     */
+    @Override
+    public Lump findLump(final LumpName name, final LumpNamespace namespace) {
+        return lumps.findLump(name, namespace);
+    }
+    
+    /**
+     * Returns every {@link Lump Lump} in the WAD with the specified name, in 
+     * directory order.
+     * @param name the name of the {@link Lump Lumps}.
+     * @return a {@link java.util.List List} of the {@link Lump Lumps} with the 
+     * specified name, which is empty if there are none.
+     * @since 1.1
+     */
+    public List<Lump> findAllLumps(final String name) {
+        return lumps.findAllLumps(name);
+    }
+    
+    /**
+     * Returns every {@link Lump Lump} in the WAD with the specified name in the 
+     * specified namespace, in directory order.
+     * @param name the name of the {@link Lump Lumps}.
+     * @param namespace the namespace to search.
+     * @return a {@link java.util.List List} of the {@link Lump Lumps} with the 
+     * specified name in the namespace, which is empty if there are none.
+     * @since 1.1
+     */
+    public List<Lump> findAllLumps(final String name, final LumpNamespace namespace) {
+        return lumps.findAllLumps(name, namespace);
+    }
+    
+    /**
+     * Returns every map in the WAD, such as <code>E1M1</code> or <code>MAP01</code>, 
+     * in directory order.
+     * @return an unmodifiable {@link java.util.List List} of the {@link WadMap 
+     * WadMaps}.
+     * @since 1.1
+     */
+    public List<WadMap> getMaps() {
+        return lumps.getMaps();
+    }
+    
+    /**
+     * Returns the map in the WAD with the specified name.
+     * @param name the name of the map, such as <code>MAP01</code>.
+     * @return the {@link WadMap WadMap}, or null if there is none.
+     * @since 1.1
+     */
+    public WadMap getMap(final String name) {
+        return lumps.getMap(name);
+    }
+    
+    /**
+     * Returns the map in the WAD with the specified name.
+     * @param name the name of the map as a {@link LumpName LumpName}.
+     * @return the {@link WadMap WadMap}, or null if there is none.
+     * @since 1.1
+     */
+    public WadMap getMap(final LumpName name) {
+        return lumps.getMap(name);
+    }
+    
     /**
      * Adds a {@link Lump Lump} object to the {@link Wad Wad}.
      * @param lump the {@link Lump Lump} to the {@link Wad Wad}.
@@ -181,4 +636,283 @@ public class Wad {
         lumps.add(lump);
         return true;
     }
+    
+    /**
+     * Writes the {@link Wad Wad}, including any {@link Lump Lumps} that have been 
+     * added or changed, to a new WAD file with a {@link WadWriter WadWriter}. Lumps 
+     * that are still backed by a WAD file are copied file to file without being 
+     * read into the Java heap.
+     * @param target a {@link java.io.File File} object that points to the new WAD 
+     * file, which must not be the file this {@link Wad Wad} was read from.
+     * @return true if the WAD file is successfully written.
+     * @throws java.io.IOException if the WAD file cannot be written, or if it is 
+     * the file this {@link Wad Wad} was read from.
+     * @since 1.1
+     */
+    public boolean writeToFile(final File target) throws IOException {
+        if(target.exists() && Files.isSameFile(file.toPath(), target.toPath())) {
+            throw new IOException("A WAD file cannot be written over the file it is read from.");
+        }
+        try(final WadWriter writer = new WadWriter(target, getIdentifierString())) {
+            writer.addLumps(lumps);
+        }
+        return true;
+    }
+    
+    /**
+     * Saves the changes made to the {@link Wad Wad} to its WAD file without 
+     * rewriting the whole file. The data of {@link Lump Lumps} that have been 
+     * added or {@link Lump#alterRawLumpData(jwadlib.WadByteBuffer) altered} is 
+     * appended to the end of the file, followed by a new directory, and only 
+     * then is the header changed to point at the new directory. Lumps that are 
+     * unchanged stay where they are, so saving writes little more than the 
+     * changed data and the directory; renamed, removed and reordered lumps only 
+     * need the new directory. Until the header has been changed the file still 
+     * holds the previous WAD intact, so a save that is interrupted loses only 
+     * the changes that were being saved.
+     * <p>
+     * The old data and directories are left in the file as dead space, which 
+     * {@link #compact() compact()} reclaims. Lumps whose data was saved are 
+     * read from the WAD file from then on if they do not hold it in memory.
+     * @return true if the changes are successfully saved.
+     * @throws java.io.IOException if the WAD file cannot be written, or would 
+     * become larger than 2 GB.
+     * @since 1.1
+     */
+    public synchronized boolean save() throws IOException {
+        final int count = lumps.size();
+        final int[] pointers = new int[count];
+        final int[] sizes = new int[count];
+        final long[] names = new long[count];
+        final boolean[] appended = new boolean[count];
+        try(final FileChannel output = FileChannel.open(file.toPath(), StandardOpenOption.WRITE)) {
+            long position = output.size();
+            output.position(position);
+            for(int i=0; i<count; i++) {
+                final Lump lump = lumps.get(i);
+                sizes[i] = lump.getSize();
+                names[i] = lump.getLumpName().longValue();
+                if(lump.isBackedBy(wadfilechannel)) {
+                    pointers[i] = lump.getPointer();
+                    continue;
+                }
+                if(position+sizes[i] > Integer.MAX_VALUE) {
+                    throw new IOException("WAD file cannot be larger than 2 GB.");
+                }
+                pointers[i] = (int)position;
+                appended[i] = true;
+                if(sizes[i] > 0) {
+                    lump.transferTo(output);
+                    position += sizes[i];
+                }
+            }
+            if(position+(long)count*16 > Integer.MAX_VALUE) {
+                throw new IOException("WAD file cannot be larger than 2 GB.");
+            }
+            WadWriter.writeDirectory(output, pointers, sizes, names, count);
+            output.force(false);
+            
+            //The directory is complete on disk before the header points at it.
+            final ByteBuffer header = ByteBuffer.allocate(8).order(ByteOrder.LITTLE_ENDIAN);
+            header.putInt(count).putInt((int)position).flip();
+            while(header.hasRemaining()) {
+                output.write(header, 4+header.position());
+            }
+            output.force(false);
+        }
+        fingerprint = null;
+        for(int i=0; i<count; i++) {
+            if(appended[i]) {
+                relocate(i, wadfilechannel, pointers[i]);
+            }
+        }
+        return true;
+    }
+    
+    /**
+     * Computes the {@link WadFingerprint WadFingerprint} of the whole WAD file and 
+     * the {@link Lump#getContentHash() content hash} of every {@link Lump Lump} 
+     * that is still stored in it, in a single sequential pass over the file. The 
+     * file is read once from start to end in large chunks, and each chunk is fed 
+     * to the hash of the file, to the digest if one is asked for, and to the hash 
+     * of every lump whose data it holds, so no lump data is read twice or kept in 
+     * memory. Afterwards {@link Lump#getContentHash() getContentHash()} returns 
+     * the hashes without reading anything.
+     * @param algorithm the name of a {@link java.security.MessageDigest 
+     * MessageDigest} algorithm to compute as well, such as <code>"SHA-1"</code> 
+     * or <code>"MD5"</code>, or null to compute only the {@link XXHash64 XXHash64}.
+     * @return the {@link WadFingerprint WadFingerprint} of the WAD file.
+     * @throws java.io.IOException if the WAD file cannot be read.
+     * @throws java.security.NoSuchAlgorithmException if the digest algorithm is 
+     * not available.
+     * @since 1.1
+     */
+    public synchronized WadFingerprint computeFingerprint(final String algorithm) throws IOException, NoSuchAlgorithmException {
+        final MessageDigest digest = algorithm == null ? null : MessageDigest.getInstance(algorithm);
+        final XXHash64 filehash = new XXHash64();
+        
+        //Sorts the lumps stored in the file by pointer, keeping their position in the low bits.
+        final int count = lumps.size();
+        final Lump[] stored = new Lump[count];
+        final int[] pointers = new int[count];
+        final int[] sizes = new int[count];
+        final long[] order = new long[count];
+        int storedcount = 0;
+        for(int i=0; i<count; i++) {
+            final Lump lump = lumps.get(i);
+            final int pointer = lump.getPointer();
+            final int size = lump.getSize();
+            if(lump.isStoredIn(wadfilechannel)) {
+                if(size == 0) {
+                    lump.setContentHash(wadfilechannel, pointer, new XXHash64().getValue());
+                    continue;
+                }
+                stored[storedcount] = lump;
+                pointers[storedcount] = pointer;
+                sizes[storedcount] = size;
+                order[storedcount] = ((long)pointer << 32) | storedcount;
+                storedcount++;
+            }
+        }
+        Arrays.sort(order, 0, storedcount);
+        
+        final XXHash64[] hashes = new XXHash64[storedcount];
+        final int[] active = new int[storedcount];
+        int activecount = 0;
+        int next = 0;
+        final ByteBuffer chunk = ByteBuffer.allocate(FINGERPRINT_CHUNK_BYTES);
+        long position = 0;
+        while(true) {
+            chunk.clear();
+            while(chunk.hasRemaining()) {
+                if(wadfilechannel.read(chunk, position+chunk.position()) < 0) {
+                    break;
+                }
+            }
+            if(chunk.position() == 0) {
+                break;
+            }
+            chunk.flip();
+            filehash.update(chunk.duplicate());
+            if(digest != null) {
+                digest.update(chunk.duplicate());
+            }
+            final long end = position+chunk.limit();
+            while(next < storedcount && pointers[(int)order[next]] < end) {
+                final int lump = (int)order[next++];
+                hashes[lump] = new XXHash64();
+                active[activecount++] = lump;
+            }
+            for(int a=0; a<activecount;) {
+                final int lump = active[a];
+                final long lumpend = (long)pointers[lump]+sizes[lump];
+                final long from = Math.max(pointers[lump], position);
+                final long to = Math.min(lumpend, end);
+                if(to > from) {
+                    hashes[lump].update(chunk.slice((int)(from-position), (int)(to-from)));
+                }
+                if(lumpend <= end) {
+                    stored[lump].setContentHash(wadfilechannel, pointers[lump], hashes[lump].getValue());
+                    active[a] = active[--activecount];
+                }
+                else {
+                    a++;
+                }
+            }
+            position = end;
+        }
+        fingerprint = new WadFingerprint(position, filehash.getValue(), digest == null ? null : digest.getAlgorithm(), digest == null ? null : digest.digest());
+        return fingerprint;
+    }
+    
+    /**
+     * Returns the {@link WadFingerprint WadFingerprint} last computed by {@link 
+     * #computeFingerprint(java.lang.String) computeFingerprint()}.
+     * @return the {@link WadFingerprint WadFingerprint}, or null if none has been 
+     * computed since the WAD file was opened, saved or compacted.
+     * @since 1.1
+     */
+    public synchronized WadFingerprint getFingerprint() {
+        return fingerprint;
+    }
+    
+    /**
+     * Rewrites the WAD file without the dead space left behind by {@link #save() 
+     * save()}. The {@link Wad Wad} is written to a temporary file next to the WAD 
+     * file with a {@link WadWriter WadWriter}, which then replaces the WAD file 
+     * in a single atomic move, so the WAD file is never left half written. The 
+     * new WAD file is then opened in place of the old one, and every {@link Lump 
+     * Lump} is read from it from then on if it does not hold its data in memory.
+     * @return true if the WAD file is successfully compacted.
+     * @throws java.io.IOException if the WAD file cannot be written or replaced, 
+     * in which case it is left as it was.
+     * @since 1.1
+     */
+    public synchronized boolean compact() throws IOException {
+        final Path path = file.toPath().toAbsolutePath();
+        final Path temp = Files.createTempFile(path.getParent(), path.getFileName().toString(), ".tmp");
+        final int count = lumps.size();
+        final int[] pointers = new int[count];
+        try {
+            try(final WadWriter writer = new WadWriter(temp.toFile(), getIdentifierString())) {
+                for(int i=0; i<count; i++) {
+                    writer.addLump(lumps.get(i));
+                    pointers[i] = writer.getPointer(i);
+                }
+            }
+            Files.move(temp, path, StandardCopyOption.REPLACE_EXISTING, StandardCopyOption.ATOMIC_MOVE);
+        } catch(final IOException | RuntimeException e) {
+            Files.deleteIfExists(temp);
+            throw e;
+        }
+        
+        //Lumps that have not been read yet can still read the old file until they are rebased.
+        final RandomAccessFile oldwadfile = wadfile;
+        wadfile = new RandomAccessFile(file, "r");
+        wadfilechannel = wadfile.getChannel();
+        if(wadfilemap != null) {
+            wadfilemap = wadfilechannel.map(FileChannel.MapMode.READ_ONLY, 0, wadfilechannel.size());
+        }
+        for(int i=0; i<count; i++) {
+            relocate(i, oldwadfile.getChannel(), pointers[i]);
+        }
+        oldwadfile.close();
+        fingerprint = null;
+        return true;
+    }
+    
+    /**
+     * Closes the WAD file. Lumps that have not been read yet by a {@link 
+     * WadLoadMode#LAZY LAZY} {@link Wad Wad} can no longer be read afterwards.
+     * <p>
+     * If the WAD file was {@link WadLoadMode#MAPPED mapped}, the {@link Wad Wad} 
+     * lets go of its mapping. Java does not allow a mapping to be unmapped 
+     * explicitly, so the memory is released once no {@link Lump Lump} data 
+     * that views it is referenced any longer; lump data that is still 
+     * referenced remains readable until then.
+     * <p>
+     * If the WAD file was opened as {@link WadLoadMode#DIRECT DIRECT}, every 
+     * {@link Lump Lump} lets go of the data it read into direct memory, unless 
+     * it has been given other data since, and can no longer be read afterwards. 
+     * The direct memory is released once nothing else refers to it.
+     * <p>
+     * Anything from this WAD in its {@link LumpCache LumpCache} is removed from it.
+     * @throws java.io.IOException if the WAD file cannot be closed.
+     * @since 1.1
+     */
+    @Override
+    public synchronized void close() throws IOException {
+        final LumpCache lumpcache = getLumpCache();
+        if(lumpcache != null) {
+            lumpcache.invalidateAll(lumps);
+        }
+        wadfilemap = null;
+        if(arena != null) {
+            for(final Lump lump : lumps) {
+                lump.release();
+            }
+            arena.close();
+        }
+        wadfile.close();
+    }
 }
\ No newline at end of file
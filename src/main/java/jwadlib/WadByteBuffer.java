@@ -121,7 +121,12 @@ public class WadByteBuffer {
         bytebuffer = ByteBuffer.allocate(bufferlength);
         bytebuffer.order(ByteOrder.LITTLE_ENDIAN);
         try {
-            bufferchannel.read(bytebuffer, position);
+            //Keeps reading until the buffer is full or the end of the file is reached.
+            while(bytebuffer.hasRemaining()) {
+                if(bufferchannel.read(bytebuffer, position+bytebuffer.position()) < 0) {
+                    break;
+                }
+            }
         }
         catch(final IOException e) {
             throw new UnableToReadWADFileException("WAD file cannot be read.", e);
@@ -154,25 +159,59 @@ public class WadByteBuffer {
         bytebuffer.position(0);
     }
     
+    /**
+     * Creates a {@link WadByteBuffer WadByteBuffer} that is backed by an existing 
+     * {@link java.nio.ByteBuffer ByteBuffer}, from its position to its limit. The 
+     * bytes are not copied, so the {@link WadByteBuffer WadByteBuffer} is a view 
+     * of the same memory.
+     * @param bytebuffer the {@link java.nio.ByteBuffer ByteBuffer} to create the 
+     * {@link WadByteBuffer WadByteBuffer} from.
+     * @since 1.1
+     */
+    public WadByteBuffer(final ByteBuffer bytebuffer) {
+        this.bytebuffer = bytebuffer.slice();
+        this.bytebuffer.order(ByteOrder.LITTLE_ENDIAN);
+        length = this.bytebuffer.capacity();
+        this.bytebuffer.position(0);
+    }
+    
     //Private Methods
     /**
      * Returns an array of bytes containing the contents of the {@link #bytebuffer 
-     * ByteBuffer}.
+     * ByteBuffer}. If the {@link #bytebuffer ByteBuffer} is not backed by an 
+     * accessible array of its own, such as when it is a view of a memory-mapped 
+     * file, the contents are copied into a new array.
      * @return an array of bytes containing the contents of the {@link #bytebuffer 
      * ByteBuffer}.
      * @since 1.0
      */
     private byte[] getArray() {
         final byte[] temp;
-        if(bytebuffer.hasArray()) {
+        if(bytebuffer.hasArray() && bytebuffer.arrayOffset() == 0 && bytebuffer.array().length == bytebuffer.capacity()) {
             temp = bytebuffer.array();
         }
         else {
-            temp = null;
+            temp = new byte[bytebuffer.capacity()];
+            bytebuffer.get(0, temp);
         }
         return temp;
     }
     
+    //Package Methods
+    /**
+     * Returns a new {@link java.nio.ByteBuffer ByteBuffer} that shares the 
+     * contents of the {@link #bytebuffer ByteBuffer}, from the start to the 
+     * capacity, without changing this {@link WadByteBuffer WadByteBuffer's} 
+     * position.
+     * @return a {@link java.nio.ByteBuffer ByteBuffer} view of the whole buffer.
+     * @since 1.1
+     */
+    ByteBuffer duplicateByteBuffer() {
+        final ByteBuffer temp = bytebuffer.duplicate();
+        temp.clear();
+        return temp.order(ByteOrder.LITTLE_ENDIAN);
+    }
+    
     //Public Methods
     /**
      * A wrapper class for {@link java.nio.ByteBuffer ByteBuffer's} {@link 
@@ -292,6 +331,58 @@ public class WadByteBuffer {
         return temp;
     }
     
+    /**
+     * A wrapper class for {@link java.nio.ByteBuffer ByteBuffer's} {@link 
+     * java.nio.ByteBuffer#getLong() getLong()} method; gets the next long in the {@link 
+     * WadByteBuffer WadByteBuffer}.
+     * @return the next long in the {@link WadByteBuffer WadByteBuffer}.
+     * @since 1.1
+     */
+    public long getLong() {
+        return bytebuffer.getLong();
+    }
+    
+    /**
+     * A wrapper class for {@link java.nio.ByteBuffer ByteBuffer's} {@link 
+     * java.nio.ByteBuffer#getLong(int) getLong(int)} method; gets the next long in the {@link 
+     * WadByteBuffer WadByteBuffer}, starting at the specified position.
+     * Unlike the method it wraps, this method increments the position counter.
+     * @param index the starting position of the of the {@link WadByteBuffer 
+     * WadByteBuffer}.
+     * @return the next long in the {@link WadByteBuffer WadByteBuffer}, from 
+     * the specified position.
+     * @since 1.1
+     */
+    public long getLong(final int index) {
+        final long temp = bytebuffer.getLong(index);
+        setPosition(index+8);
+        return temp;
+    }
+    
+    /**
+     * Gets the next eight bytes in the {@link WadByteBuffer WadByteBuffer} as a 
+     * {@link LumpName LumpName}, starting at the specified position. No {@link 
+     * java.lang.String String} is created.
+     * @param index the starting position of the of the {@link WadByteBuffer 
+     * WadByteBuffer}.
+     * @return the next eight byte {@link LumpName LumpName}, from the specified 
+     * position.
+     * @since 1.1
+     */
+    public LumpName getLumpName(final int index) {
+        return LumpName.of(getLong(index));
+    }
+    
+    /**
+     * Gets the next eight bytes in the {@link WadByteBuffer WadByteBuffer} as a 
+     * {@link LumpName LumpName}. No {@link java.lang.String String} is created.
+     * @return the next eight byte {@link LumpName LumpName}.
+     * @since 1.1
+     */
+    public LumpName getLumpName() {
+        return LumpName.of(getLong());
+    }
+    
     /**
      * Gets the next eight bytes in the {@link WadByteBuffer WadByteBuffer} as a 
      * {@link java.lang.String String}, starting at the specified position. Each 
@@ -493,6 +584,24 @@ public class WadByteBuffer {
         return putEightByteString(value.toCharArray());
     }
     
+    /**
+     * Puts eight bytes in the {@link WadByteBuffer WadByteBuffer} as a {@link 
+     * LumpName LumpName}.
+     * @param value the {@link LumpName LumpName} to insert into the {@link 
+     * WadByteBuffer WadByteBuffer}.
+     * @return the current {@link WadByteBuffer WadByteBuffer}.
+     * @throws java.nio.BufferOverflowException if there are fewer than eight bytes 
+     * remaining in the {@link #bytebuffer ByteBuffer}.
+     * @throws java.nio.ReadOnlyBufferException if the {@link #bytebuffer ByteBuffer} cannot 
+     * be written to.
+     * @since 1.1
+     */
+    public WadByteBuffer putLumpName(final LumpName value) throws BufferOverflowException, ReadOnlyBufferException {
+        bytebuffer.putLong(value.longValue());
+        length += 8;
+        return this;
+    }
+    
     /**
      * Puts eight bytes in the {@link WadByteBuffer WadByteBuffer} as an array 
      * of characters, at the specified position. Each byte is a new character.
@@ -531,6 +640,19 @@ public class WadByteBuffer {
         return this;
     }
     
+    /**
+     * A wrapper class for {@link java.nio.ByteBuffer ByteBuffer's} {@link 
+     * java.nio.ByteBuffer#isReadOnly() isReadOnly()} method; returns true 
+     * if the {@link WadByteBuffer WadByteBuffer} cannot be written to, such as 
+     * when it is a view of a memory-mapped WAD file.
+     * @return true if the {@link WadByteBuffer WadByteBuffer} cannot be written 
+     * to, otherwise false.
+     * @since 1.1
+     */
+    public boolean isReadOnly() {
+        return bytebuffer.isReadOnly();
+    }
+    
     /**
      * A wrapper class for {@link java.nio.ByteBuffer ByteBuffer's} {@link 
      * java.nio.ByteBuffer#hasRemaining() hasRemaining()} method; returns true 
@@ -646,32 +768,16 @@ public class WadByteBuffer {
      * java.lang.String String} by padding {@link java.lang.String Strings} less 
      * than eight characters and truncating {@link java.lang.String Strings} greater 
      * than eight characters. All the letters are converted to uppercase and all 
-     * illegal characters are trimmed out. The legal characters are capital A through
-     * Z and 0 through 9 along with "[", "]", "-", "_", "\" and the null character.
+     * illegal characters are replaced with "-". The legal characters are capital A through
+     * Z and 0 through 9 along with "[", "]", "-", "_", "\" and the null character. 
+     * Everything after the first null character is replaced with null characters.
      * @param string the {@link java.lang.String String} to convert to an eight 
      * byte {@link java.lang.String String}.
      * @return the new eight byte {@link java.lang.String String}.
+     * @see LumpName#of(java.lang.String)
      * @since 1.0
      */
-    public static String convertToEightByteString(String string) {
-        if(string.length() > 8) {
-            string = string.substring(0, 8);
-        }
-        else if(string.length() < 8) {
-            final char[] temp = string.toCharArray();
-            final char[] newtemp = new char[8];
-            for(int i=0; i<8; i++) {
-                if(i<temp.length) {
-                    newtemp[i] = temp[i];
-                }
-                else {
-                    newtemp[i] = (char)0;
-                }
-            }
-            string = String.valueOf(newtemp);
-        }
-        string = string.toUpperCase();
-        string = string.replaceAll("[^A-Z0-9\\[\\]\\-_\\\\\\x00]", "-");
-        return string;
+    public static String convertToEightByteString(final String string) {
+        return LumpName.of(string).toString();
     }
 }
\ No newline at end of file
@@ -0,0 +1,507 @@
+/*
+ * WadDirectory.java
+ * This file is part of jwadlib.
+ *
+ * jwadlib WAD Library - A Java(TM) library for manipulating WAD files.
+ * Copyright (C) 2025 @picttarge
+ *
+ * jwadlib is free software; you can redistribute it and/or
+ * modify it under the terms of the GNU Lesser General Public
+ * License as published by the Free Software Foundation; either
+ * version 2.1 of the License, or (at your option) any later version.
+ *
+ * jwadlib is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the GNU
+ * Lesser General Public License for more details.
+ *
+ * You should have received a copy of the GNU Lesser General Public
+ * License along with this library; if not, write to the Free Software
+ * Foundation, Inc., 51 Franklin Street, Fifth Floor, Boston, MA  02110-1301  USA
+ */
+package jwadlib;
+
+import java.io.Closeable;
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.nio.ByteBuffer;
+import java.nio.ByteOrder;
+import java.nio.channels.FileChannel;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.util.Spliterator;
+import java.util.Spliterators;
+import java.util.function.Consumer;
+import java.util.stream.Stream;
+import java.util.stream.StreamSupport;
+
+/**
+ * Reads the directory of a WAD file one entry at a time, without reading any
+ * lump data and without creating a {@link Lump Lump}, or any other object, per
+ * entry. The directory is read in chunks of a few thousand entries into a single
+ * buffer, so even a directory of millions of entries needs only a small, fixed
+ * amount of memory. This suits tools that look at the names and sizes of the
+ * lumps in very many WAD files, such as indexers.
+ * <pre>
+ * try(final WadDirectory directory = WadDirectory.open(path)) {
+ *     while(directory.next()) {
+ *         index(directory.getNameValue(), directory.getSize());
+ *     }
+ * }
+ * </pre>
+ * <p>
+ * WAD files that have been cut short are read as far as they go: entries of a
+ * directory that runs past the end of the file are left out and {@link
+ * #isTruncated() isTruncated()} returns true, and {@link #isInFile() isInFile()}
+ * tells whether the data of an entry lies inside the file.
+ * @author @picttarge
+ * @version 1.1
+ * @since 1.1
+ */
+public final class WadDirectory implements Closeable {
+    //Private Static Variables
+    /**
+     * The number of directory entries read at a time.
+     * @since 1.1
+     */
+    private static final int CHUNK_ENTRIES = 4096;
+
+    //Private Variables
+    /**
+     * The {@link java.nio.channels.FileChannel FileChannel} of the WAD file.
+     * @since 1.1
+     */
+    private final FileChannel filechannel;
+
+    /**
+     * The size of the WAD file, in bytes, when it was opened.
+     * @since 1.1
+     */
+    private final long filesize;
+
+    /**
+     * The first four bytes of the WAD file.
+     * @since 1.1
+     */
+    private final int identifier;
+
+    /**
+     * The number of lumps declared in the header.
+     * @since 1.1
+     */
+    private final int declared;
+
+    /**
+     * The starting location of the directory in the WAD file.
+     * @since 1.1
+     */
+    private final long directory;
+
+    /**
+     * The number of entries of the directory that are in the file.
+     * @since 1.1
+     */
+    private int count;
+
+    /**
+     * The chunk of directory entries being read.
+     * @since 1.1
+     */
+    private final ByteBuffer chunk = ByteBuffer.allocate(CHUNK_ENTRIES*16).order(ByteOrder.LITTLE_ENDIAN);
+
+    /**
+     * The position of the current entry in the directory, or -1 before the first.
+     * @since 1.1
+     */
+    private int index = -1;
+
+    /**
+     * The starting location of the lump data of the current entry.
+     * @since 1.1
+     */
+    private int pointer;
+
+    /**
+     * The size of the lump data of the current entry.
+     * @since 1.1
+     */
+    private int size;
+
+    /**
+     * The normalised name of the current entry.
+     * @since 1.1
+     */
+    private long name;
+
+    //Constructors
+    /**
+     * Creates a {@link WadDirectory WadDirectory} positioned before the first
+     * entry, reading the header of the WAD file.
+     * @param filechannel the {@link java.nio.channels.FileChannel FileChannel}
+     * of the WAD file, which is closed with the {@link WadDirectory WadDirectory}.
+     * @throws java.io.IOException if the WAD file cannot be read.
+     * @throws jwadlib.UnableToReadWADFileException if the file is too short to
+     * be a WAD file or its header is invalid.
+     * @since 1.1
+     */
+    private WadDirectory(final FileChannel filechannel) throws IOException, UnableToReadWADFileException {
+        this.filechannel = filechannel;
+        filesize = filechannel.size();
+        final ByteBuffer header = ByteBuffer.allocate(12).order(ByteOrder.LITTLE_ENDIAN);
+        if(readFully(header, 0) < 12) {
+            throw new UnableToReadWADFileException("WAD file is too short to have a header.");
+        }
+        identifier = header.getInt(0);
+        declared = header.getInt(4);
+        directory = header.getInt(8) & 0xFFFFFFFFL;
+        if(declared < 0) {
+            throw new UnableToReadWADFileException("WAD file header has a negative number of lumps.");
+        }
+        count = (int)Math.min(declared, Math.max(0, (filesize-directory)/16));
+        chunk.limit(0);
+    }
+
+    //Private Methods
+    /**
+     * Reads bytes from the specified position of the WAD file until the buffer
+     * is full or the end of the file is reached.
+     * @param buffer the buffer to read into.
+     * @param position the position in the file to start reading from.
+     * @return the number of bytes read.
+     * @throws java.io.IOException if the file cannot be read.
+     * @since 1.1
+     */
+    private int readFully(final ByteBuffer buffer, final long position) throws IOException {
+        final int start = buffer.position();
+        while(buffer.hasRemaining()) {
+            if(filechannel.read(buffer, position+buffer.position()-start) < 0) {
+                break;
+            }
+        }
+        return buffer.position()-start;
+    }
+
+    //Public Methods
+    /**
+     * Moves to the next entry of the directory.
+     * @return true if there is a next entry, or false if the end of the
+     * directory, or of the file, has been reached.
+     * @throws java.io.IOException if the WAD file cannot be read.
+     * @since 1.1
+     */
+    public boolean next() throws IOException {
+        if(index+1 >= count) {
+            index = count;
+            return false;
+        }
+        if(!chunk.hasRemaining()) {
+            final int wanted = Math.min(CHUNK_ENTRIES, count-index-1)*16;
+            chunk.clear().limit(wanted);
+            final int read = readFully(chunk, directory+(index+1)*16L);
+            chunk.flip();
+            if(read < wanted) {
+                //The file has become shorter since it was opened.
+                chunk.limit(read-read%16);
+                count = index+1+read/16;
+                if(!chunk.hasRemaining()) {
+                    index = count;
+                    return false;
+                }
+            }
+        }
+        index++;
+        pointer = chunk.getInt();
+        size = chunk.getInt();
+        name = LumpName.normalise(chunk.getLong());
+        return true;
+    }
+
+    /**
+     * Returns the position of the current entry in the directory, starting at 0.
+     * @return the position of the current entry.
+     * @since 1.1
+     */
+    public int getIndex() {
+        return index;
+    }
+
+    /**
+     * Returns the starting location of the lump data of the current entry.
+     * @return the starting location of the lump data in the WAD file.
+     * @since 1.1
+     */
+    public int getPointer() {
+        return pointer;
+    }
+
+    /**
+     * Returns the size, in bytes, of the lump data of the current entry.
+     * @return the size of the lump data.
+     * @since 1.1
+     */
+    public int getSize() {
+        return size;
+    }
+
+    /**
+     * Returns the normalised name of the current entry packed into a <code>long</code>,
+     * as returned by {@link LumpName#longValue() LumpName.longValue()}, without
+     * creating any object.
+     * @return the eight bytes of the name.
+     * @since 1.1
+     */
+    public long getNameValue() {
+        return name;
+    }
+
+    /**
+     * Returns the name of the current entry as a {@link LumpName LumpName}.
+     * @return the name of the current entry.
+     * @since 1.1
+     */
+    public LumpName getLumpName() {
+        return LumpName.of(name);
+    }
+
+    /**
+     * Returns true if the lump data of the current entry lies wholly inside the
+     * WAD file, which is not the case for some entries of a truncated file.
+     * @return true if the lump data is in the file, otherwise false.
+     * @since 1.1
+     */
+    public boolean isInFile() {
+        return pointer >= 0 && size >= 0 && (long)pointer+size <= filesize;
+    }
+
+    /**
+     * Returns the first four bytes of the WAD file, such as <code>"IWAD"</code>
+     * or <code>"PWAD"</code> read as a little-endian <code>int</code>.
+     * @return the identifier of the WAD file.
+     * @since 1.1
+     */
+    public int getIdentifier() {
+        return identifier;
+    }
+
+    /**
+     * Returns the number of lumps declared in the header of the WAD file.
+     * @return the number of lumps declared.
+     * @since 1.1
+     */
+    public int getDeclaredNumberOfLumps() {
+        return declared;
+    }
+
+    /**
+     * Returns the number of directory entries that are in the file, which is
+     * fewer than the number declared if the file has been cut short.
+     * @return the number of directory entries that can be read.
+     * @since 1.1
+     */
+    public int getNumberOfLumps() {
+        return count;
+    }
+
+    /**
+     * Returns true if the directory runs past the end of the WAD file, so that
+     * some of the entries declared in the header are missing.
+     * @return true if the directory is incomplete, otherwise false.
+     * @since 1.1
+     */
+    public boolean isTruncated() {
+        return count < declared;
+    }
+
+    /**
+     * Closes the WAD file.
+     * @throws java.io.IOException if the WAD file cannot be closed.
+     * @since 1.1
+     */
+    @Override
+    public void close() throws IOException {
+        filechannel.close();
+    }
+
+    //Public Static Methods
+    /**
+     * Opens the WAD file at the specified path and returns a {@link WadDirectory
+     * WadDirectory} positioned before its first entry.
+     * @param path the path of the WAD file.
+     * @return a {@link WadDirectory WadDirectory} of the WAD file, which must be
+     * {@link #close() closed}.
+     * @throws java.io.IOException if the WAD file cannot be opened or read.
+     * @throws jwadlib.UnableToReadWADFileException if the file is too short to
+     * be a WAD file or its header is invalid.
+     * @since 1.1
+     */
+    public static WadDirectory open(final Path path) throws IOException, UnableToReadWADFileException {
+        final FileChannel filechannel = FileChannel.open(path, StandardOpenOption.READ);
+        try {
+            return new WadDirectory(filechannel);
+        } catch(final IOException | UnableToReadWADFileException | RuntimeException e) {
+            filechannel.close();
+            throw e;
+        }
+    }
+
+    /**
+     * Returns a {@link java.util.stream.Stream Stream} of the entries of the
+     * directory of the WAD file at the specified path, read lazily as the stream
+     * is consumed. Each {@link Entry Entry} is a small object holding only
+     * primitives; {@link #open(java.nio.file.Path) open()} reads the entries
+     * without creating any object at all. The stream must be closed, for example
+     * with try-with-resources, to close the WAD file.
+     * @param path the path of the WAD file.
+     * @return a sequential {@link java.util.stream.Stream Stream} of the entries.
+     * @throws java.io.IOException if the WAD file cannot be opened or read.
+     * @throws jwadlib.UnableToReadWADFileException if the file is too short to
+     * be a WAD file or its header is invalid.
+     * @since 1.1
+     */
+    public static Stream<Entry> stream(final Path path) throws IOException, UnableToReadWADFileException {
+        final WadDirectory directory = open(path);
+        final Spliterator<Entry> entries = new Spliterators.AbstractSpliterator<Entry>(directory.count, Spliterator.ORDERED | Spliterator.NONNULL | Spliterator.IMMUTABLE) {
+            @Override
+            public boolean tryAdvance(final Consumer<? super Entry> action) {
+                try {
+                    if(!directory.next()) {
+                        return false;
+                    }
+                } catch(final IOException e) {
+                    throw new UncheckedIOException(e);
+                }
+                action.accept(new Entry(directory.index, directory.pointer, directory.size, directory.name, directory.isInFile()));
+                return true;
+            }
+        };
+        return StreamSupport.stream(entries, false).onClose(() -> {
+            try {
+                directory.close();
+            } catch(final IOException e) {
+                throw new UncheckedIOException(e);
+            }
+        });
+    }
+
+    /**
+     * One entry of the directory of a WAD file, as streamed by {@link
+     * WadDirectory#stream(java.nio.file.Path) stream()}.
+     * @since 1.1
+     */
+    public static final class Entry {
+        //Private Variables
+        /**
+         * The position of the entry in the directory.
+         * @since 1.1
+         */
+        private final int index;
+
+        /**
+         * The starting location of the lump data.
+         * @since 1.1
+         */
+        private final int pointer;
+
+        /**
+         * The size of the lump data.
+         * @since 1.1
+         */
+        private final int size;
+
+        /**
+         * The normalised name.
+         * @since 1.1
+         */
+        private final long name;
+
+        /**
+         * Whether the lump data lies wholly inside the WAD file.
+         * @since 1.1
+         */
+        private final boolean infile;
+
+        //Constructors
+        /**
+         * Creates an {@link Entry Entry}.
+         * @param index the position of the entry in the directory.
+         * @param pointer the starting location of the lump data.
+         * @param size the size of the lump data.
+         * @param name the normalised name.
+         * @param infile whether the lump data lies wholly inside the WAD file.
+         * @since 1.1
+         */
+        private Entry(final int index, final int pointer, final int size, final long name, final boolean infile) {
+            this.index = index;
+            this.pointer = pointer;
+            this.size = size;
+            this.name = name;
+            this.infile = infile;
+        }
+
+        //Public Methods
+        /**
+         * Returns the position of the entry in the directory, starting at 0.
+         * @return the position of the entry.
+         * @since 1.1
+         */
+        public int getIndex() {
+            return index;
+        }
+
+        /**
+         * Returns the starting location of the lump data.
+         * @return the starting location of the lump data in the WAD file.
+         * @since 1.1
+         */
+        public int getPointer() {
+            return pointer;
+        }
+
+        /**
+         * Returns the size, in bytes, of the lump data.
+         * @return the size of the lump data.
+         * @since 1.1
+         */
+        public int getSize() {
+            return size;
+        }
+
+        /**
+         * Returns the normalised name packed into a <code>long</code>, as returned
+         * by {@link LumpName#longValue() LumpName.longValue()}.
+         * @return the eight bytes of the name.
+         * @since 1.1
+         */
+        public long getNameValue() {
+            return name;
+        }
+
+        /**
+         * Returns the name as a {@link LumpName LumpName}.
+         * @return the name.
+         * @since 1.1
+         */
+        public LumpName getLumpName() {
+            return LumpName.of(name);
+        }
+
+        /**
+         * Returns true if the lump data lies wholly inside the WAD file.
+         * @return true if the lump data is in the file, otherwise false.
+         * @since 1.1
+         */
+        public boolean isInFile() {
+            return infile;
+        }
+
+        /**
+         * Returns the name, pointer and size of the entry.
+         * @return a description of the entry.
+         * @since 1.1
+         */
+        @Override
+        public String toString() {
+            return getLumpName().toString().trim()+"@"+pointer+"+"+size;
+        }
+    }
+}
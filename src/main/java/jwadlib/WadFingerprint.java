@@ -0,0 +1,134 @@
+/*
+ * WadFingerprint.java
+ * This file is part of jwadlib.
+ *
+ * jwadlib WAD Library - A Java(TM) library for manipulating WAD files.
+ * Copyright (C) 2025 @picttarge
+ *
+ * jwadlib is free software; you can redistribute it and/or
+ * modify it under the terms of the GNU Lesser General Public
+ * License as published by the Free Software Foundation; either
+ * version 2.1 of the License, or (at your option) any later version.
+ *
+ * jwadlib is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the GNU
+ * Lesser General Public License for more details.
+ *
+ * You should have received a copy of the GNU Lesser General Public
+ * License along with this library; if not, write to the Free Software
+ * Foundation, Inc., 51 Franklin Street, Fifth Floor, Boston, MA  02110-1301  USA
+ */
+package jwadlib;
+
+import java.util.HexFormat;
+
+/**
+ * The fingerprint of a whole WAD file, as computed by {@link
+ * Wad#computeFingerprint(java.lang.String) Wad.computeFingerprint()}: its size,
+ * its 64 bit {@link XXHash64 XXHash64}, and optionally a digest such as the
+ * SHA-1 or MD5 that lists of known IWADs are usually keyed by.
+ * @author @picttarge
+ * @version 1.1
+ * @since 1.1
+ */
+public final class WadFingerprint {
+    //Private Variables
+    /**
+     * The size of the WAD file, in bytes.
+     * @since 1.1
+     */
+    private final long size;
+
+    /**
+     * The {@link XXHash64 XXHash64} of the WAD file.
+     * @since 1.1
+     */
+    private final long hash;
+
+    /**
+     * The name of the digest algorithm, or null if no digest was computed.
+     * @since 1.1
+     */
+    private final String algorithm;
+
+    /**
+     * The digest of the WAD file, or null if none was computed.
+     * @since 1.1
+     */
+    private final byte[] digest;
+
+    //Constructors
+    /**
+     * Creates a {@link WadFingerprint WadFingerprint}.
+     * @param size the size of the WAD file, in bytes.
+     * @param hash the {@link XXHash64 XXHash64} of the WAD file.
+     * @param algorithm the name of the digest algorithm, or null.
+     * @param digest the digest of the WAD file, or null.
+     * @since 1.1
+     */
+    WadFingerprint(final long size, final long hash, final String algorithm, final byte[] digest) {
+        this.size = size;
+        this.hash = hash;
+        this.algorithm = algorithm;
+        this.digest = digest;
+    }
+
+    //Public Methods
+    /**
+     * Returns the size of the WAD file, in bytes.
+     * @return the size of the WAD file.
+     * @since 1.1
+     */
+    public long getSize() {
+        return size;
+    }
+
+    /**
+     * Returns the 64 bit {@link XXHash64 XXHash64} of the whole WAD file.
+     * @return the hash of the WAD file.
+     * @since 1.1
+     */
+    public long getHash() {
+        return hash;
+    }
+
+    /**
+     * Returns the name of the algorithm of the {@link #getDigest() digest}, such
+     * as <code>"SHA-1"</code>.
+     * @return the name of the algorithm, or null if no digest was computed.
+     * @since 1.1
+     */
+    public String getAlgorithm() {
+        return algorithm;
+    }
+
+    /**
+     * Returns the digest of the whole WAD file.
+     * @return a copy of the digest, or null if none was computed.
+     * @since 1.1
+     */
+    public byte[] getDigest() {
+        return digest == null ? null : digest.clone();
+    }
+
+    /**
+     * Returns the digest of the whole WAD file in lowercase hexadecimal, as it
+     * is written in lists of known WAD files.
+     * @return the digest in hexadecimal, or null if none was computed.
+     * @since 1.1
+     */
+    public String getDigestHex() {
+        return digest == null ? null : HexFormat.of().formatHex(digest);
+    }
+
+    /**
+     * Returns a {@link java.lang.String String} describing the fingerprint.
+     * @return the size, hash and digest of the WAD file.
+     * @since 1.1
+     */
+    @Override
+    public String toString() {
+        return "WadFingerprint[size="+size+", xxhash64="+String.format("%016x", hash)+(digest == null ? "" : ", "+algorithm+"="+getDigestHex())+"]";
+    }
+}
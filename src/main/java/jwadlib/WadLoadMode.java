@@ -0,0 +1,71 @@
+/*
+ * WadLoadMode.java
+ * This file is part of jwadlib.
+ *
+ * jwadlib WAD Library - A Java(TM) library for manipulating WAD files.
+ * Copyright (C) 2025 @picttarge
+ *
+ * jwadlib is free software; you can redistribute it and/or
+ * modify it under the terms of the GNU Lesser General Public
+ * License as published by the Free Software Foundation; either
+ * version 2.1 of the License, or (at your option) any later version.
+ *
+ * jwadlib is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the GNU
+ * Lesser General Public License for more details.
+ *
+ * You should have received a copy of the GNU Lesser General Public
+ * License along with this library; if not, write to the Free Software
+ * Foundation, Inc., 51 Franklin Street, Fifth Floor, Boston, MA  02110-1301  USA
+ */
+package jwadlib;
+
+/**
+ * Specifies how a {@link Wad Wad} reads the data of its {@link Lump Lumps}
+ * when the WAD file is opened.
+ * @author @picttarge
+ * @version 1.1
+ * @since 1.1
+ */
+public enum WadLoadMode {
+    /**
+     * Every lump is read into memory while the {@link Wad Wad} is being
+     * constructed. This is the behaviour of the original library.
+     * @since 1.1
+     */
+    EAGER,
+
+    /**
+     * Only the header and the directory are read while the {@link Wad Wad} is
+     * being constructed. Each {@link Lump Lump} remembers where its data is
+     * stored and reads it from the WAD file the first time {@link
+     * Lump#getRawLumpData() getRawLumpData()} is called.
+     * @since 1.1
+     */
+    LAZY,
+
+    /**
+     * The whole WAD file is mapped into memory once with {@link
+     * java.nio.channels.FileChannel#map(java.nio.channels.FileChannel.MapMode, long, long)
+     * FileChannel.map()}, and the data of each {@link Lump Lump} is a read-only
+     * view of that mapping rather than a copy of it.
+     * @since 1.1
+     */
+    MAPPED,
+
+    /**
+     * Every lump is read while the {@link Wad Wad} is being constructed, as with
+     * {@link #EAGER EAGER}, but into direct memory outside of the Java heap, so
+     * that large amounts of lump data do not slow down garbage collection. The
+     * memory is taken in large blocks that belong to the {@link Wad Wad}. When the
+     * {@link Wad Wad} is {@link Wad#close() closed} its lumps let go of data they
+     * have not been given in place of, and the blocks are freed once nothing else
+     * refers to them. The JVM's <code>-XX:MaxDirectMemorySize</code> limit applies.
+     * {@link Lump#getRawLumpData() getRawLumpData()} hands out the direct memory
+     * itself; the data of a lump that overlaps another lump is first copied into
+     * direct memory of its own from the same blocks.
+     * @since 1.1
+     */
+    DIRECT
+}
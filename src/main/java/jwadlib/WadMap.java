@@ -0,0 +1,260 @@
+/*
+ * WadMap.java
+ * This file is part of jwadlib.
+ *
+ * jwadlib WAD Library - A Java(TM) library for manipulating WAD files.
+ * Copyright (C) 2025 @picttarge
+ *
+ * jwadlib is free software; you can redistribute it and/or
+ * modify it under the terms of the GNU Lesser General Public
+ * License as published by the Free Software Foundation; either
+ * version 2.1 of the License, or (at your option) any later version.
+ *
+ * jwadlib is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the GNU
+ * Lesser General Public License for more details.
+ *
+ * You should have received a copy of the GNU Lesser General Public
+ * License along with this library; if not, write to the Free Software
+ * Foundation, Inc., 51 Franklin Street, Fifth Floor, Boston, MA  02110-1301  USA
+ */
+package jwadlib;
+
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.List;
+
+/**
+ * A map in a WAD file: its marker lump, such as <code>E1M1</code> or
+ * <code>MAP01</code>, and the lumps that follow it. A classic map is a marker
+ * followed by <code>THINGS</code> and any of <code>LINEDEFS</code>,
+ * <code>SIDEDEFS</code>, <code>VERTEXES</code>, <code>SEGS</code>,
+ * <code>SSECTORS</code>, <code>NODES</code>, <code>SECTORS</code>,
+ * <code>REJECT</code>, <code>BLOCKMAP</code>, <code>BEHAVIOR</code> and
+ * <code>SCRIPTS</code>. A UDMF map is a marker followed by <code>TEXTMAP</code>
+ * and every lump up to and including <code>ENDMAP</code>.
+ * <p>
+ * A {@link WadMap WadMap} describes the directory as it was when the maps were
+ * found, and is found again after the directory is changed.
+ * @author @picttarge
+ * @version 1.1
+ * @since 1.1
+ */
+public final class WadMap {
+    //Private Static Variables
+    /**
+     * The name of the first lump of a classic map.
+     * @since 1.1
+     */
+    private static final LumpName THINGS = LumpName.of("THINGS");
+
+    /**
+     * The name of the first lump of a UDMF map.
+     * @since 1.1
+     */
+    private static final LumpName TEXTMAP = LumpName.of("TEXTMAP");
+
+    /**
+     * The name of the last lump of a UDMF map.
+     * @since 1.1
+     */
+    private static final LumpName ENDMAP = LumpName.of("ENDMAP");
+
+    /**
+     * The names of the lumps that can follow <code>THINGS</code> in a classic map.
+     * @since 1.1
+     */
+    private static final LumpName[] CLASSIC_LUMPS = {
+        THINGS, LumpName.of("LINEDEFS"), LumpName.of("SIDEDEFS"), LumpName.of("VERTEXES"),
+        LumpName.of("SEGS"), LumpName.of("SSECTORS"), LumpName.of("NODES"), LumpName.of("SECTORS"),
+        LumpName.of("REJECT"), LumpName.of("BLOCKMAP"), LumpName.of("BEHAVIOR"), LumpName.of("SCRIPTS")
+    };
+
+    //Private Variables
+    /**
+     * The marker lump and the lumps of the map, in directory order.
+     * @since 1.1
+     */
+    private final Lump[] lumps;
+
+    /**
+     * The position of the marker lump in the directory.
+     * @since 1.1
+     */
+    private final int markerindex;
+
+    /**
+     * True if the map is in the UDMF format.
+     * @since 1.1
+     */
+    private final boolean udmf;
+
+    //Constructors
+    /**
+     * Creates a {@link WadMap WadMap} of the specified lumps.
+     * @param lumps the marker lump and the lumps of the map.
+     * @param markerindex the position of the marker lump in the directory.
+     * @param udmf true if the map is in the UDMF format.
+     * @since 1.1
+     */
+    private WadMap(final Lump[] lumps, final int markerindex, final boolean udmf) {
+        this.lumps = lumps;
+        this.markerindex = markerindex;
+        this.udmf = udmf;
+    }
+
+    //Package Static Methods
+    /**
+     * Returns the number of lumps, including the marker, in the map whose marker
+     * is at the specified position.
+     * @param lumps the lumps of the directory.
+     * @param size the number of lumps in the directory.
+     * @param index the position of the lump that may be a marker.
+     * @return the number of lumps in the map, or 0 if the lump is not a marker.
+     * @since 1.1
+     */
+    static int lengthAt(final Lump[] lumps, final int size, final int index) {
+        if(index+1 >= size) {
+            return 0;
+        }
+        final LumpName next = lumps[index+1].getLumpName();
+        if(next.equals(TEXTMAP)) {
+            for(int i=index+2; i<size; i++) {
+                if(lumps[i].getLumpName().equals(ENDMAP)) {
+                    return i-index+1;
+                }
+            }
+            return size-index;
+        }
+        if(next.equals(THINGS) && !isClassicLump(lumps[index].getLumpName())) {
+            int i = index+2;
+            while(i < size && isClassicLump(lumps[i].getLumpName())) {
+                i++;
+            }
+            return i-index;
+        }
+        return 0;
+    }
+
+    /**
+     * Creates a {@link WadMap WadMap} of the lumps at the specified positions.
+     * @param lumps the lumps of the directory.
+     * @param index the position of the marker lump.
+     * @param length the number of lumps in the map, including the marker.
+     * @return the {@link WadMap WadMap}.
+     * @since 1.1
+     */
+    static WadMap of(final Lump[] lumps, final int index, final int length) {
+        final boolean udmf = length > 1 && lumps[index+1].getLumpName().equals(TEXTMAP);
+        return new WadMap(Arrays.copyOfRange(lumps, index, index+length), index, udmf);
+    }
+
+    //Private Static Methods
+    /**
+     * Returns true if a lump with the specified name can be part of a classic map.
+     * @param name the name of the lump.
+     * @return true if the name is one of the classic map lumps, otherwise false.
+     * @since 1.1
+     */
+    private static boolean isClassicLump(final LumpName name) {
+        for(final LumpName lumpname : CLASSIC_LUMPS) {
+            if(lumpname.equals(name)) {
+                return true;
+            }
+        }
+        return false;
+    }
+
+    //Public Methods
+    /**
+     * Returns the name of the map, which is the name of its marker lump.
+     * @return the name of the map.
+     * @since 1.1
+     */
+    public String getName() {
+        return lumps[0].getName();
+    }
+
+    /**
+     * Returns the name of the map as a {@link LumpName LumpName}.
+     * @return the name of the map.
+     * @since 1.1
+     */
+    public LumpName getLumpName() {
+        return lumps[0].getLumpName();
+    }
+
+    /**
+     * Returns true if the map is in the UDMF format, with a <code>TEXTMAP</code>
+     * lump instead of <code>THINGS</code>, <code>LINEDEFS</code> and so on.
+     * @return true if the map is in the UDMF format, otherwise false.
+     * @since 1.1
+     */
+    public boolean isUDMF() {
+        return udmf;
+    }
+
+    /**
+     * Returns the marker lump of the map.
+     * @return the marker {@link Lump Lump}.
+     * @since 1.1
+     */
+    public Lump getMarker() {
+        return lumps[0];
+    }
+
+    /**
+     * Returns the position of the marker lump in the directory.
+     * @return the position of the marker lump.
+     * @since 1.1
+     */
+    public int getMarkerIndex() {
+        return markerindex;
+    }
+
+    /**
+     * Returns the position in the directory after the last lump of the map.
+     * @return the position after the last lump of the map.
+     * @since 1.1
+     */
+    public int getEndIndex() {
+        return markerindex+lumps.length;
+    }
+
+    /**
+     * Returns the lumps of the map after the marker, in directory order.
+     * @return an unmodifiable {@link java.util.List List} of the {@link Lump Lumps}.
+     * @since 1.1
+     */
+    public List<Lump> getLumps() {
+        return Collections.unmodifiableList(Arrays.asList(lumps).subList(1, lumps.length));
+    }
+
+    /**
+     * Returns the lump of the map with the specified name, such as
+     * <code>LINEDEFS</code>.
+     * @param name the name of the {@link Lump Lump}.
+     * @return the {@link Lump Lump}, or null if the map does not have one.
+     * @since 1.1
+     */
+    public Lump getLump(final String name) {
+        return getLump(LumpName.of(name));
+    }
+
+    /**
+     * Returns the lump of the map with the specified name, such as
+     * <code>LINEDEFS</code>.
+     * @param name the name of the {@link Lump Lump} as a {@link LumpName LumpName}.
+     * @return the {@link Lump Lump}, or null if the map does not have one.
+     * @since 1.1
+     */
+    public Lump getLump(final LumpName name) {
+        for(int i=1; i<lumps.length; i++) {
+            if(lumps[i].getLumpName().equals(name)) {
+                return lumps[i];
+            }
+        }
+        return null;
+    }
+}
@@ -0,0 +1,235 @@
+/*
+ * WadStack.java
+ * This file is part of jwadlib.
+ *
+ * jwadlib WAD Library - A Java(TM) library for manipulating WAD files.
+ * Copyright (C) 2025 @picttarge
+ *
+ * jwadlib is free software; you can redistribute it and/or
+ * modify it under the terms of the GNU Lesser General Public
+ * License as published by the Free Software Foundation; either
+ * version 2.1 of the License, or (at your option) any later version.
+ *
+ * jwadlib is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the GNU
+ * Lesser General Public License for more details.
+ *
+ * You should have received a copy of the GNU Lesser General Public
+ * License along with this library; if not, write to the Free Software
+ * Foundation, Inc., 51 Franklin Street, Fifth Floor, Boston, MA  02110-1301  USA
+ */
+package jwadlib;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.EnumMap;
+import java.util.HashMap;
+import java.util.LinkedHashMap;
+import java.util.List;
+
+/**
+ * An ordered stack of {@link Wad Wads}, usually one IWAD followed by any number
+ * of PWADs, that {@link Lump Lumps} are looked up in as if it were a single WAD.
+ * A {@link Lump Lump} in a later {@link Wad Wad} overrides a {@link Lump Lump}
+ * of the same name in an earlier one, as it does in Doom.
+ * <p>
+ * Lumps in a namespace, such as sprites between <code>S_START</code> and
+ * <code>S_END</code>, are merged: a sprite in a PWAD replaces the sprite of the
+ * same name from an earlier {@link Wad Wad} and keeps its place, and sprites with
+ * new names are added after the existing ones. Lumps outside the namespace never
+ * replace lumps inside it.
+ * <p>
+ * The {@link WadStack WadStack} only indexes the {@link Lump Lumps} of its
+ * {@link Wad Wads}; no lump data is copied. The index is rebuilt the next time it
+ * is needed after a {@link Wad Wad} is added to the stack or changed.
+ * @author @picttarge
+ * @version 1.1
+ * @since 1.1
+ */
+public class WadStack implements LumpLookup {
+    //Private Variables
+    /**
+     * The {@link Wad Wads} in the order they were loaded.
+     * @since 1.1
+     */
+    private final ArrayList<Wad> wads;
+
+    /**
+     * The {@link LumpDirectory#getVersion() version} of each {@link Wad Wad's}
+     * directory when the index was last built, or null if it has never been built.
+     * @since 1.1
+     */
+    private long[] indexedversions;
+
+    /**
+     * Maps each name to the last {@link Lump Lump} with that name in any namespace.
+     * @since 1.1
+     */
+    private final HashMap<LumpName, Lump> lastbyname = new HashMap<>();
+
+    /**
+     * Maps each namespace to the merged {@link Lump Lumps} in it, by name, in the
+     * order the names were first seen.
+     * @since 1.1
+     */
+    private final EnumMap<LumpNamespace, LinkedHashMap<LumpName, Lump>> namespaces = new EnumMap<>(LumpNamespace.class);
+
+    //Constructors
+    /**
+     * Creates a {@link WadStack WadStack} of the specified {@link Wad Wads}.
+     * @param wads the {@link Wad Wads}, in the order they are loaded.
+     * @since 1.1
+     */
+    public WadStack(final Wad... wads) {
+        this(Arrays.asList(wads));
+    }
+
+    /**
+     * Creates a {@link WadStack WadStack} of the specified {@link Wad Wads}.
+     * @param wads the {@link Wad Wads}, in the order they are loaded.
+     * @since 1.1
+     */
+    public WadStack(final List<Wad> wads) {
+        this.wads = new ArrayList<>(wads);
+        for(final LumpNamespace namespace : LumpNamespace.values()) {
+            namespaces.put(namespace, new LinkedHashMap<>());
+        }
+    }
+
+    //Private Methods
+    /**
+     * Returns true if no {@link Wad Wad} has been added or changed since the 
+     * index was last built. The versions are compared in place, so looking a 
+     * {@link Lump Lump} up does not allocate anything while the index is current.
+     * @return true if the index is up to date, otherwise false.
+     * @since 1.1
+     */
+    private boolean isIndexed() {
+        if(indexedversions == null || indexedversions.length != wads.size()) {
+            return false;
+        }
+        for(int i=0; i<indexedversions.length; i++) {
+            if(wads.get(i).lumps.getVersion() != indexedversions[i]) {
+                return false;
+            }
+        }
+        return true;
+    }
+
+    /**
+     * Rebuilds the index if a {@link Wad Wad} has been added or changed since it
+     * was last built.
+     * @since 1.1
+     */
+    private void index() {
+        if(isIndexed()) {
+            return;
+        }
+        final long[] versions = new long[wads.size()];
+        for(int i=0; i<versions.length; i++) {
+            versions[i] = wads.get(i).lumps.getVersion();
+        }
+        lastbyname.clear();
+        for(final LinkedHashMap<LumpName, Lump> merged : namespaces.values()) {
+            merged.clear();
+        }
+        for(final Wad wad : wads) {
+            final LumpDirectory directory = wad.lumps;
+            for(int i=0; i<directory.size(); i++) {
+                final Lump lump = directory.get(i);
+                lastbyname.put(lump.getLumpName(), lump);
+                namespaces.get(directory.getNamespace(i)).put(lump.getLumpName(), lump);
+            }
+        }
+        indexedversions = versions;
+    }
+
+    //Public Methods
+    /**
+     * Adds a {@link Wad Wad} to the top of the stack, so that its {@link Lump
+     * Lumps} override those of every {@link Wad Wad} already in it.
+     * @param wad the {@link Wad Wad} to add.
+     * @return true if the {@link Wad Wad} is successfully added.
+     * @since 1.1
+     */
+    public synchronized boolean addWad(final Wad wad) {
+        return wads.add(wad);
+    }
+
+    /**
+     * Returns the {@link Wad Wads} in the stack, in the order they were loaded.
+     * @return an unmodifiable {@link java.util.List List} of the {@link Wad Wads}.
+     * @since 1.1
+     */
+    public synchronized List<Wad> getWads() {
+        return Collections.unmodifiableList(new ArrayList<>(wads));
+    }
+
+    /**
+     * Returns the last {@link Lump Lump} with the specified name in the specified
+     * namespace of any {@link Wad Wad} in the stack.
+     * @param name the name of the {@link Lump Lump} as a {@link LumpName LumpName}.
+     * @param namespace the namespace to search, or null to search every namespace.
+     * @return the {@link Lump Lump}, or null if there is none.
+     * @since 1.1
+     */
+    @Override
+    public synchronized Lump findLump(final LumpName name, final LumpNamespace namespace) {
+        index();
+        if(namespace == null) {
+            return lastbyname.get(name);
+        }
+        return namespaces.get(namespace).get(name);
+    }
+
+    /**
+     * Returns every {@link Lump Lump} with the specified name in every {@link Wad
+     * Wad} in the stack, in load order.
+     * @param name the name of the {@link Lump Lumps}.
+     * @return a {@link java.util.List List} of the {@link Lump Lumps} with the
+     * specified name, which is empty if there are none.
+     * @since 1.1
+     */
+    public synchronized List<Lump> findAllLumps(final String name) {
+        final LumpName lumpname = LumpName.of(name);
+        final ArrayList<Lump> found = new ArrayList<>();
+        for(final Wad wad : wads) {
+            found.addAll(wad.lumps.findAllLumps(lumpname, null));
+        }
+        return found;
+    }
+
+    /**
+     * Returns the merged {@link Lump Lumps} in the specified namespace. A {@link
+     * Lump Lump} that overrides one from an earlier {@link Wad Wad} takes its place.
+     * @param namespace the namespace.
+     * @return a {@link java.util.List List} of the {@link Lump Lumps} in the
+     * namespace.
+     * @since 1.1
+     */
+    @Override
+    public synchronized List<Lump> getLumps(final LumpNamespace namespace) {
+        index();
+        return new ArrayList<>(namespaces.get(namespace).values());
+    }
+
+    /**
+     * Returns the map with the specified name from the last {@link Wad Wad} in
+     * the stack that has one, which is the map Doom would load.
+     * @param name the name of the map, such as <code>MAP01</code>.
+     * @return the {@link WadMap WadMap}, or null if there is none.
+     * @since 1.1
+     */
+    public synchronized WadMap getMap(final String name) {
+        final LumpName lumpname = LumpName.of(name);
+        for(int i=wads.size()-1; i>=0; i--) {
+            final WadMap map = wads.get(i).getMap(lumpname);
+            if(map != null) {
+                return map;
+            }
+        }
+        return null;
+    }
+}
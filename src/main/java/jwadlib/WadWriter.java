@@ -0,0 +1,411 @@
+/*
+ * WadWriter.java
+ * This file is part of jwadlib.
+ *
+ * jwadlib WAD Library - A Java(TM) library for manipulating WAD files.
+ * Copyright (C) 2025 @picttarge
+ *
+ * jwadlib is free software; you can redistribute it and/or
+ * modify it under the terms of the GNU Lesser General Public
+ * License as published by the Free Software Foundation; either
+ * version 2.1 of the License, or (at your option) any later version.
+ *
+ * jwadlib is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the GNU
+ * Lesser General Public License for more details.
+ *
+ * You should have received a copy of the GNU Lesser General Public
+ * License along with this library; if not, write to the Free Software
+ * Foundation, Inc., 51 Franklin Street, Fifth Floor, Boston, MA  02110-1301  USA
+ */
+package jwadlib;
+
+import java.io.Closeable;
+import java.io.File;
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.ByteOrder;
+import java.nio.channels.FileChannel;
+import java.nio.file.StandardOpenOption;
+import java.util.Arrays;
+import java.util.List;
+
+/**
+ * Writes a WAD file one {@link Lump Lump} at a time. The lump data is streamed
+ * straight to the file as it is added, and the directory is appended at the end
+ * when the {@link WadWriter WadWriter} is {@link #close() closed}, after which
+ * the header is filled in. Apart from sixteen bytes per directory entry, the
+ * memory used does not depend on how large the WAD file is.
+ * <p>
+ * Lumps that are still backed by the WAD file they were read from are copied
+ * file to file. Other lump data is collected and written together with a single
+ * gathering write, and must not be changed until the {@link WadWriter WadWriter}
+ * is closed.
+ * @author @picttarge
+ * @version 1.1
+ * @since 1.1
+ */
+public class WadWriter implements Closeable {
+    //Private Static Variables
+    /**
+     * The most lumps that are collected before they are written.
+     * @since 1.1
+     */
+    private static final int MAX_PENDING_LUMPS = 64;
+
+    /**
+     * The most bytes that are collected before they are written.
+     * @since 1.1
+     */
+    private static final int MAX_PENDING_BYTES = 1 << 20;
+
+    /**
+     * The number of directory entries written to the file at a time.
+     * @since 1.1
+     */
+    private static final int DIRECTORY_CHUNK_ENTRIES = 4096;
+
+    //Private Variables
+    /**
+     * The {@link java.nio.channels.FileChannel FileChannel} of the WAD file being
+     * written.
+     * @since 1.1
+     */
+    private final FileChannel filechannel;
+
+    /**
+     * The first four bytes of the WAD file.
+     * @since 1.1
+     */
+    private final int identifier;
+
+    /**
+     * The position in the WAD file where the next lump data will be written.
+     * @since 1.1
+     */
+    private long position;
+
+    /**
+     * The starting location of each lump in the directory.
+     * @since 1.1
+     */
+    private int[] pointers = new int[256];
+
+    /**
+     * The size of each lump in the directory.
+     * @since 1.1
+     */
+    private int[] sizes = new int[256];
+
+    /**
+     * The name of each lump in the directory, as returned by {@link
+     * LumpName#longValue() LumpName.longValue()}.
+     * @since 1.1
+     */
+    private long[] names = new long[256];
+
+    /**
+     * The number of lumps in the directory.
+     * @since 1.1
+     */
+    private int count;
+
+    /**
+     * The lump data that has been added but not yet written.
+     * @since 1.1
+     */
+    private final ByteBuffer[] pending = new ByteBuffer[MAX_PENDING_LUMPS];
+
+    /**
+     * The number of elements of {@link #pending pending} that are used.
+     * @since 1.1
+     */
+    private int pendingcount;
+
+    /**
+     * The number of bytes in {@link #pending pending}.
+     * @since 1.1
+     */
+    private long pendingbytes;
+
+    /**
+     * True once the {@link WadWriter WadWriter} has been closed.
+     * @since 1.1
+     */
+    private boolean closed;
+
+    //Constructors
+    /**
+     * Creates a {@link WadWriter WadWriter} that writes a PWAD to the file at the
+     * specified filepath, replacing it if it exists.
+     * @param filepath the location of the wad file including the name and extension.
+     * @throws java.io.IOException if the file cannot be created or written to.
+     * @since 1.1
+     */
+    public WadWriter(final String filepath) throws IOException {
+        this(new File(filepath), "PWAD");
+    }
+
+    /**
+     * Creates a {@link WadWriter WadWriter} that writes a PWAD to the specified
+     * file, replacing it if it exists.
+     * @param file a {@link java.io.File File} object that points to the wad file.
+     * @throws java.io.IOException if the file cannot be created or written to.
+     * @since 1.1
+     */
+    public WadWriter(final File file) throws IOException {
+        this(file, "PWAD");
+    }
+
+    /**
+     * Creates a {@link WadWriter WadWriter} that writes a WAD with the specified
+     * identifier to the specified file, replacing it if it exists.
+     * @param file a {@link java.io.File File} object that points to the wad file.
+     * @param identifier the first four characters of the file, either "IWAD" or
+     * "PWAD".
+     * @throws java.io.IOException if the file cannot be created or written to.
+     * @throws java.lang.IllegalArgumentException if the identifier is not four
+     * characters long.
+     * @since 1.1
+     */
+    public WadWriter(final File file, final String identifier) throws IOException, IllegalArgumentException {
+        if(identifier.length() != 4) {
+            throw new IllegalArgumentException("WAD identifier must be four characters long.");
+        }
+        int temp = 0;
+        for(int i=0; i<4; i++) {
+            temp |= (identifier.charAt(i) & 0xFF) << (i*8);
+        }
+        this.identifier = temp;
+        filechannel = FileChannel.open(file.toPath(), StandardOpenOption.CREATE, StandardOpenOption.WRITE, StandardOpenOption.TRUNCATE_EXISTING);
+
+        //The header is written again with the real values when the writer is closed.
+        final ByteBuffer header = ByteBuffer.allocate(12).order(ByteOrder.LITTLE_ENDIAN);
+        header.putInt(this.identifier).putInt(0).putInt(0).flip();
+        writeFully(new ByteBuffer[] {header}, 1);
+        position = 12;
+    }
+
+    //Private Methods
+    /**
+     * Writes every remaining byte of the specified buffers to the end of what has
+     * been written so far, with as few gathering writes as possible.
+     * @param buffers the buffers to write.
+     * @param length the number of buffers to write, starting from the first.
+     * @throws java.io.IOException if the data cannot be written to the file.
+     * @since 1.1
+     */
+    private void writeFully(final ByteBuffer[] buffers, final int length) throws IOException {
+        int first = 0;
+        while(first < length) {
+            filechannel.write(buffers, first, length-first);
+            while(first < length && !buffers[first].hasRemaining()) {
+                first++;
+            }
+        }
+    }
+
+    /**
+     * Writes the lump data that has been collected.
+     * @throws java.io.IOException if the data cannot be written to the file.
+     * @since 1.1
+     */
+    private void flush() throws IOException {
+        writeFully(pending, pendingcount);
+        Arrays.fill(pending, 0, pendingcount, null);
+        pendingcount = 0;
+        pendingbytes = 0;
+    }
+
+    /**
+     * Adds an entry to the directory.
+     * @param name the name of the lump.
+     * @param pointer the starting location of the lump data.
+     * @param size the size of the lump data.
+     * @throws java.io.IOException if the {@link WadWriter WadWriter} has been closed.
+     * @since 1.1
+     */
+    private void addEntry(final LumpName name, final long pointer, final int size) throws IOException {
+        if(closed) {
+            throw new IOException("WAD writer has been closed.");
+        }
+        if(pointer+size > Integer.MAX_VALUE) {
+            throw new IOException("WAD file cannot be larger than 2 GB.");
+        }
+        if(count == pointers.length) {
+            final int capacity = count+(count >> 1);
+            pointers = Arrays.copyOf(pointers, capacity);
+            sizes = Arrays.copyOf(sizes, capacity);
+            names = Arrays.copyOf(names, capacity);
+        }
+        pointers[count] = (int)pointer;
+        sizes[count] = size;
+        names[count] = name.longValue();
+        count++;
+    }
+
+    //Package Methods
+    /**
+     * Returns the starting location of the data of a lump that has been added.
+     * @param index the position of the lump in the directory.
+     * @return the starting location of the lump data in the WAD file.
+     * @throws java.lang.IndexOutOfBoundsException if no lump has been added at 
+     * that position.
+     * @since 1.1
+     */
+    int getPointer(final int index) throws IndexOutOfBoundsException {
+        if(index < 0 || index >= count) {
+            throw new IndexOutOfBoundsException("Index out of bounds: "+index);
+        }
+        return pointers[index];
+    }
+
+    //Package Static Methods
+    /**
+     * Writes a directory to a channel, at its current position, a few thousand 
+     * entries at a time.
+     * @param filechannel the channel to write the directory to.
+     * @param pointers the starting location of each lump.
+     * @param sizes the size of each lump.
+     * @param names the name of each lump, as a {@link LumpName#longValue() long}.
+     * @param count the number of entries to write.
+     * @throws java.io.IOException if the directory cannot be written.
+     * @since 1.1
+     */
+    static void writeDirectory(final FileChannel filechannel, final int[] pointers, final int[] sizes, final long[] names, final int count) throws IOException {
+        final ByteBuffer chunk = ByteBuffer.allocate(Math.max(1, Math.min(count, DIRECTORY_CHUNK_ENTRIES))*16).order(ByteOrder.LITTLE_ENDIAN);
+        for(int i=0; i<count; i++) {
+            chunk.putInt(pointers[i]).putInt(sizes[i]).putLong(names[i]);
+            if(!chunk.hasRemaining() || i == count-1) {
+                chunk.flip();
+                while(chunk.hasRemaining()) {
+                    filechannel.write(chunk);
+                }
+                chunk.clear();
+            }
+        }
+    }
+
+    //Public Methods
+    /**
+     * Adds a {@link Lump Lump} to the end of the WAD file. The lump data is copied 
+     * with {@link Lump#transferTo(java.nio.channels.WritableByteChannel) 
+     * transferTo()}, so if it is still backed by the WAD file it came from it 
+     * is copied file to file without being read into the Java heap.
+     * @param lump the {@link Lump Lump} to add.
+     * @return true if the {@link Lump Lump} is successfully added.
+     * @throws java.io.IOException if the data cannot be read or written to the file.
+     * @since 1.1
+     */
+    public boolean addLump(final Lump lump) throws IOException {
+        final int size = lump.getSize();
+        addEntry(lump.getLumpName(), position, size);
+        if(size > 0) {
+            flush();
+            lump.transferTo(filechannel);
+            position += size;
+        }
+        return true;
+    }
+
+    /**
+     * Adds every {@link Lump Lump} in the list to the end of the WAD file, in order.
+     * @param lumps the {@link Lump Lumps} to add.
+     * @return true if the {@link Lump Lumps} are successfully added.
+     * @throws java.io.IOException if the data cannot be written to the file.
+     * @since 1.1
+     */
+    public boolean addLumps(final List<Lump> lumps) throws IOException {
+        for(final Lump lump : lumps) {
+            addLump(lump);
+        }
+        return true;
+    }
+
+    /**
+     * Adds a lump with the specified name and data to the end of the WAD file.
+     * @param name the name of the lump.
+     * @param data the lump data.
+     * @return true if the lump is successfully added.
+     * @throws java.io.IOException if the data cannot be written to the file.
+     * @since 1.1
+     */
+    public boolean addLump(final String name, final WadByteBuffer data) throws IOException {
+        return addLump(LumpName.of(name), data);
+    }
+
+    /**
+     * Adds a lump with the specified name and data to the end of the WAD file.
+     * @param name the name of the lump as a {@link LumpName LumpName}.
+     * @param data the lump data.
+     * @return true if the lump is successfully added.
+     * @throws java.io.IOException if the data cannot be written to the file.
+     * @since 1.1
+     */
+    public boolean addLump(final LumpName name, final WadByteBuffer data) throws IOException {
+        final ByteBuffer buffer = data.duplicateByteBuffer();
+        final int size = buffer.remaining();
+        addEntry(name, position, size);
+        if(size > 0) {
+            pending[pendingcount++] = buffer;
+            pendingbytes += size;
+            position += size;
+            if(pendingcount == pending.length || pendingbytes >= MAX_PENDING_BYTES) {
+                flush();
+            }
+        }
+        return true;
+    }
+
+    /**
+     * Adds a virtual lump, such as a marker, with the specified name.
+     * @param name the name of the lump.
+     * @return true if the lump is successfully added.
+     * @throws java.io.IOException if the {@link WadWriter WadWriter} has been closed.
+     * @since 1.1
+     */
+    public boolean addMarker(final String name) throws IOException {
+        addEntry(LumpName.of(name), position, 0);
+        return true;
+    }
+
+    /**
+     * Returns the number of lumps added so far.
+     * @return the number of lumps added so far.
+     * @since 1.1
+     */
+    public int getNumberOfLumps() {
+        return count;
+    }
+
+    /**
+     * Writes any lump data that has not been written yet, appends the directory,
+     * fills in the header and closes the WAD file.
+     * @throws java.io.IOException if the data cannot be written to the file.
+     * @since 1.1
+     */
+    @Override
+    public void close() throws IOException {
+        if(closed) {
+            return;
+        }
+        closed = true;
+        try {
+            flush();
+            final long directory = position;
+            if(directory > Integer.MAX_VALUE) {
+                throw new IOException("WAD file cannot be larger than 2 GB.");
+            }
+            writeDirectory(filechannel, pointers, sizes, names, count);
+            final ByteBuffer header = ByteBuffer.allocate(12).order(ByteOrder.LITTLE_ENDIAN);
+            header.putInt(identifier).putInt(count).putInt((int)directory).flip();
+            while(header.hasRemaining()) {
+                filechannel.write(header, header.position());
+            }
+        }
+        finally {
+            filechannel.close();
+        }
+    }
+}
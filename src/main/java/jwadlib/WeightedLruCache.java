@@ -0,0 +1,324 @@
+/*
+ * WeightedLruCache.java
+ * This file is part of jwadlib.
+ *
+ * jwadlib WAD Library - A Java(TM) library for manipulating WAD files.
+ * Copyright (C) 2025 @picttarge
+ *
+ * jwadlib is free software; you can redistribute it and/or
+ * modify it under the terms of the GNU Lesser General Public
+ * License as published by the Free Software Foundation; either
+ * version 2.1 of the License, or (at your option) any later version.
+ *
+ * jwadlib is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the GNU
+ * Lesser General Public License for more details.
+ *
+ * You should have received a copy of the GNU Lesser General Public
+ * License along with this library; if not, write to the Free Software
+ * Foundation, Inc., 51 Franklin Street, Fifth Floor, Boston, MA  02110-1301  USA
+ */
+package jwadlib;
+
+import java.util.Iterator;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.function.Function;
+import java.util.function.Predicate;
+import java.util.function.ToLongFunction;
+
+/**
+ * A cache that holds values up to a total weight, such as a number of bytes,
+ * and evicts the least recently used values to stay under it. Each value's
+ * weight is worked out once, when it is put in the cache. A value that is
+ * heavier than the whole cache is never kept.
+ * <p>
+ * The cache counts hits, misses and evictions so that its size can be tuned.
+ * It is safe to share between threads. Values are loaded by {@link
+ * #get(java.lang.Object, java.util.function.Function) get()} without holding
+ * the cache's lock, so two threads that miss the same key at once may both
+ * load it, and the first to finish wins.
+ * @param <K> the type of the keys.
+ * @param <V> the type of the values.
+ * @author @picttarge
+ * @version 1.1
+ * @since 1.1
+ */
+public class WeightedLruCache<K, V> {
+    //Private Variables
+    /**
+     * The values and their weights, from least to most recently used.
+     * @since 1.1
+     */
+    private final LinkedHashMap<K, Entry<V>> entries = new LinkedHashMap<>(16, 0.75f, true);
+
+    /**
+     * Works out the weight of each value.
+     * @since 1.1
+     */
+    private final ToLongFunction<? super V> weigher;
+
+    /**
+     * The most that the values in the cache may weigh in total.
+     * @since 1.1
+     */
+    private final long capacity;
+
+    /**
+     * The total weight of the values in the cache.
+     * @since 1.1
+     */
+    private long weight;
+
+    /**
+     * The number of lookups that found a value.
+     * @since 1.1
+     */
+    private long hits;
+
+    /**
+     * The number of lookups that did not find a value.
+     * @since 1.1
+     */
+    private long misses;
+
+    /**
+     * The number of values evicted to make room for others.
+     * @since 1.1
+     */
+    private long evictions;
+
+    //Constructors
+    /**
+     * Creates an empty {@link WeightedLruCache WeightedLruCache}.
+     * @param capacity the most that the values in the cache may weigh in total.
+     * @param weigher works out the weight of each value, which must not be negative.
+     * @since 1.1
+     */
+    public WeightedLruCache(final long capacity, final ToLongFunction<? super V> weigher) {
+        this.capacity = capacity;
+        this.weigher = weigher;
+    }
+
+    //Private Methods
+    /**
+     * Evicts the least recently used values until the cache is under its capacity.
+     * @since 1.1
+     */
+    private void trim() {
+        final Iterator<Entry<V>> iterator = entries.values().iterator();
+        while(weight > capacity && iterator.hasNext()) {
+            weight -= iterator.next().weight;
+            iterator.remove();
+            evictions++;
+        }
+    }
+
+    //Public Methods
+    /**
+     * Returns the value for the specified key, and marks it as the most recently
+     * used.
+     * @param key the key.
+     * @return the value, or null if it is not in the cache.
+     * @since 1.1
+     */
+    public synchronized V get(final K key) {
+        final Entry<V> entry = entries.get(key);
+        if(entry == null) {
+            misses++;
+            return null;
+        }
+        hits++;
+        return entry.value;
+    }
+
+    /**
+     * Returns the value for the specified key, loading it and putting it in the
+     * cache if it is not already there.
+     * @param key the key.
+     * @param loader loads the value for a key that is not in the cache.
+     * @return the value, or null if it is not in the cache and the loader
+     * returns null.
+     * @since 1.1
+     */
+    public V get(final K key, final Function<? super K, ? extends V> loader) {
+        final V cached = get(key);
+        if(cached != null) {
+            return cached;
+        }
+        final V loaded = loader.apply(key);
+        if(loaded == null) {
+            return null;
+        }
+        synchronized(this) {
+            final Entry<V> entry = entries.get(key);
+            if(entry != null) {
+                return entry.value;
+            }
+            put(key, loaded);
+            return loaded;
+        }
+    }
+
+    /**
+     * Puts a value in the cache as the most recently used, replacing any value
+     * the key already has, and evicts values until the cache is under its
+     * capacity.
+     * @param key the key.
+     * @param value the value.
+     * @return the value the key had, or null if it was not in the cache.
+     * @since 1.1
+     */
+    public synchronized V put(final K key, final V value) {
+        final Entry<V> old = entries.remove(key);
+        if(old != null) {
+            weight -= old.weight;
+        }
+        final long valueweight = weigher.applyAsLong(value);
+        if(valueweight <= capacity) {
+            entries.put(key, new Entry<>(value, valueweight));
+            weight += valueweight;
+            trim();
+        }
+        return old == null ? null : old.value;
+    }
+
+    /**
+     * Removes the value for the specified key from the cache.
+     * @param key the key.
+     * @return the value that was removed, or null if it was not in the cache.
+     * @since 1.1
+     */
+    public synchronized V remove(final K key) {
+        final Entry<V> old = entries.remove(key);
+        if(old == null) {
+            return null;
+        }
+        weight -= old.weight;
+        return old.value;
+    }
+
+    /**
+     * Removes the value of every key that matches the specified filter.
+     * @param filter returns true for the keys to remove.
+     * @return the number of values removed.
+     * @since 1.1
+     */
+    public synchronized int removeIf(final Predicate<? super K> filter) {
+        int removed = 0;
+        final Iterator<Map.Entry<K, Entry<V>>> iterator = entries.entrySet().iterator();
+        while(iterator.hasNext()) {
+            final Map.Entry<K, Entry<V>> entry = iterator.next();
+            if(filter.test(entry.getKey())) {
+                weight -= entry.getValue().weight;
+                iterator.remove();
+                removed++;
+            }
+        }
+        return removed;
+    }
+
+    /**
+     * Removes every value from the cache. The counters are not reset.
+     * @since 1.1
+     */
+    public synchronized void clear() {
+        entries.clear();
+        weight = 0;
+    }
+
+    /**
+     * Returns the number of values in the cache.
+     * @return the number of values in the cache.
+     * @since 1.1
+     */
+    public synchronized int size() {
+        return entries.size();
+    }
+
+    /**
+     * Returns the total weight of the values in the cache.
+     * @return the total weight of the values in the cache.
+     * @since 1.1
+     */
+    public synchronized long getWeight() {
+        return weight;
+    }
+
+    /**
+     * Returns the most that the values in the cache may weigh in total.
+     * @return the capacity of the cache.
+     * @since 1.1
+     */
+    public long getCapacity() {
+        return capacity;
+    }
+
+    /**
+     * Returns the number of lookups that found a value.
+     * @return the number of hits.
+     * @since 1.1
+     */
+    public synchronized long getHitCount() {
+        return hits;
+    }
+
+    /**
+     * Returns the number of lookups that did not find a value.
+     * @return the number of misses.
+     * @since 1.1
+     */
+    public synchronized long getMissCount() {
+        return misses;
+    }
+
+    /**
+     * Returns the number of values evicted to make room for others.
+     * @return the number of evictions.
+     * @since 1.1
+     */
+    public synchronized long getEvictionCount() {
+        return evictions;
+    }
+
+    /**
+     * Returns the counters and the weight of the cache.
+     * @return a description of the cache.
+     * @since 1.1
+     */
+    @Override
+    public synchronized String toString() {
+        return "WeightedLruCache[size="+entries.size()+", weight="+weight+"/"+capacity+", hits="+hits+", misses="+misses+", evictions="+evictions+"]";
+    }
+
+    /**
+     * A value in the cache and its weight.
+     * @param <V> the type of the value.
+     * @since 1.1
+     */
+    private static final class Entry<V> {
+        /**
+         * The value.
+         * @since 1.1
+         */
+        final V value;
+
+        /**
+         * The weight of the value.
+         * @since 1.1
+         */
+        final long weight;
+
+        /**
+         * Creates an entry.
+         * @param value the value.
+         * @param weight the weight of the value.
+         * @since 1.1
+         */
+        Entry(final V value, final long weight) {
+            this.value = value;
+            this.weight = weight;
+        }
+    }
+}
@@ -0,0 +1,317 @@
+/*
+ * XXHash64.java
+ * This file is part of jwadlib.
+ *
+ * jwadlib WAD Library - A Java(TM) library for manipulating WAD files.
+ * Copyright (C) 2025 @picttarge
+ *
+ * jwadlib is free software; you can redistribute it and/or
+ * modify it under the terms of the GNU Lesser General Public
+ * License as published by the Free Software Foundation; either
+ * version 2.1 of the License, or (at your option) any later version.
+ *
+ * jwadlib is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the GNU
+ * Lesser General Public License for more details.
+ *
+ * You should have received a copy of the GNU Lesser General Public
+ * License along with this library; if not, write to the Free Software
+ * Foundation, Inc., 51 Franklin Street, Fifth Floor, Boston, MA  02110-1301  USA
+ */
+package jwadlib;
+
+import java.nio.ByteBuffer;
+import java.nio.ByteOrder;
+
+/**
+ * Computes the 64 bit xxHash (XXH64) of a stream of bytes. xxHash is not a
+ * cryptographic hash, but it is fast enough to hash lump data at the speed it
+ * can be read, and its values are the same as every other XXH64
+ * implementation, so they can be compared with hashes computed elsewhere.
+ * <p>
+ * Data can be added in pieces of any size with the <code>update</code>
+ * methods, and the hash of everything added so far read at any time with
+ * {@link #getValue() getValue()}. An {@link XXHash64 XXHash64} is not safe to
+ * share between threads while data is being added.
+ * @author @picttarge
+ * @version 1.1
+ * @since 1.1
+ */
+public final class XXHash64 {
+    //Private Static Variables
+    /**
+     * The first prime of the algorithm.
+     * @since 1.1
+     */
+    private static final long PRIME1 = 0x9E3779B185EBCA87L;
+
+    /**
+     * The second prime of the algorithm.
+     * @since 1.1
+     */
+    private static final long PRIME2 = 0xC2B2AE3D27D4EB4FL;
+
+    /**
+     * The third prime of the algorithm.
+     * @since 1.1
+     */
+    private static final long PRIME3 = 0x165667B19E3779F9L;
+
+    /**
+     * The fourth prime of the algorithm.
+     * @since 1.1
+     */
+    private static final long PRIME4 = 0x85EBCA77C2B2AE63L;
+
+    /**
+     * The fifth prime of the algorithm.
+     * @since 1.1
+     */
+    private static final long PRIME5 = 0x27D4EB2F165667C5L;
+
+    //Private Variables
+    /**
+     * The seed the hash was started with.
+     * @since 1.1
+     */
+    private final long seed;
+
+    /**
+     * The four accumulators that whole 32 byte stripes are added to.
+     * @since 1.1
+     */
+    private long v1, v2, v3, v4;
+
+    /**
+     * The bytes added since the last whole stripe, in little endian order.
+     * @since 1.1
+     */
+    private final ByteBuffer stripe = ByteBuffer.allocate(32).order(ByteOrder.LITTLE_ENDIAN);
+
+    /**
+     * The number of bytes added so far.
+     * @since 1.1
+     */
+    private long length;
+
+    //Constructors
+    /**
+     * Creates an {@link XXHash64 XXHash64} with a seed of zero.
+     * @since 1.1
+     */
+    public XXHash64() {
+        this(0);
+    }
+
+    /**
+     * Creates an {@link XXHash64 XXHash64} with the specified seed.
+     * @param seed the seed.
+     * @since 1.1
+     */
+    public XXHash64(final long seed) {
+        this.seed = seed;
+        reset();
+    }
+
+    //Private Static Methods
+    /**
+     * Adds eight bytes to an accumulator.
+     * @param accumulator the accumulator.
+     * @param input the eight bytes, in little endian order.
+     * @return the new value of the accumulator.
+     * @since 1.1
+     */
+    private static long round(final long accumulator, final long input) {
+        return Long.rotateLeft(accumulator+input*PRIME2, 31)*PRIME1;
+    }
+
+    /**
+     * Merges an accumulator into the hash.
+     * @param hash the hash.
+     * @param accumulator the accumulator.
+     * @return the new hash.
+     * @since 1.1
+     */
+    private static long merge(final long hash, final long accumulator) {
+        return (hash^round(0, accumulator))*PRIME1+PRIME4;
+    }
+
+    //Private Methods
+    /**
+     * Adds every whole 32 byte stripe in the specified buffer to the accumulators.
+     * @param buffer the bytes, in little endian order, from its position to its limit.
+     * @return the number of bytes used.
+     * @since 1.1
+     */
+    private int stripes(final ByteBuffer buffer) {
+        final int start = buffer.position();
+        final int end = start+(buffer.remaining() & ~31);
+        long a = v1, b = v2, c = v3, d = v4;
+        for(int i=start; i<end; i+=32) {
+            a = round(a, buffer.getLong(i));
+            b = round(b, buffer.getLong(i+8));
+            c = round(c, buffer.getLong(i+16));
+            d = round(d, buffer.getLong(i+24));
+        }
+        v1 = a;
+        v2 = b;
+        v3 = c;
+        v4 = d;
+        return end-start;
+    }
+
+    //Public Methods
+    /**
+     * Adds the bytes of the specified {@link java.nio.ByteBuffer ByteBuffer} from
+     * its position to its limit, and moves its position to its limit.
+     * @param data the bytes to add.
+     * @return this {@link XXHash64 XXHash64}.
+     * @since 1.1
+     */
+    public XXHash64 update(final ByteBuffer data) {
+        final ByteBuffer input = data.duplicate().order(ByteOrder.LITTLE_ENDIAN);
+        length += input.remaining();
+        if(stripe.position() > 0) {
+            while(stripe.hasRemaining() && input.hasRemaining()) {
+                stripe.put(input.get());
+            }
+            if(stripe.hasRemaining()) {
+                data.position(data.limit());
+                return this;
+            }
+            stripe.flip();
+            stripes(stripe);
+            stripe.clear();
+        }
+        input.position(input.position()+stripes(input));
+        stripe.put(input);
+        data.position(data.limit());
+        return this;
+    }
+
+    /**
+     * Adds the specified bytes of an array.
+     * @param data the array.
+     * @param offset the position of the first byte to add.
+     * @param length the number of bytes to add.
+     * @return this {@link XXHash64 XXHash64}.
+     * @throws java.lang.IndexOutOfBoundsException if the offset or the length are
+     * out of range.
+     * @since 1.1
+     */
+    public XXHash64 update(final byte[] data, final int offset, final int length) throws IndexOutOfBoundsException {
+        return update(ByteBuffer.wrap(data, offset, length));
+    }
+
+    /**
+     * Adds every byte of an array.
+     * @param data the array.
+     * @return this {@link XXHash64 XXHash64}.
+     * @since 1.1
+     */
+    public XXHash64 update(final byte[] data) {
+        return update(ByteBuffer.wrap(data));
+    }
+
+    /**
+     * Adds the eight bytes of a long, in little endian order.
+     * @param value the long.
+     * @return this {@link XXHash64 XXHash64}.
+     * @since 1.1
+     */
+    public XXHash64 update(final long value) {
+        if(stripe.remaining() >= 8) {
+            stripe.putLong(value);
+            length += 8;
+            if(!stripe.hasRemaining()) {
+                stripe.flip();
+                stripes(stripe);
+                stripe.clear();
+            }
+            return this;
+        }
+        final ByteBuffer bytes = ByteBuffer.allocate(8).order(ByteOrder.LITTLE_ENDIAN).putLong(value);
+        bytes.flip();
+        return update(bytes);
+    }
+
+    /**
+     * Returns the hash of every byte added since the {@link XXHash64 XXHash64}
+     * was created or {@link #reset() reset}. More bytes can still be added
+     * afterwards.
+     * @return the hash.
+     * @since 1.1
+     */
+    public long getValue() {
+        long hash;
+        if(length >= 32) {
+            hash = Long.rotateLeft(v1, 1)+Long.rotateLeft(v2, 7)+Long.rotateLeft(v3, 12)+Long.rotateLeft(v4, 18);
+            hash = merge(hash, v1);
+            hash = merge(hash, v2);
+            hash = merge(hash, v3);
+            hash = merge(hash, v4);
+        }
+        else {
+            hash = seed+PRIME5;
+        }
+        hash += length;
+
+        final int end = stripe.position();
+        int i = 0;
+        for(; i+8<=end; i+=8) {
+            hash = Long.rotateLeft(hash^round(0, stripe.getLong(i)), 27)*PRIME1+PRIME4;
+        }
+        if(i+4 <= end) {
+            hash = Long.rotateLeft(hash^((stripe.getInt(i) & 0xFFFFFFFFL)*PRIME1), 23)*PRIME2+PRIME3;
+            i += 4;
+        }
+        for(; i<end; i++) {
+            hash = Long.rotateLeft(hash^((stripe.get(i) & 0xFFL)*PRIME5), 11)*PRIME1;
+        }
+
+        hash ^= hash >>> 33;
+        hash *= PRIME2;
+        hash ^= hash >>> 29;
+        hash *= PRIME3;
+        hash ^= hash >>> 32;
+        return hash;
+    }
+
+    /**
+     * Forgets every byte added so far, so that the {@link XXHash64 XXHash64} can
+     * be used again.
+     * @since 1.1
+     */
+    public void reset() {
+        v1 = seed+PRIME1+PRIME2;
+        v2 = seed+PRIME2;
+        v3 = seed;
+        v4 = seed-PRIME1;
+        stripe.clear();
+        length = 0;
+    }
+
+    //Public Static Methods
+    /**
+     * Returns the hash, with a seed of zero, of the bytes of the specified {@link
+     * java.nio.ByteBuffer ByteBuffer} from its position to its limit. The
+     * position of the {@link java.nio.ByteBuffer ByteBuffer} is not changed.
+     * @param data the bytes to hash.
+     * @return the hash.
+     * @since 1.1
+     */
+    public static long hash(final ByteBuffer data) {
+        return new XXHash64().update(data.duplicate()).getValue();
+    }
+
+    /**
+     * Returns the hash, with a seed of zero, of every byte of an array.
+     * @param data the bytes to hash.
+     * @return the hash.
+     * @since 1.1
+     */
+    public static long hash(final byte[] data) {
+        return new XXHash64().update(data).getValue();
+    }
+}
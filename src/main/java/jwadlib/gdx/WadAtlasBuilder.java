@@ -0,0 +1,427 @@
+/*
+ * WadAtlasBuilder.java
+ * This file is part of jwadlib.
+ *
+ * jwadlib WAD Library - A Java(TM) library for manipulating WAD files.
+ * Copyright (C) 2025 @picttarge
+ *
+ * jwadlib is free software; you can redistribute it and/or
+ * modify it under the terms of the GNU Lesser General Public
+ * License as published by the Free Software Foundation; either
+ * version 2.1 of the License, or (at your option) any later version.
+ *
+ * jwadlib is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the GNU
+ * Lesser General Public License for more details.
+ *
+ * You should have received a copy of the GNU Lesser General Public
+ * License along with this library; if not, write to the Free Software
+ * Foundation, Inc., 51 Franklin Street, Fifth Floor, Boston, MA  02110-1301  USA
+ */
+package jwadlib.gdx;
+
+import com.badlogic.gdx.files.FileHandle;
+import com.badlogic.gdx.graphics.Pixmap;
+import com.badlogic.gdx.graphics.PixmapIO;
+import com.badlogic.gdx.graphics.Texture;
+import com.badlogic.gdx.graphics.g2d.PixmapPacker;
+import com.badlogic.gdx.graphics.g2d.TextureAtlas;
+import com.badlogic.gdx.math.Rectangle;
+import com.badlogic.gdx.utils.GdxRuntimeException;
+
+import jwadlib.Lump;
+import jwadlib.LumpLookup;
+import jwadlib.LumpNamespace;
+import jwadlib.LumpView;
+import jwadlib.XXHash64;
+import jwadlib.graphics.Picture;
+import jwadlib.graphics.Playpal;
+
+import java.io.DataInputStream;
+import java.io.DataOutputStream;
+import java.io.IOException;
+import java.nio.ByteOrder;
+import java.nio.IntBuffer;
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.Locale;
+
+/**
+ * Packs the flats, wall patches and sprites of a WAD, or of a {@link
+ * jwadlib.WadStack WadStack}, into the pages of a libGDX {@link
+ * com.badlogic.gdx.graphics.g2d.TextureAtlas TextureAtlas}, coloured with a
+ * palette. Each graphic is a region named after its namespace and lump, such
+ * as <code>flats/FLOOR4_8</code>, <code>patches/WALL00_1</code> or
+ * <code>sprites/TROOA1</code>. Graphics are packed as they are, so the offsets
+ * of a sprite are still read from its lump with {@link
+ * jwadlib.graphics.Picture#leftOffset(jwadlib.LumpView) Picture.leftOffset()}
+ * and {@link jwadlib.graphics.Picture#topOffset(jwadlib.LumpView)
+ * Picture.topOffset()}.
+ * <p>
+ * If a cache directory is set, the packed pages are written to it as PNG files
+ * together with a file of the regions, named after a hash of the graphics, the
+ * palette and the page settings. The next time the same graphics are built the
+ * atlas is loaded from the cache instead of being decoded and packed again.
+ * The hash is made from the {@link jwadlib.Lump#getContentHash() content hash}
+ * of each graphic, and only the header of each picture is read to find the
+ * graphics, so no graphic is read into memory when the atlas is loaded from
+ * the cache.
+ * <p>
+ * {@link #build() build()} creates {@link com.badlogic.gdx.graphics.Texture
+ * Textures}, so it must be called on the thread that owns the OpenGL context.
+ * @author @picttarge
+ * @version 1.1
+ * @since 1.1
+ */
+public class WadAtlasBuilder {
+    //Private Static Variables
+    /**
+     * Changed whenever the cache files are written differently, so that old
+     * caches are not loaded.
+     * @since 1.1
+     */
+    private static final int CACHE_VERSION = 1;
+
+    /**
+     * The first four bytes of a cached region file.
+     * @since 1.1
+     */
+    private static final int CACHE_MAGIC = 0x4A574154;
+
+    /**
+     * The namespaces that graphics are packed from, in the order they are packed.
+     * @since 1.1
+     */
+    private static final LumpNamespace[] NAMESPACES = {LumpNamespace.FLATS, LumpNamespace.PATCHES, LumpNamespace.SPRITES};
+
+    //Private Variables
+    /**
+     * The lumps that the graphics and palette are found in.
+     * @since 1.1
+     */
+    private final LumpLookup lookup;
+
+    /**
+     * The directory the atlas is cached in, or null if it is not cached.
+     * @since 1.1
+     */
+    private final FileHandle cachedirectory;
+
+    /**
+     * The RGBA8888 colour of each palette index, or null to use the first
+     * palette of the <code>PLAYPAL</code> lump.
+     * @since 1.1
+     */
+    private int[] palette;
+
+    /**
+     * The width and height of each page, in pixels.
+     * @since 1.1
+     */
+    private int pagesize = 2048;
+
+    /**
+     * The number of transparent pixels between graphics on a page.
+     * @since 1.1
+     */
+    private int padding = 2;
+
+    //Constructors
+    /**
+     * Creates a {@link WadAtlasBuilder WadAtlasBuilder} that packs the graphics
+     * of the specified {@link jwadlib.Wad Wad} or {@link jwadlib.WadStack WadStack}
+     * without caching them.
+     * @param lookup the {@link jwadlib.Wad Wad} or {@link jwadlib.WadStack
+     * WadStack} to pack the graphics of.
+     * @since 1.1
+     */
+    public WadAtlasBuilder(final LumpLookup lookup) {
+        this(lookup, null);
+    }
+
+    /**
+     * Creates a {@link WadAtlasBuilder WadAtlasBuilder} that packs the graphics
+     * of the specified {@link jwadlib.Wad Wad} or {@link jwadlib.WadStack WadStack}
+     * and caches them in the specified directory.
+     * @param lookup the {@link jwadlib.Wad Wad} or {@link jwadlib.WadStack
+     * WadStack} to pack the graphics of.
+     * @param cachedirectory the directory to cache the atlas in, which is created
+     * if it does not exist, or null to not cache it.
+     * @since 1.1
+     */
+    public WadAtlasBuilder(final LumpLookup lookup, final FileHandle cachedirectory) {
+        this.lookup = lookup;
+        this.cachedirectory = cachedirectory;
+    }
+
+    //Private Methods
+    /**
+     * Returns the palette to colour the graphics with.
+     * @return the RGBA8888 colour of each of the 256 palette indexes.
+     * @throws java.lang.IllegalStateException if no palette has been set and there
+     * is no usable <code>PLAYPAL</code> lump.
+     * @since 1.1
+     */
+    private int[] palette() throws IllegalStateException {
+        if(palette != null) {
+            return palette;
+        }
+        final Lump playpal = lookup.findLump("PLAYPAL");
+        if(playpal == null || playpal.getSize() < Playpal.PALETTE_SIZE) {
+            throw new IllegalStateException("No PLAYPAL lump to colour the graphics with.");
+        }
+        return Playpal.decode(playpal).getPalette(0);
+    }
+
+    /**
+     * Collects the lumps of every graphic that is packed, and the name of the
+     * region of each. When a namespace has more than one graphic with the same
+     * name, the last one is packed in the place of the first.
+     * @param lumps the list to add the lumps to.
+     * @param names the list to add the region names to.
+     * @since 1.1
+     */
+    private void collect(final ArrayList<Lump> lumps, final ArrayList<String> names) {
+        final LinkedHashMap<String, Lump> graphics = new LinkedHashMap<>();
+        for(final LumpNamespace namespace : NAMESPACES) {
+            final String prefix = namespace.name().toLowerCase(Locale.ROOT)+"/";
+            for(final Lump lump : lookup.getLumps(namespace)) {
+                if(lump.getSize() == 0) {
+                    continue;
+                }
+                final boolean graphic = namespace == LumpNamespace.FLATS ? lump.getSize() % 64 == 0 : Picture.isPicture(lump);
+                if(graphic) {
+                    graphics.put(prefix+lump.getName().trim(), lump);
+                }
+            }
+        }
+        names.addAll(graphics.keySet());
+        lumps.addAll(graphics.values());
+    }
+
+    /**
+     * Returns the name of the cache files of the specified graphics.
+     * @param lumps the lumps of the graphics.
+     * @param colours the palette.
+     * @return the hexadecimal hash of the graphics, the palette and the settings.
+     * @since 1.1
+     */
+    private String cacheKey(final ArrayList<Lump> lumps, final int[] colours) {
+        final XXHash64 hash = new XXHash64();
+        hash.update(CACHE_VERSION).update(pagesize).update(padding);
+        for(final int colour : colours) {
+            hash.update(colour);
+        }
+        for(final Lump lump : lumps) {
+            hash.update(lump.getLumpName().longValue()).update(lump.getSize()).update(lump.getContentHash());
+        }
+        return String.format("%016x", hash.getValue());
+    }
+
+    /**
+     * Decodes a graphic into a new {@link com.badlogic.gdx.graphics.Pixmap Pixmap}.
+     * @param lump the lump of the graphic.
+     * @param flat true if the graphic is a flat rather than a picture.
+     * @param colours the palette.
+     * @return the decoded graphic.
+     * @since 1.1
+     */
+    private static Pixmap decode(final Lump lump, final boolean flat, final int[] colours) {
+        final LumpView view = lump.getView();
+        final int width = flat ? 64 : Picture.width(view);
+        final int height = flat ? view.size()/64 : Picture.height(view);
+        final Pixmap pixmap = new Pixmap(width, height, Pixmap.Format.RGBA8888);
+        final IntBuffer pixels = pixmap.getPixels().duplicate().order(ByteOrder.BIG_ENDIAN).asIntBuffer();
+        if(flat) {
+            final byte[] indexes = new byte[width*height];
+            view.get(0, indexes, 0, indexes.length);
+            Playpal.convert(indexes, 0, pixels, indexes.length, colours);
+        }
+        else {
+            pixmap.setBlending(Pixmap.Blending.None);
+            pixmap.setColor(0);
+            pixmap.fill();
+            Picture.draw(view, pixels, width, height, 0, 0, colours);
+        }
+        return pixmap;
+    }
+
+    /**
+     * Loads the atlas from the cache.
+     * @param directory the cache directory.
+     * @param key the name of the cache files.
+     * @return the atlas, or null if it is not in the cache or the cache is unusable.
+     * @since 1.1
+     */
+    private static TextureAtlas load(final FileHandle directory, final String key) {
+        final FileHandle regions = directory.child(key+".regions");
+        if(!regions.exists()) {
+            return null;
+        }
+        final TextureAtlas atlas = new TextureAtlas();
+        try(final DataInputStream in = new DataInputStream(regions.read())) {
+            if(in.readInt() != CACHE_MAGIC || in.readInt() != CACHE_VERSION) {
+                return null;
+            }
+            final Texture[] pages = new Texture[in.readInt()];
+            for(int i=0; i<pages.length; i++) {
+                final Pixmap pixmap = new Pixmap(directory.child(key+"-"+i+".png"));
+                try {
+                    pages[i] = texture(atlas, pixmap);
+                }
+                finally {
+                    pixmap.dispose();
+                }
+            }
+            final int count = in.readInt();
+            for(int i=0; i<count; i++) {
+                final String name = in.readUTF();
+                final int page = in.readInt();
+                atlas.addRegion(name, pages[page], in.readInt(), in.readInt(), in.readInt(), in.readInt());
+            }
+            return atlas;
+        } catch(final IOException | GdxRuntimeException | IndexOutOfBoundsException e) {
+            atlas.dispose();
+            return null;
+        }
+    }
+
+    /**
+     * Creates a page {@link com.badlogic.gdx.graphics.Texture Texture} that is
+     * disposed of with the atlas.
+     * @param atlas the atlas the page belongs to.
+     * @param pixmap the pixels of the page.
+     * @return the {@link com.badlogic.gdx.graphics.Texture Texture}.
+     * @since 1.1
+     */
+    private static Texture texture(final TextureAtlas atlas, final Pixmap pixmap) {
+        final Texture texture = new Texture(pixmap);
+        texture.setFilter(Texture.TextureFilter.Nearest, Texture.TextureFilter.Nearest);
+        atlas.getTextures().add(texture);
+        return texture;
+    }
+
+    //Public Methods
+    /**
+     * Sets the palette to colour the graphics with, instead of the first palette
+     * of the <code>PLAYPAL</code> lump.
+     * @param palette the RGBA8888 colour of each of the 256 palette indexes.
+     * @return true if the palette is successfully set.
+     * @throws java.lang.IllegalArgumentException if the palette does not have 256
+     * colours.
+     * @since 1.1
+     */
+    public boolean setPalette(final int[] palette) throws IllegalArgumentException {
+        if(palette.length != 256) {
+            throw new IllegalArgumentException("Palette must have 256 colours.");
+        }
+        this.palette = palette.clone();
+        return true;
+    }
+
+    /**
+     * Sets the width and height of each page, which is 2048 pixels by default.
+     * @param pagesize the width and height of each page, in pixels.
+     * @return true if the page size is successfully set.
+     * @since 1.1
+     */
+    public boolean setPageSize(final int pagesize) {
+        this.pagesize = pagesize;
+        return true;
+    }
+
+    /**
+     * Sets the number of transparent pixels between graphics on a page, which is
+     * 2 by default.
+     * @param padding the number of pixels between graphics.
+     * @return true if the padding is successfully set.
+     * @since 1.1
+     */
+    public boolean setPadding(final int padding) {
+        this.padding = padding;
+        return true;
+    }
+
+    /**
+     * Packs the graphics into a {@link com.badlogic.gdx.graphics.g2d.TextureAtlas
+     * TextureAtlas}, or loads it from the cache if the same graphics have been
+     * packed before. A cache that cannot be read is ignored and written again.
+     * @return the atlas, which the caller must dispose of.
+     * @throws java.io.IOException if the atlas cannot be written to the cache.
+     * @throws java.lang.IllegalStateException if no palette has been set and there
+     * is no usable <code>PLAYPAL</code> lump, or if a lump cannot be read.
+     * @since 1.1
+     */
+    public TextureAtlas build() throws IOException, IllegalStateException {
+        final int[] colours = palette();
+        final ArrayList<Lump> lumps = new ArrayList<>();
+        final ArrayList<String> names = new ArrayList<>();
+        collect(lumps, names);
+
+        String key = null;
+        if(cachedirectory != null) {
+            key = cacheKey(lumps, colours);
+            final TextureAtlas cached = load(cachedirectory, key);
+            if(cached != null) {
+                return cached;
+            }
+        }
+
+        final PixmapPacker packer = new PixmapPacker(pagesize, pagesize, Pixmap.Format.RGBA8888, padding, false);
+        try {
+            for(int i=0; i<lumps.size(); i++) {
+                final Lump lump = lumps.get(i);
+                final Pixmap pixmap = decode(lump, names.get(i).startsWith("flats/"), colours);
+                try {
+                    packer.pack(names.get(i), pixmap);
+                }
+                finally {
+                    pixmap.dispose();
+                }
+            }
+
+            final int pages = packer.getPages().size;
+            if(key != null) {
+                //The region file is written last, so that the cache is only used once every page is written.
+                try {
+                    cachedirectory.mkdirs();
+                    for(int i=0; i<pages; i++) {
+                        PixmapIO.writePNG(cachedirectory.child(key+"-"+i+".png"), packer.getPages().get(i).getPixmap());
+                    }
+                    try(final DataOutputStream out = new DataOutputStream(cachedirectory.child(key+".regions").write(false))) {
+                        out.writeInt(CACHE_MAGIC);
+                        out.writeInt(CACHE_VERSION);
+                        out.writeInt(pages);
+                        out.writeInt(names.size());
+                        for(final String name : names) {
+                            final Rectangle rectangle = packer.getRect(name);
+                            out.writeUTF(name);
+                            out.writeInt(packer.getPageIndex(name));
+                            out.writeInt((int)rectangle.x);
+                            out.writeInt((int)rectangle.y);
+                            out.writeInt((int)rectangle.width);
+                            out.writeInt((int)rectangle.height);
+                        }
+                    }
+                } catch(final GdxRuntimeException e) {
+                    throw new IOException("Atlas cannot be written to the cache.", e);
+                }
+            }
+
+            final TextureAtlas atlas = new TextureAtlas();
+            final Texture[] textures = new Texture[pages];
+            for(int i=0; i<pages; i++) {
+                textures[i] = texture(atlas, packer.getPages().get(i).getPixmap());
+            }
+            for(final String name : names) {
+                final Rectangle rectangle = packer.getRect(name);
+                atlas.addRegion(name, textures[packer.getPageIndex(name)], (int)rectangle.x, (int)rectangle.y, (int)rectangle.width, (int)rectangle.height);
+            }
+            return atlas;
+        }
+        finally {
+            packer.dispose();
+        }
+    }
+}
@@ -0,0 +1,148 @@
+/*
+ * Colormap.java
+ * This file is part of jwadlib.
+ *
+ * jwadlib WAD Library - A Java(TM) library for manipulating WAD files.
+ * Copyright (C) 2025 @picttarge
+ *
+ * jwadlib is free software; you can redistribute it and/or
+ * modify it under the terms of the GNU Lesser General Public
+ * License as published by the Free Software Foundation; either
+ * version 2.1 of the License, or (at your option) any later version.
+ *
+ * jwadlib is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the GNU
+ * Lesser General Public License for more details.
+ *
+ * You should have received a copy of the GNU Lesser General Public
+ * License along with this library; if not, write to the Free Software
+ * Foundation, Inc., 51 Franklin Street, Fifth Floor, Boston, MA  02110-1301  USA
+ */
+package jwadlib.graphics;
+
+import jwadlib.Lump;
+import jwadlib.LumpView;
+
+/**
+ * The decoded <code>COLORMAP</code> lump: tables that map each palette index to
+ * the index of a darker or otherwise changed colour. Doom has thirty-four maps,
+ * thirty-two light levels from brightest to darkest, the inverted greyscale of
+ * the invulnerability power-up, and an all black map.
+ * <p>
+ * Each map is kept both as palette indexes and, looked up in a palette when the
+ * lump is decoded, as RGBA8888 colours, so that a shaded pixel's colour is a
+ * single array read. The arrays returned are shared rather than copied, so
+ * they must not be changed.
+ * @author @picttarge
+ * @version 1.1
+ * @since 1.1
+ */
+public final class Colormap {
+    //Public Static Variables
+    /**
+     * The number of bytes in each map of the lump.
+     * @since 1.1
+     */
+    public static final int MAP_SIZE = 256;
+
+    //Private Variables
+    /**
+     * The palette index that each palette index becomes, for each map.
+     * @since 1.1
+     */
+    private final byte[][] indexes;
+
+    /**
+     * The RGBA8888 colour that each palette index becomes, for each map.
+     * @since 1.1
+     */
+    private final int[][] colours;
+
+    //Constructors
+    /**
+     * Creates a {@link Colormap Colormap} of the specified maps.
+     * @param indexes the palette indexes of each map.
+     * @param colours the colours of each map.
+     * @since 1.1
+     */
+    private Colormap(final byte[][] indexes, final int[][] colours) {
+        this.indexes = indexes;
+        this.colours = colours;
+    }
+
+    //Public Methods
+    /**
+     * Returns the number of maps.
+     * @return the number of maps.
+     * @since 1.1
+     */
+    public int getNumberOfMaps() {
+        return indexes.length;
+    }
+
+    /**
+     * Returns the palette index that each palette index becomes in the specified
+     * map. The array is shared and must not be changed.
+     * @param map the number of the map, where 0 is the brightest light level.
+     * @return the 256 palette indexes of the map.
+     * @throws java.lang.IndexOutOfBoundsException if there is no such map.
+     * @since 1.1
+     */
+    public byte[] getIndexes(final int map) throws IndexOutOfBoundsException {
+        return indexes[map];
+    }
+
+    /**
+     * Returns the colour that each palette index becomes in the specified map.
+     * The array is shared and must not be changed, and can be given to {@link
+     * Playpal#convert(byte[], int, int[], int, int, int[]) Playpal.convert()} as
+     * a palette to shade pixels while converting them.
+     * @param map the number of the map, where 0 is the brightest light level.
+     * @return the RGBA8888 colour of each of the 256 palette indexes in the map.
+     * @throws java.lang.IndexOutOfBoundsException if there is no such map.
+     * @since 1.1
+     */
+    public int[] getColours(final int map) throws IndexOutOfBoundsException {
+        return colours[map];
+    }
+
+    //Public Static Methods
+    /**
+     * Decodes a <code>COLORMAP</code> lump and looks its maps up in a palette.
+     * @param lump the lump to decode.
+     * @param palette the RGBA8888 colour of each of the 256 palette indexes,
+     * usually {@link Playpal#getPalette(int) Playpal.getPalette(0)}.
+     * @return the decoded maps.
+     * @throws java.lang.IllegalArgumentException if the lump does not hold a whole map.
+     * @throws java.lang.IllegalStateException if the lump data cannot be read.
+     * @since 1.1
+     */
+    public static Colormap decode(final Lump lump, final int[] palette) throws IllegalArgumentException, IllegalStateException {
+        return decode(lump.getView(), palette);
+    }
+
+    /**
+     * Decodes the data of a <code>COLORMAP</code> lump and looks its maps up in a
+     * palette. Any bytes after the last whole map are ignored.
+     * @param view the lump data.
+     * @param palette the RGBA8888 colour of each of the 256 palette indexes.
+     * @return the decoded maps.
+     * @throws java.lang.IllegalArgumentException if the data does not hold a whole map.
+     * @since 1.1
+     */
+    public static Colormap decode(final LumpView view, final int[] palette) throws IllegalArgumentException {
+        final int count = view.size()/MAP_SIZE;
+        if(count == 0) {
+            throw new IllegalArgumentException("COLORMAP must hold at least one map.");
+        }
+        final byte[][] indexes = new byte[count][MAP_SIZE];
+        final int[][] colours = new int[count][];
+        for(int map=0; map<count; map++) {
+            view.get(map*MAP_SIZE, indexes[map], 0, MAP_SIZE);
+            colours[map] = new int[MAP_SIZE];
+            Playpal.convert(indexes[map], 0, colours[map], 0, MAP_SIZE, palette);
+        }
+        return new Colormap(indexes, colours);
+    }
+}
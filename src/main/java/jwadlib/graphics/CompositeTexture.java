@@ -0,0 +1,129 @@
+/*
+ * CompositeTexture.java
+ * This file is part of jwadlib.
+ *
+ * jwadlib WAD Library - A Java(TM) library for manipulating WAD files.
+ * Copyright (C) 2025 @picttarge
+ *
+ * jwadlib is free software; you can redistribute it and/or
+ * modify it under the terms of the GNU Lesser General Public
+ * License as published by the Free Software Foundation; either
+ * version 2.1 of the License, or (at your option) any later version.
+ *
+ * jwadlib is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the GNU
+ * Lesser General Public License for more details.
+ *
+ * You should have received a copy of the GNU Lesser General Public
+ * License along with this library; if not, write to the Free Software
+ * Foundation, Inc., 51 Franklin Street, Fifth Floor, Boston, MA  02110-1301  USA
+ */
+package jwadlib.graphics;
+
+/**
+ * A wall texture composed from patches by a {@link TextureComposer
+ * TextureComposer}, or one of the patches it is composed from. Its pixels are RGBA8888 colours in rows from the top left,
+ * and pixels that no patch covers are fully transparent.
+ * @author @picttarge
+ * @version 1.1
+ * @since 1.1
+ */
+public final class CompositeTexture {
+    //Private Variables
+    /**
+     * The name of the texture.
+     * @since 1.1
+     */
+    private final String name;
+
+    /**
+     * The width of the texture, in pixels.
+     * @since 1.1
+     */
+    private final int width;
+
+    /**
+     * The height of the texture, in pixels.
+     * @since 1.1
+     */
+    private final int height;
+
+    /**
+     * True if the texture is marked as having transparent pixels.
+     * @since 1.1
+     */
+    private final boolean masked;
+
+    /**
+     * The colours of the texture.
+     * @since 1.1
+     */
+    private final int[] pixels;
+
+    //Constructors
+    /**
+     * Creates a {@link CompositeTexture CompositeTexture}.
+     * @param name the name of the texture.
+     * @param width the width of the texture.
+     * @param height the height of the texture.
+     * @param masked true if the texture is marked as having transparent pixels.
+     * @param pixels the colours of the texture.
+     * @since 1.1
+     */
+    CompositeTexture(final String name, final int width, final int height, final boolean masked, final int[] pixels) {
+        this.name = name;
+        this.width = width;
+        this.height = height;
+        this.masked = masked;
+        this.pixels = pixels;
+    }
+
+    //Public Methods
+    /**
+     * Returns the name of the texture.
+     * @return the name of the texture.
+     * @since 1.1
+     */
+    public String getName() {
+        return name;
+    }
+
+    /**
+     * Returns the width of the texture.
+     * @return the width, in pixels.
+     * @since 1.1
+     */
+    public int getWidth() {
+        return width;
+    }
+
+    /**
+     * Returns the height of the texture.
+     * @return the height, in pixels.
+     * @since 1.1
+     */
+    public int getHeight() {
+        return height;
+    }
+
+    /**
+     * Returns true if the texture is marked as having transparent pixels, as
+     * textures for see-through middle walls are.
+     * @return true if the texture is masked, otherwise false.
+     * @since 1.1
+     */
+    public boolean isMasked() {
+        return masked;
+    }
+
+    /**
+     * Returns the colours of the texture, width &#215; height RGBA8888 colours in
+     * rows from the top left. The array belongs to the texture and is not copied.
+     * @return the colours of the texture.
+     * @since 1.1
+     */
+    public int[] getPixels() {
+        return pixels;
+    }
+}
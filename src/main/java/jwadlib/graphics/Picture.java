@@ -0,0 +1,353 @@
+/*
+ * Picture.java
+ * This file is part of jwadlib.
+ *
+ * jwadlib WAD Library - A Java(TM) library for manipulating WAD files.
+ * Copyright (C) 2025 @picttarge
+ *
+ * jwadlib is free software; you can redistribute it and/or
+ * modify it under the terms of the GNU Lesser General Public
+ * License as published by the Free Software Foundation; either
+ * version 2.1 of the License, or (at your option) any later version.
+ *
+ * jwadlib is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the GNU
+ * Lesser General Public License for more details.
+ *
+ * You should have received a copy of the GNU Lesser General Public
+ * License along with this library; if not, write to the Free Software
+ * Foundation, Inc., 51 Franklin Street, Fifth Floor, Boston, MA  02110-1301  USA
+ */
+package jwadlib.graphics;
+
+import jwadlib.Lump;
+import jwadlib.LumpView;
+
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.IntBuffer;
+import java.nio.channels.WritableByteChannel;
+
+/**
+ * Decodes graphics in the Doom picture format, which sprites, wall patches and
+ * menu graphics are stored in. A picture starts with an eight byte header of
+ * its width, height and offsets, followed by the position of each column. Each
+ * column is a list of posts, which are runs of opaque, palette indexed pixels;
+ * anything between the posts is transparent.
+ * <p>
+ * The header can be read on its own without decoding the picture. Pictures are
+ * drawn into a row-major destination that the caller supplies, which may be
+ * larger than the picture, such as a texture or an atlas page. Only the opaque
+ * pixels are written, so whatever the destination held shows through the
+ * transparent ones, and a picture that overlaps the edges of the destination
+ * is clipped. Nothing is allocated while drawing.
+ * <p>
+ * Posts in pictures taller than 254 pixels are read the way DeePsea and most
+ * source ports write them, with each post that does not start below the last
+ * one taken to start relative to it.
+ * @author @picttarge
+ * @version 1.1
+ * @since 1.1
+ */
+public final class Picture {
+    //Public Static Variables
+    /**
+     * The number of bytes in the header of a picture.
+     * @since 1.1
+     */
+    public static final int HEADER_SIZE = 8;
+
+    //Constructors
+    /**
+     * {@link Picture Picture} only has static methods.
+     * @since 1.1
+     */
+    private Picture() {
+    }
+
+    //Private Static Methods
+    /**
+     * Draws the opaque pixels of a picture into exactly one of the destinations.
+     * @param view the picture data.
+     * @param x the column of the destination to draw the left edge of the picture at.
+     * @param y the row of the destination to draw the top edge of the picture at.
+     * @param destwidth the number of pixels in each row of the destination.
+     * @param destheight the number of rows in the destination.
+     * @param indexed the destination for palette indexes, or null.
+     * @param rgba the destination for colours, or null.
+     * @param rgbabuffer the destination for colours from its position, or null.
+     * @param palette the colour of each palette index, if the destination is for colours.
+     * @since 1.1
+     */
+    private static void draw(final LumpView view, final int x, final int y, final int destwidth, final int destheight, final byte[] indexed, final int[] rgba, final IntBuffer rgbabuffer, final int[] palette) {
+        final int size = view.size();
+        final int width = width(view);
+        final int base = rgbabuffer == null ? 0 : rgbabuffer.position();
+        final int firstcolumn = Math.max(0, -x);
+        final int lastcolumn = Math.min(width, destwidth-x);
+        for(int column=firstcolumn; column<lastcolumn; column++) {
+            int post = view.i32(HEADER_SIZE+column*4);
+            int top = -1;
+            while(post >= 0 && post+2 <= size) {
+                final int delta = view.u8(post);
+                if(delta == 0xFF) {
+                    break;
+                }
+                top = delta <= top ? top+delta : delta;
+                final int length = Math.min(view.u8(post+1), size-post-3);
+                final int data = post+3;
+                final int first = Math.max(0, -(y+top));
+                final int last = Math.min(length, destheight-y-top);
+                int pixel = (y+top+first)*destwidth+x+column;
+                for(int i=first; i<last; i++, pixel+=destwidth) {
+                    if(indexed != null) {
+                        indexed[pixel] = view.i8(data+i);
+                    }
+                    else if(rgba != null) {
+                        rgba[pixel] = palette[view.u8(data+i)];
+                    }
+                    else {
+                        rgbabuffer.put(base+pixel, palette[view.u8(data+i)]);
+                    }
+                }
+                post = data+view.u8(post+1)+1;
+            }
+        }
+    }
+
+    /**
+     * Returns true if a picture of the specified size has a plausible width and
+     * height and room for its column positions.
+     * @param width the width of the picture.
+     * @param height the height of the picture.
+     * @param size the size of the picture data.
+     * @return true if the dimensions fit the data, otherwise false.
+     * @since 1.1
+     */
+    private static boolean fits(final int width, final int height, final int size) {
+        return width > 0 && height > 0 && width <= 4096 && height <= 4096 && HEADER_SIZE+width*4 <= size;
+    }
+
+    /**
+     * Returns true if every column of a picture starts after the column
+     * positions and inside the data.
+     * @param columns the data holding the column positions.
+     * @param offset the offset of the first column position in the data.
+     * @param width the width of the picture.
+     * @param size the size of the picture data.
+     * @return true if every column starts inside the data, otherwise false.
+     * @since 1.1
+     */
+    private static boolean columnsFit(final LumpView columns, final int offset, final int width, final int size) {
+        for(int column=0; column<width; column++) {
+            final int post = columns.i32(offset+column*4);
+            if(post < HEADER_SIZE+width*4 || post >= size) {
+                return false;
+            }
+        }
+        return true;
+    }
+
+    /**
+     * Reads part of a lump into a {@link jwadlib.LumpView LumpView} of its own.
+     * @param lump the lump to read.
+     * @param offset the offset of the first byte to read.
+     * @param length the number of bytes to read.
+     * @return a {@link jwadlib.LumpView LumpView} of the bytes read.
+     * @throws java.lang.IllegalStateException if the lump data cannot be read.
+     * @since 1.1
+     */
+    private static LumpView read(final Lump lump, final int offset, final int length) throws IllegalStateException {
+        final ByteBuffer bytes = ByteBuffer.allocate(length);
+        try {
+            lump.transferTo(new WritableByteChannel() {
+                @Override
+                public int write(final ByteBuffer source) {
+                    final int written = source.remaining();
+                    bytes.put(source);
+                    return written;
+                }
+
+                @Override
+                public boolean isOpen() {
+                    return true;
+                }
+
+                @Override
+                public void close() {
+                }
+            }, offset, length);
+        } catch(final IOException e) {
+            throw new IllegalStateException("Lump data could not be read.", e);
+        }
+        bytes.flip();
+        return new LumpView(bytes);
+    }
+
+    //Public Static Methods
+    /**
+     * Returns the width of a picture from its header.
+     * @param view the picture data.
+     * @return the width, in pixels.
+     * @throws java.lang.IndexOutOfBoundsException if the data is too short for a header.
+     * @since 1.1
+     */
+    public static int width(final LumpView view) throws IndexOutOfBoundsException {
+        return view.u16(0);
+    }
+
+    /**
+     * Returns the height of a picture from its header.
+     * @param view the picture data.
+     * @return the height, in pixels.
+     * @throws java.lang.IndexOutOfBoundsException if the data is too short for a header.
+     * @since 1.1
+     */
+    public static int height(final LumpView view) throws IndexOutOfBoundsException {
+        return view.u16(2);
+    }
+
+    /**
+     * Returns how far left of its origin a picture is drawn, from its header.
+     * @param view the picture data.
+     * @return the left offset, in pixels.
+     * @throws java.lang.IndexOutOfBoundsException if the data is too short for a header.
+     * @since 1.1
+     */
+    public static int leftOffset(final LumpView view) throws IndexOutOfBoundsException {
+        return view.i16(4);
+    }
+
+    /**
+     * Returns how far above its origin a picture is drawn, from its header.
+     * @param view the picture data.
+     * @return the top offset, in pixels.
+     * @throws java.lang.IndexOutOfBoundsException if the data is too short for a header.
+     * @since 1.1
+     */
+    public static int topOffset(final LumpView view) throws IndexOutOfBoundsException {
+        return view.i16(6);
+    }
+
+    /**
+     * Returns true if the data looks like a picture: it has a header with a
+     * width and height, and every column starts inside the data. Lumps in other
+     * formats, such as flats and sounds, almost never pass.
+     * @param view the data to check.
+     * @return true if the data is a picture, otherwise false.
+     * @since 1.1
+     */
+    public static boolean isPicture(final LumpView view) {
+        final int size = view.size();
+        if(size < HEADER_SIZE || !fits(width(view), height(view), size)) {
+            return false;
+        }
+        return columnsFit(view, HEADER_SIZE, width(view), size);
+    }
+
+    /**
+     * Returns true if the lump looks like a picture, in the same way as {@link
+     * #isPicture(jwadlib.LumpView) isPicture()}, reading only the header and the
+     * column positions. A lump that has not been read yet is not read into
+     * memory, so a whole namespace can be checked without loading its graphics.
+     * @param lump the lump to check.
+     * @return true if the lump is a picture, otherwise false.
+     * @throws java.lang.IllegalStateException if the lump data cannot be read.
+     * @since 1.1
+     */
+    public static boolean isPicture(final Lump lump) throws IllegalStateException {
+        final int size = lump.getSize();
+        if(size < HEADER_SIZE) {
+            return false;
+        }
+        final LumpView header = read(lump, 0, HEADER_SIZE);
+        final int width = width(header);
+        if(!fits(width, height(header), size)) {
+            return false;
+        }
+        return columnsFit(read(lump, HEADER_SIZE, width*4), 0, width, size);
+    }
+
+    /**
+     * Decodes a picture into an array of palette indexes that is exactly as wide
+     * as the picture. Transparent pixels are left as they are, so fill the array
+     * with an index that the picture does not use first if they need to be told
+     * apart.
+     * @param view the picture data.
+     * @param destination the array to decode into, which must hold at least
+     * width &#215; height bytes.
+     * @throws java.lang.IndexOutOfBoundsException if the picture data is malformed.
+     * @since 1.1
+     */
+    public static void decode(final LumpView view, final byte[] destination) throws IndexOutOfBoundsException {
+        draw(view, destination, width(view), height(view), 0, 0);
+    }
+
+    /**
+     * Decodes a picture into an array of colours that is exactly as wide as the
+     * picture. Transparent pixels are left as they are.
+     * @param view the picture data.
+     * @param destination the array to decode into, which must hold at least
+     * width &#215; height colours.
+     * @param palette the RGBA8888 colour of each of the 256 palette indexes.
+     * @throws java.lang.IndexOutOfBoundsException if the picture data is malformed.
+     * @since 1.1
+     */
+    public static void decode(final LumpView view, final int[] destination, final int[] palette) throws IndexOutOfBoundsException {
+        draw(view, destination, width(view), height(view), 0, 0, palette);
+    }
+
+    /**
+     * Draws the opaque pixels of a picture into an array of palette indexes, with
+     * the top left corner of the picture at the specified pixel.
+     * @param view the picture data.
+     * @param destination the row-major array to draw into.
+     * @param destwidth the number of pixels in each row of the destination.
+     * @param destheight the number of rows in the destination.
+     * @param x the column to draw the left edge of the picture at, which may be negative.
+     * @param y the row to draw the top edge of the picture at, which may be negative.
+     * @throws java.lang.IndexOutOfBoundsException if the picture data is malformed.
+     * @since 1.1
+     */
+    public static void draw(final LumpView view, final byte[] destination, final int destwidth, final int destheight, final int x, final int y) throws IndexOutOfBoundsException {
+        draw(view, x, y, destwidth, destheight, destination, null, null, null);
+    }
+
+    /**
+     * Draws the opaque pixels of a picture into an array of colours, with the top
+     * left corner of the picture at the specified pixel.
+     * @param view the picture data.
+     * @param destination the row-major array to draw into.
+     * @param destwidth the number of pixels in each row of the destination.
+     * @param destheight the number of rows in the destination.
+     * @param x the column to draw the left edge of the picture at, which may be negative.
+     * @param y the row to draw the top edge of the picture at, which may be negative.
+     * @param palette the RGBA8888 colour of each of the 256 palette indexes.
+     * @throws java.lang.IndexOutOfBoundsException if the picture data is malformed.
+     * @since 1.1
+     */
+    public static void draw(final LumpView view, final int[] destination, final int destwidth, final int destheight, final int x, final int y, final int[] palette) throws IndexOutOfBoundsException {
+        draw(view, x, y, destwidth, destheight, null, destination, null, palette);
+    }
+
+    /**
+     * Draws the opaque pixels of a picture into a buffer of colours, with the top
+     * left corner of the picture at the specified pixel. The first pixel of the
+     * destination is at the buffer's position, which is not changed. A libGDX
+     * <code>Pixmap</code> in the RGBA8888 format can be drawn into through
+     * <code>getPixels().asIntBuffer()</code>.
+     * @param view the picture data.
+     * @param destination the row-major buffer to draw into.
+     * @param destwidth the number of pixels in each row of the destination.
+     * @param destheight the number of rows in the destination.
+     * @param x the column to draw the left edge of the picture at, which may be negative.
+     * @param y the row to draw the top edge of the picture at, which may be negative.
+     * @param palette the RGBA8888 colour of each of the 256 palette indexes.
+     * @throws java.lang.IndexOutOfBoundsException if the picture data is malformed.
+     * @since 1.1
+     */
+    public static void draw(final LumpView view, final IntBuffer destination, final int destwidth, final int destheight, final int x, final int y, final int[] palette) throws IndexOutOfBoundsException {
+        draw(view, x, y, destwidth, destheight, null, null, destination, palette);
+    }
+}
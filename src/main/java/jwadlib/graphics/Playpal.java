@@ -0,0 +1,196 @@
+/*
+ * Playpal.java
+ * This file is part of jwadlib.
+ *
+ * jwadlib WAD Library - A Java(TM) library for manipulating WAD files.
+ * Copyright (C) 2025 @picttarge
+ *
+ * jwadlib is free software; you can redistribute it and/or
+ * modify it under the terms of the GNU Lesser General Public
+ * License as published by the Free Software Foundation; either
+ * version 2.1 of the License, or (at your option) any later version.
+ *
+ * jwadlib is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the GNU
+ * Lesser General Public License for more details.
+ *
+ * You should have received a copy of the GNU Lesser General Public
+ * License along with this library; if not, write to the Free Software
+ * Foundation, Inc., 51 Franklin Street, Fifth Floor, Boston, MA  02110-1301  USA
+ */
+package jwadlib.graphics;
+
+import jwadlib.Lump;
+import jwadlib.LumpView;
+
+import java.nio.BufferOverflowException;
+import java.nio.IntBuffer;
+
+/**
+ * The decoded <code>PLAYPAL</code> lump: every palette of 256 colours, each
+ * packed into an <code>int</code> as RGBA8888 and fully opaque. Doom has
+ * fourteen palettes, the normal one followed by the red, yellow and green
+ * tinted ones used for pain, item pickups and the radiation suit.
+ * <p>
+ * The palettes are decoded once, and the arrays returned by {@link
+ * #getPalette(int) getPalette()} are shared rather than copied, so they must
+ * not be changed. {@link #convert(byte[], int, int[], int, int, int[])
+ * convert()} turns palette indexes into colours in bulk.
+ * @author @picttarge
+ * @version 1.1
+ * @since 1.1
+ */
+public final class Playpal {
+    //Public Static Variables
+    /**
+     * The number of colours in each palette.
+     * @since 1.1
+     */
+    public static final int COLOURS = 256;
+
+    /**
+     * The number of bytes in each palette of the lump.
+     * @since 1.1
+     */
+    public static final int PALETTE_SIZE = COLOURS*3;
+
+    //Private Variables
+    /**
+     * The RGBA8888 colours of each palette.
+     * @since 1.1
+     */
+    private final int[][] palettes;
+
+    //Constructors
+    /**
+     * Creates a {@link Playpal Playpal} of the specified palettes.
+     * @param palettes the colours of each palette.
+     * @since 1.1
+     */
+    private Playpal(final int[][] palettes) {
+        this.palettes = palettes;
+    }
+
+    //Public Methods
+    /**
+     * Returns the number of palettes.
+     * @return the number of palettes.
+     * @since 1.1
+     */
+    public int getNumberOfPalettes() {
+        return palettes.length;
+    }
+
+    /**
+     * Returns the colours of the specified palette. The array is shared and must
+     * not be changed.
+     * @param index the number of the palette, where 0 is the normal palette.
+     * @return the RGBA8888 colour of each of the 256 palette indexes.
+     * @throws java.lang.IndexOutOfBoundsException if there is no such palette.
+     * @since 1.1
+     */
+    public int[] getPalette(final int index) throws IndexOutOfBoundsException {
+        return palettes[index];
+    }
+
+    //Public Static Methods
+    /**
+     * Decodes a <code>PLAYPAL</code> lump.
+     * @param lump the lump to decode.
+     * @return the decoded palettes.
+     * @throws java.lang.IllegalArgumentException if the lump does not hold a whole palette.
+     * @throws java.lang.IllegalStateException if the lump data cannot be read.
+     * @since 1.1
+     */
+    public static Playpal decode(final Lump lump) throws IllegalArgumentException, IllegalStateException {
+        return decode(lump.getView());
+    }
+
+    /**
+     * Decodes the data of a <code>PLAYPAL</code> lump. Any bytes after the last
+     * whole palette are ignored.
+     * @param view the lump data.
+     * @return the decoded palettes.
+     * @throws java.lang.IllegalArgumentException if the data does not hold a whole palette.
+     * @since 1.1
+     */
+    public static Playpal decode(final LumpView view) throws IllegalArgumentException {
+        final int count = view.size()/PALETTE_SIZE;
+        if(count == 0) {
+            throw new IllegalArgumentException("PLAYPAL must hold at least one palette.");
+        }
+        final int[][] palettes = new int[count][COLOURS];
+        for(int p=0, offset=0; p<count; p++) {
+            final int[] palette = palettes[p];
+            for(int i=0; i<COLOURS; i++, offset+=3) {
+                palette[i] = view.u8(offset) << 24 | view.u8(offset+1) << 16 | view.u8(offset+2) << 8 | 0xFF;
+            }
+        }
+        return new Playpal(palettes);
+    }
+
+    /**
+     * Converts palette indexes into colours.
+     * @param indexes the palette indexes.
+     * @param indexoffset the position of the first index to convert.
+     * @param destination the array to write the colours to.
+     * @param destinationoffset the position to write the first colour to.
+     * @param length the number of indexes to convert.
+     * @param palette the colour of each of the 256 palette indexes.
+     * @throws java.lang.IndexOutOfBoundsException if the offsets or the length are
+     * out of range.
+     * @since 1.1
+     */
+    public static void convert(final byte[] indexes, final int indexoffset, final int[] destination, final int destinationoffset, final int length, final int[] palette) throws IndexOutOfBoundsException {
+        if(indexoffset < 0 || destinationoffset < 0 || length < 0 || indexoffset+length > indexes.length || destinationoffset+length > destination.length || palette.length < COLOURS) {
+            throw new IndexOutOfBoundsException("Conversion out of range.");
+        }
+        //Four pixels per iteration, with the bounds already checked, so the loop is unrolled without range checks.
+        final int end = length & ~3;
+        int i = 0;
+        for(; i<end; i+=4) {
+            destination[destinationoffset+i] = palette[indexes[indexoffset+i] & 0xFF];
+            destination[destinationoffset+i+1] = palette[indexes[indexoffset+i+1] & 0xFF];
+            destination[destinationoffset+i+2] = palette[indexes[indexoffset+i+2] & 0xFF];
+            destination[destinationoffset+i+3] = palette[indexes[indexoffset+i+3] & 0xFF];
+        }
+        for(; i<length; i++) {
+            destination[destinationoffset+i] = palette[indexes[indexoffset+i] & 0xFF];
+        }
+    }
+
+    /**
+     * Converts palette indexes into colours, writing them to a buffer from its
+     * position and moving its position past them. A libGDX <code>Pixmap</code> in
+     * the RGBA8888 format can be written to through
+     * <code>getPixels().asIntBuffer()</code>.
+     * @param indexes the palette indexes.
+     * @param indexoffset the position of the first index to convert.
+     * @param destination the buffer to write the colours to.
+     * @param length the number of indexes to convert.
+     * @param palette the colour of each of the 256 palette indexes.
+     * @throws java.lang.IndexOutOfBoundsException if the offset or the length are
+     * out of range.
+     * @throws java.nio.BufferOverflowException if the buffer does not have room
+     * for the colours.
+     * @since 1.1
+     */
+    public static void convert(final byte[] indexes, final int indexoffset, final IntBuffer destination, final int length, final int[] palette) throws IndexOutOfBoundsException, BufferOverflowException {
+        if(length > destination.remaining()) {
+            throw new BufferOverflowException();
+        }
+        if(destination.hasArray()) {
+            convert(indexes, indexoffset, destination.array(), destination.arrayOffset()+destination.position(), length, palette);
+            destination.position(destination.position()+length);
+            return;
+        }
+        //Converts through a small array, so that the buffer is written with bulk puts.
+        final int[] chunk = new int[Math.min(length, 4096)];
+        for(int done=0; done<length; done+=chunk.length) {
+            final int count = Math.min(chunk.length, length-done);
+            convert(indexes, indexoffset+done, chunk, 0, count, palette);
+            destination.put(chunk, 0, count);
+        }
+    }
+}
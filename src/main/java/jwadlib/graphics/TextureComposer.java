@@ -0,0 +1,291 @@
+/*
+ * TextureComposer.java
+ * This file is part of jwadlib.
+ *
+ * jwadlib WAD Library - A Java(TM) library for manipulating WAD files.
+ * Copyright (C) 2025 @picttarge
+ *
+ * jwadlib is free software; you can redistribute it and/or
+ * modify it under the terms of the GNU Lesser General Public
+ * License as published by the Free Software Foundation; either
+ * version 2.1 of the License, or (at your option) any later version.
+ *
+ * jwadlib is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the GNU
+ * Lesser General Public License for more details.
+ *
+ * You should have received a copy of the GNU Lesser General Public
+ * License along with this library; if not, write to the Free Software
+ * Foundation, Inc., 51 Franklin Street, Fifth Floor, Boston, MA  02110-1301  USA
+ */
+package jwadlib.graphics;
+
+import jwadlib.Lump;
+import jwadlib.LumpLookup;
+import jwadlib.LumpName;
+import jwadlib.LumpNamespace;
+import jwadlib.LumpView;
+import jwadlib.WeightedLruCache;
+
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+
+/**
+ * Composes the wall textures defined by the <code>TEXTURE1</code> and
+ * <code>TEXTURE2</code> lumps from the patches listed in <code>PNAMES</code>.
+ * The definitions are read the first time a texture is asked for, and each
+ * texture is composed only when it is asked for.
+ * <p>
+ * A patch is usually drawn in many textures, so decoded patches are kept in a
+ * {@link jwadlib.WeightedLruCache WeightedLruCache} with a budget in bytes, and
+ * a patch is only decoded again once it has been evicted. {@link
+ * #getPatchCache() getPatchCache()} gives its hit and miss counts. Composed
+ * textures are not kept, so callers should keep the ones they use.
+ * <p>
+ * Patches are looked up by name between <code>P_START</code> and
+ * <code>P_END</code> first and then anywhere, and when two textures share a
+ * name the first definition is used, as in Doom. Patches that cannot be found
+ * or are not pictures are left out. Only the Doom definition format is read,
+ * not Strife's.
+ * @author @picttarge
+ * @version 1.1
+ * @since 1.1
+ */
+public class TextureComposer {
+    //Private Static Variables
+    /**
+     * Stands in the patch cache for a patch that cannot be found or is not a
+     * picture, so that it is only looked for once.
+     * @since 1.1
+     */
+    private static final CompositeTexture MISSING = new CompositeTexture("", 0, 0, false, new int[0]);
+
+    //Private Variables
+    /**
+     * The lumps that the definitions and patches are found in.
+     * @since 1.1
+     */
+    private final LumpLookup lookup;
+
+    /**
+     * The RGBA8888 colour of each palette index.
+     * @since 1.1
+     */
+    private final int[] palette;
+
+    /**
+     * The decoded patches, weighed by the bytes of their pixels.
+     * @since 1.1
+     */
+    private final WeightedLruCache<LumpName, CompositeTexture> patches;
+
+    /**
+     * The names of the patches in <code>PNAMES</code>, or null until the
+     * definitions are read.
+     * @since 1.1
+     */
+    private LumpName[] patchnames;
+
+    /**
+     * Maps each texture name to the definition lump it is in.
+     * @since 1.1
+     */
+    private final HashMap<LumpName, LumpView> definitionlumps = new HashMap<>();
+
+    /**
+     * Maps each texture name to the offset of its definition.
+     * @since 1.1
+     */
+    private final HashMap<LumpName, Integer> definitionoffsets = new HashMap<>();
+
+    /**
+     * Every texture name, in definition order.
+     * @since 1.1
+     */
+    private final ArrayList<String> texturenames = new ArrayList<>();
+
+    //Constructors
+    /**
+     * Creates a {@link TextureComposer TextureComposer} with a patch cache of 16 MB.
+     * @param lookup the {@link jwadlib.Wad Wad} or {@link jwadlib.WadStack
+     * WadStack} to compose the textures of.
+     * @param palette the RGBA8888 colour of each of the 256 palette indexes.
+     * @since 1.1
+     */
+    public TextureComposer(final LumpLookup lookup, final int[] palette) {
+        this(lookup, palette, 16 << 20);
+    }
+
+    /**
+     * Creates a {@link TextureComposer TextureComposer}.
+     * @param lookup the {@link jwadlib.Wad Wad} or {@link jwadlib.WadStack
+     * WadStack} to compose the textures of.
+     * @param palette the RGBA8888 colour of each of the 256 palette indexes.
+     * @param patchcachebytes the most bytes of decoded patches to keep.
+     * @since 1.1
+     */
+    public TextureComposer(final LumpLookup lookup, final int[] palette, final long patchcachebytes) {
+        this.lookup = lookup;
+        this.palette = palette.clone();
+        patches = new WeightedLruCache<>(patchcachebytes, patch -> patch.getPixels().length*4L);
+    }
+
+    //Private Methods
+    /**
+     * Reads <code>PNAMES</code> and the texture definitions, if they have not
+     * been read yet.
+     * @throws java.lang.IllegalStateException if a lump cannot be read.
+     * @since 1.1
+     */
+    private void readDefinitions() throws IllegalStateException {
+        if(patchnames != null) {
+            return;
+        }
+        final Lump pnames = lookup.findLump("PNAMES");
+        if(pnames == null || pnames.getSize() < 4) {
+            patchnames = new LumpName[0];
+        }
+        else {
+            final LumpView view = pnames.getView();
+            final int count = Math.max(0, Math.min(view.i32(0), (view.size()-4)/8));
+            patchnames = new LumpName[count];
+            for(int i=0; i<count; i++) {
+                patchnames[i] = view.name(4+i*8);
+            }
+        }
+        for(final String lumpname : new String[] {"TEXTURE1", "TEXTURE2"}) {
+            final Lump lump = lookup.findLump(lumpname);
+            if(lump == null || lump.getSize() < 4) {
+                continue;
+            }
+            final LumpView view = lump.getView();
+            final int count = Math.max(0, Math.min(view.i32(0), (view.size()-4)/4));
+            for(int i=0; i<count; i++) {
+                final int offset = view.i32(4+i*4);
+                if(offset < 0 || offset+22 > view.size()) {
+                    continue;
+                }
+                final LumpName name = view.name(offset);
+                if(!definitionoffsets.containsKey(name)) {
+                    definitionlumps.put(name, view);
+                    definitionoffsets.put(name, offset);
+                    texturenames.add(name.toString().trim());
+                }
+            }
+        }
+    }
+
+    /**
+     * Decodes a patch.
+     * @param name the name of the patch.
+     * @return the decoded patch, or {@link #MISSING MISSING} if it cannot be found
+     * or is not a picture.
+     * @since 1.1
+     */
+    private CompositeTexture decodePatch(final LumpName name) {
+        Lump lump = lookup.findLump(name, LumpNamespace.PATCHES);
+        if(lump == null) {
+            lump = lookup.findLump(name);
+        }
+        if(lump == null || !Picture.isPicture(lump)) {
+            return MISSING;
+        }
+        final LumpView view = lump.getView();
+        final int width = Picture.width(view);
+        final int height = Picture.height(view);
+        final int[] pixels = new int[width*height];
+        Picture.decode(view, pixels, palette);
+        return new CompositeTexture(lump.getName().trim(), width, height, false, pixels);
+    }
+
+    //Public Methods
+    /**
+     * Returns the names of every texture defined, in definition order.
+     * @return a {@link java.util.List List} of the texture names.
+     * @throws java.lang.IllegalStateException if a lump cannot be read.
+     * @since 1.1
+     */
+    public synchronized List<String> getTextureNames() throws IllegalStateException {
+        readDefinitions();
+        return new ArrayList<>(texturenames);
+    }
+
+    /**
+     * Composes the texture with the specified name.
+     * @param name the name of the texture.
+     * @return the composed texture, or null if no texture has that name.
+     * @throws java.lang.IllegalStateException if a lump cannot be read.
+     * @since 1.1
+     */
+    public CompositeTexture compose(final String name) throws IllegalStateException {
+        return compose(LumpName.of(name));
+    }
+
+    /**
+     * Composes the texture with the specified name.
+     * @param name the name of the texture as a {@link jwadlib.LumpName LumpName}.
+     * @return the composed texture, or null if no texture has that name.
+     * @throws java.lang.IllegalStateException if a lump cannot be read.
+     * @since 1.1
+     */
+    public CompositeTexture compose(final LumpName name) throws IllegalStateException {
+        final LumpView view;
+        final int offset;
+        synchronized(this) {
+            readDefinitions();
+            final Integer found = definitionoffsets.get(name);
+            if(found == null) {
+                return null;
+            }
+            view = definitionlumps.get(name);
+            offset = found;
+        }
+
+        final boolean masked = view.i32(offset+8) != 0;
+        final int width = view.u16(offset+12);
+        final int height = view.u16(offset+14);
+        final int count = Math.min(view.u16(offset+20), (view.size()-offset-22)/10);
+        final int[] pixels = new int[width*height];
+        for(int i=0, placement=offset+22; i<count; i++, placement+=10) {
+            final int originx = view.i16(placement);
+            final int originy = view.i16(placement+2);
+            final int index = view.u16(placement+4);
+            if(index >= patchnames.length) {
+                continue;
+            }
+            final CompositeTexture patch = patches.get(patchnames[index], this::decodePatch);
+            if(patch == MISSING) {
+                continue;
+            }
+
+            //Copies the opaque pixels of the patch, clipped to the texture.
+            final int[] source = patch.getPixels();
+            final int firstx = Math.max(0, -originx);
+            final int lastx = Math.min(patch.getWidth(), width-originx);
+            final int firsty = Math.max(0, -originy);
+            final int lasty = Math.min(patch.getHeight(), height-originy);
+            for(int y=firsty; y<lasty; y++) {
+                int from = y*patch.getWidth()+firstx;
+                int to = (originy+y)*width+originx+firstx;
+                for(int x=firstx; x<lastx; x++, from++, to++) {
+                    if(source[from] != 0) {
+                        pixels[to] = source[from];
+                    }
+                }
+            }
+        }
+        return new CompositeTexture(name.toString().trim(), width, height, masked, pixels);
+    }
+
+    /**
+     * Returns the cache of decoded patches, so that its hit, miss and eviction
+     * counts can be read.
+     * @return the patch cache.
+     * @since 1.1
+     */
+    public WeightedLruCache<LumpName, CompositeTexture> getPatchCache() {
+        return patches;
+    }
+}
@@ -0,0 +1,33 @@
+/*
+ * package-info.java
+ * This file is part of jwadlib.
+ *
+ * jwadlib WAD Library - A Java(TM) library for manipulating WAD files.
+ * Copyright (C) 2025 @picttarge
+ *
+ * jwadlib is free software; you can redistribute it and/or
+ * modify it under the terms of the GNU Lesser General Public
+ * License as published by the Free Software Foundation; either
+ * version 2.1 of the License, or (at your option) any later version.
+ *
+ * jwadlib is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the GNU
+ * Lesser General Public License for more details.
+ *
+ * You should have received a copy of the GNU Lesser General Public
+ * License along with this library; if not, write to the Free Software
+ * Foundation, Inc., 51 Franklin Street, Fifth Floor, Boston, MA  02110-1301  USA
+ */
+/**
+ * This package decodes the graphics stored in WAD files, such as sprites, wall
+ * patches and menu graphics in the Doom picture format. Graphics are decoded
+ * straight into arrays and buffers that the caller supplies, so decoding a
+ * whole IWAD's graphics allocates nothing per lump, column or post. Colours are
+ * packed into an <code>int</code> as RGBA8888, with red in the highest byte and
+ * alpha in the lowest, which is the layout of a libGDX <code>Pixmap</code>.
+ * @author @picttarge
+ * @version 1.1
+ * @since 1.1
+ */
+package jwadlib.graphics;
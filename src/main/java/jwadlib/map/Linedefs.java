@@ -0,0 +1,253 @@
+/*
+ * Linedefs.java
+ * This file is part of jwadlib.
+ *
+ * jwadlib WAD Library - A Java(TM) library for manipulating WAD files.
+ * Copyright (C) 2025 @picttarge
+ *
+ * jwadlib is free software; you can redistribute it and/or
+ * modify it under the terms of the GNU Lesser General Public
+ * License as published by the Free Software Foundation; either
+ * version 2.1 of the License, or (at your option) any later version.
+ *
+ * jwadlib is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the GNU
+ * Lesser General Public License for more details.
+ *
+ * You should have received a copy of the GNU Lesser General Public
+ * License along with this library; if not, write to the Free Software
+ * Foundation, Inc., 51 Franklin Street, Fifth Floor, Boston, MA  02110-1301  USA
+ */
+package jwadlib.map;
+
+import jwadlib.Lump;
+import jwadlib.LumpView;
+
+import java.nio.ByteBuffer;
+
+/**
+ * The decoded <code>LINEDEFS</code> lump of a map. Each row is a line between
+ * two vertexes with a sidedef on one or both sides.
+ * <p>
+ * Vertex and sidedef numbers are unsigned, so maps with more than 32767 of
+ * either can be read. They are kept as they are stored, in <code>short</code>
+ * arrays, and must be masked with <code>&amp; 0xFFFF</code> before use. The
+ * static accessors return them already masked.
+ * @author @picttarge
+ * @version 1.1
+ * @since 1.1
+ */
+public final class Linedefs {
+    //Public Static Variables
+    /**
+     * The number of bytes in each row of the lump.
+     * @since 1.1
+     */
+    public static final int RECORD_SIZE = 14;
+
+    /**
+     * The sidedef number, once masked, of the missing side of a one-sided linedef.
+     * @since 1.1
+     */
+    public static final int NO_SIDEDEF = 0xFFFF;
+
+    //Public Variables
+    /**
+     * The unsigned number of the vertex each linedef starts at.
+     * @since 1.1
+     */
+    public final short[] start;
+
+    /**
+     * The unsigned number of the vertex each linedef ends at.
+     * @since 1.1
+     */
+    public final short[] end;
+
+    /**
+     * The flags of each linedef, such as whether it blocks monsters.
+     * @since 1.1
+     */
+    public final short[] flags;
+
+    /**
+     * The special action of each linedef.
+     * @since 1.1
+     */
+    public final short[] special;
+
+    /**
+     * The sector tag that each linedef's special acts on.
+     * @since 1.1
+     */
+    public final short[] tag;
+
+    /**
+     * The unsigned number of the sidedef on the right of each linedef.
+     * @since 1.1
+     */
+    public final short[] front;
+
+    /**
+     * The unsigned number of the sidedef on the left of each linedef, or {@link
+     * #NO_SIDEDEF NO_SIDEDEF} once masked if it is one-sided.
+     * @since 1.1
+     */
+    public final short[] back;
+
+    //Constructors
+    /**
+     * Creates a {@link Linedefs Linedefs} with room for the specified number of rows.
+     * @param count the number of rows.
+     * @since 1.1
+     */
+    private Linedefs(final int count) {
+        start = new short[count];
+        end = new short[count];
+        flags = new short[count];
+        special = new short[count];
+        tag = new short[count];
+        front = new short[count];
+        back = new short[count];
+    }
+
+    //Public Methods
+    /**
+     * Returns the number of linedefs.
+     * @return the number of linedefs.
+     * @since 1.1
+     */
+    public int size() {
+        return start.length;
+    }
+
+    //Public Static Methods
+    /**
+     * Decodes a <code>LINEDEFS</code> lump.
+     * @param lump the lump to decode.
+     * @return the decoded linedefs.
+     * @throws java.lang.IllegalStateException if the lump data cannot be read.
+     * @since 1.1
+     */
+    public static Linedefs decode(final Lump lump) throws IllegalStateException {
+        return decode(lump.getView());
+    }
+
+    /**
+     * Decodes the data of a <code>LINEDEFS</code> lump. Any bytes after the last
+     * whole row are ignored.
+     * @param view the lump data.
+     * @return the decoded linedefs.
+     * @since 1.1
+     */
+    public static Linedefs decode(final LumpView view) {
+        final Linedefs linedefs = new Linedefs(count(view));
+        final ByteBuffer data = view.asByteBuffer();
+        for(int i=0, offset=0; i<linedefs.start.length; i++, offset+=RECORD_SIZE) {
+            linedefs.start[i] = data.getShort(offset);
+            linedefs.end[i] = data.getShort(offset+2);
+            linedefs.flags[i] = data.getShort(offset+4);
+            linedefs.special[i] = data.getShort(offset+6);
+            linedefs.tag[i] = data.getShort(offset+8);
+            linedefs.front[i] = data.getShort(offset+10);
+            linedefs.back[i] = data.getShort(offset+12);
+        }
+        return linedefs;
+    }
+
+    /**
+     * Returns the number of whole rows in the data of a <code>LINEDEFS</code> lump.
+     * @param view the lump data.
+     * @return the number of rows.
+     * @since 1.1
+     */
+    public static int count(final LumpView view) {
+        return view.size()/RECORD_SIZE;
+    }
+
+    /**
+     * Reads the number of the vertex a linedef starts at straight from the lump data.
+     * @param view the lump data.
+     * @param index the row of the linedef.
+     * @return the vertex number, from 0 to 65535.
+     * @throws java.lang.IndexOutOfBoundsException if the row is out of range.
+     * @since 1.1
+     */
+    public static int start(final LumpView view, final int index) throws IndexOutOfBoundsException {
+        return view.u16(index*RECORD_SIZE);
+    }
+
+    /**
+     * Reads the number of the vertex a linedef ends at straight from the lump data.
+     * @param view the lump data.
+     * @param index the row of the linedef.
+     * @return the vertex number, from 0 to 65535.
+     * @throws java.lang.IndexOutOfBoundsException if the row is out of range.
+     * @since 1.1
+     */
+    public static int end(final LumpView view, final int index) throws IndexOutOfBoundsException {
+        return view.u16(index*RECORD_SIZE+2);
+    }
+
+    /**
+     * Reads the flags of a linedef straight from the lump data.
+     * @param view the lump data.
+     * @param index the row of the linedef.
+     * @return the flags.
+     * @throws java.lang.IndexOutOfBoundsException if the row is out of range.
+     * @since 1.1
+     */
+    public static short flags(final LumpView view, final int index) throws IndexOutOfBoundsException {
+        return view.i16(index*RECORD_SIZE+4);
+    }
+
+    /**
+     * Reads the special action of a linedef straight from the lump data.
+     * @param view the lump data.
+     * @param index the row of the linedef.
+     * @return the special action.
+     * @throws java.lang.IndexOutOfBoundsException if the row is out of range.
+     * @since 1.1
+     */
+    public static short special(final LumpView view, final int index) throws IndexOutOfBoundsException {
+        return view.i16(index*RECORD_SIZE+6);
+    }
+
+    /**
+     * Reads the sector tag of a linedef straight from the lump data.
+     * @param view the lump data.
+     * @param index the row of the linedef.
+     * @return the sector tag.
+     * @throws java.lang.IndexOutOfBoundsException if the row is out of range.
+     * @since 1.1
+     */
+    public static short tag(final LumpView view, final int index) throws IndexOutOfBoundsException {
+        return view.i16(index*RECORD_SIZE+8);
+    }
+
+    /**
+     * Reads the number of a linedef's right sidedef straight from the lump data.
+     * @param view the lump data.
+     * @param index the row of the linedef.
+     * @return the sidedef number, from 0 to 65535.
+     * @throws java.lang.IndexOutOfBoundsException if the row is out of range.
+     * @since 1.1
+     */
+    public static int front(final LumpView view, final int index) throws IndexOutOfBoundsException {
+        return view.u16(index*RECORD_SIZE+10);
+    }
+
+    /**
+     * Reads the number of a linedef's left sidedef straight from the lump data.
+     * @param view the lump data.
+     * @param index the row of the linedef.
+     * @return the sidedef number, or {@link #NO_SIDEDEF NO_SIDEDEF} if the
+     * linedef is one-sided.
+     * @throws java.lang.IndexOutOfBoundsException if the row is out of range.
+     * @since 1.1
+     */
+    public static int back(final LumpView view, final int index) throws IndexOutOfBoundsException {
+        return view.u16(index*RECORD_SIZE+12);
+    }
+}
@@ -0,0 +1,248 @@
+/*
+ * Sectors.java
+ * This file is part of jwadlib.
+ *
+ * jwadlib WAD Library - A Java(TM) library for manipulating WAD files.
+ * Copyright (C) 2025 @picttarge
+ *
+ * jwadlib is free software; you can redistribute it and/or
+ * modify it under the terms of the GNU Lesser General Public
+ * License as published by the Free Software Foundation; either
+ * version 2.1 of the License, or (at your option) any later version.
+ *
+ * jwadlib is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the GNU
+ * Lesser General Public License for more details.
+ *
+ * You should have received a copy of the GNU Lesser General Public
+ * License along with this library; if not, write to the Free Software
+ * Foundation, Inc., 51 Franklin Street, Fifth Floor, Boston, MA  02110-1301  USA
+ */
+package jwadlib.map;
+
+import jwadlib.Lump;
+import jwadlib.LumpName;
+import jwadlib.LumpView;
+
+import java.nio.ByteBuffer;
+
+/**
+ * The decoded <code>SECTORS</code> lump of a map. Each row is an area of the map
+ * with its own floor and ceiling.
+ * <p>
+ * Flat names are kept and read as they are stored, packed into a <code>long</code> in the layout
+ * of {@link jwadlib.LumpName#longValue() LumpName.longValue()}, so no
+ * {@link java.lang.String String} is created while decoding. {@link
+ * jwadlib.LumpName#of(long) LumpName.of()} turns one back into a name.
+ * @author @picttarge
+ * @version 1.1
+ * @since 1.1
+ */
+public final class Sectors {
+    //Public Static Variables
+    /**
+     * The number of bytes in each row of the lump.
+     * @since 1.1
+     */
+    public static final int RECORD_SIZE = 26;
+
+    //Public Variables
+    /**
+     * The floor height of each sector.
+     * @since 1.1
+     */
+    public final short[] floorheight;
+
+    /**
+     * The ceiling height of each sector.
+     * @since 1.1
+     */
+    public final short[] ceilingheight;
+
+    /**
+     * The packed name of the floor flat of each sector.
+     * @since 1.1
+     */
+    public final long[] floorflat;
+
+    /**
+     * The packed name of the ceiling flat of each sector.
+     * @since 1.1
+     */
+    public final long[] ceilingflat;
+
+    /**
+     * The light level of each sector.
+     * @since 1.1
+     */
+    public final short[] light;
+
+    /**
+     * The special type of each sector, such as damaging floors.
+     * @since 1.1
+     */
+    public final short[] special;
+
+    /**
+     * The tag of each sector, which linedef specials act on.
+     * @since 1.1
+     */
+    public final short[] tag;
+
+    //Constructors
+    /**
+     * Creates a {@link Sectors Sectors} with room for the specified number of rows.
+     * @param count the number of rows.
+     * @since 1.1
+     */
+    private Sectors(final int count) {
+        floorheight = new short[count];
+        ceilingheight = new short[count];
+        floorflat = new long[count];
+        ceilingflat = new long[count];
+        light = new short[count];
+        special = new short[count];
+        tag = new short[count];
+    }
+
+    //Public Methods
+    /**
+     * Returns the number of sectors.
+     * @return the number of sectors.
+     * @since 1.1
+     */
+    public int size() {
+        return floorheight.length;
+    }
+
+    //Public Static Methods
+    /**
+     * Decodes a <code>SECTORS</code> lump.
+     * @param lump the lump to decode.
+     * @return the decoded sectors.
+     * @throws java.lang.IllegalStateException if the lump data cannot be read.
+     * @since 1.1
+     */
+    public static Sectors decode(final Lump lump) throws IllegalStateException {
+        return decode(lump.getView());
+    }
+
+    /**
+     * Decodes the data of a <code>SECTORS</code> lump. Any bytes after the last
+     * whole row are ignored.
+     * @param view the lump data.
+     * @return the decoded sectors.
+     * @since 1.1
+     */
+    public static Sectors decode(final LumpView view) {
+        final Sectors sectors = new Sectors(count(view));
+        final ByteBuffer data = view.asByteBuffer();
+        for(int i=0, offset=0; i<sectors.floorheight.length; i++, offset+=RECORD_SIZE) {
+            sectors.floorheight[i] = data.getShort(offset);
+            sectors.ceilingheight[i] = data.getShort(offset+2);
+            sectors.floorflat[i] = LumpName.normalise(data.getLong(offset+4));
+            sectors.ceilingflat[i] = LumpName.normalise(data.getLong(offset+12));
+            sectors.light[i] = data.getShort(offset+20);
+            sectors.special[i] = data.getShort(offset+22);
+            sectors.tag[i] = data.getShort(offset+24);
+        }
+        return sectors;
+    }
+
+    /**
+     * Returns the number of whole rows in the data of a <code>SECTORS</code> lump.
+     * @param view the lump data.
+     * @return the number of rows.
+     * @since 1.1
+     */
+    public static int count(final LumpView view) {
+        return view.size()/RECORD_SIZE;
+    }
+
+    /**
+     * Reads the floor height of a sector straight from the lump data.
+     * @param view the lump data.
+     * @param index the row of the sector.
+     * @return the floor height.
+     * @throws java.lang.IndexOutOfBoundsException if the row is out of range.
+     * @since 1.1
+     */
+    public static short floorheight(final LumpView view, final int index) throws IndexOutOfBoundsException {
+        return view.i16(index*RECORD_SIZE);
+    }
+
+    /**
+     * Reads the ceiling height of a sector straight from the lump data.
+     * @param view the lump data.
+     * @param index the row of the sector.
+     * @return the ceiling height.
+     * @throws java.lang.IndexOutOfBoundsException if the row is out of range.
+     * @since 1.1
+     */
+    public static short ceilingheight(final LumpView view, final int index) throws IndexOutOfBoundsException {
+        return view.i16(index*RECORD_SIZE+2);
+    }
+
+    /**
+     * Reads the name of the floor flat of a sector straight from the lump data.
+     * @param view the lump data.
+     * @param index the row of the sector.
+     * @return the flat name, packed as by {@link
+     * jwadlib.LumpName#longValue() LumpName.longValue()}.
+     * @throws java.lang.IndexOutOfBoundsException if the row is out of range.
+     * @since 1.1
+     */
+    public static long floorflat(final LumpView view, final int index) throws IndexOutOfBoundsException {
+        return LumpName.normalise(view.i64(index*RECORD_SIZE+4));
+    }
+
+    /**
+     * Reads the name of the ceiling flat of a sector straight from the lump data.
+     * @param view the lump data.
+     * @param index the row of the sector.
+     * @return the flat name, packed as by {@link
+     * jwadlib.LumpName#longValue() LumpName.longValue()}.
+     * @throws java.lang.IndexOutOfBoundsException if the row is out of range.
+     * @since 1.1
+     */
+    public static long ceilingflat(final LumpView view, final int index) throws IndexOutOfBoundsException {
+        return LumpName.normalise(view.i64(index*RECORD_SIZE+12));
+    }
+
+    /**
+     * Reads the light level of a sector straight from the lump data.
+     * @param view the lump data.
+     * @param index the row of the sector.
+     * @return the light level.
+     * @throws java.lang.IndexOutOfBoundsException if the row is out of range.
+     * @since 1.1
+     */
+    public static short light(final LumpView view, final int index) throws IndexOutOfBoundsException {
+        return view.i16(index*RECORD_SIZE+20);
+    }
+
+    /**
+     * Reads the special type of a sector straight from the lump data.
+     * @param view the lump data.
+     * @param index the row of the sector.
+     * @return the special type.
+     * @throws java.lang.IndexOutOfBoundsException if the row is out of range.
+     * @since 1.1
+     */
+    public static short special(final LumpView view, final int index) throws IndexOutOfBoundsException {
+        return view.i16(index*RECORD_SIZE+22);
+    }
+
+    /**
+     * Reads the tag of a sector straight from the lump data.
+     * @param view the lump data.
+     * @param index the row of the sector.
+     * @return the tag.
+     * @throws java.lang.IndexOutOfBoundsException if the row is out of range.
+     * @since 1.1
+     */
+    public static short tag(final LumpView view, final int index) throws IndexOutOfBoundsException {
+        return view.i16(index*RECORD_SIZE+24);
+    }
+}
@@ -0,0 +1,230 @@
+/*
+ * Sidedefs.java
+ * This file is part of jwadlib.
+ *
+ * jwadlib WAD Library - A Java(TM) library for manipulating WAD files.
+ * Copyright (C) 2025 @picttarge
+ *
+ * jwadlib is free software; you can redistribute it and/or
+ * modify it under the terms of the GNU Lesser General Public
+ * License as published by the Free Software Foundation; either
+ * version 2.1 of the License, or (at your option) any later version.
+ *
+ * jwadlib is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the GNU
+ * Lesser General Public License for more details.
+ *
+ * You should have received a copy of the GNU Lesser General Public
+ * License along with this library; if not, write to the Free Software
+ * Foundation, Inc., 51 Franklin Street, Fifth Floor, Boston, MA  02110-1301  USA
+ */
+package jwadlib.map;
+
+import jwadlib.Lump;
+import jwadlib.LumpName;
+import jwadlib.LumpView;
+
+import java.nio.ByteBuffer;
+
+/**
+ * The decoded <code>SIDEDEFS</code> lump of a map. Each row is the side of a
+ * linedef that faces a sector, with the textures drawn on it.
+ * <p>
+ * Texture names are kept and read as they are stored, packed into a <code>long</code> in the layout
+ * of {@link jwadlib.LumpName#longValue() LumpName.longValue()}, so no
+ * {@link java.lang.String String} is created while decoding. {@link
+ * jwadlib.LumpName#of(long) LumpName.of()} turns one back into a name.
+ * Sector numbers are unsigned, and must be masked with <code>&amp; 0xFFFF</code>.
+ * @author @picttarge
+ * @version 1.1
+ * @since 1.1
+ */
+public final class Sidedefs {
+    //Public Static Variables
+    /**
+     * The number of bytes in each row of the lump.
+     * @since 1.1
+     */
+    public static final int RECORD_SIZE = 30;
+
+    //Public Variables
+    /**
+     * The horizontal texture offset of each sidedef.
+     * @since 1.1
+     */
+    public final short[] xoffset;
+
+    /**
+     * The vertical texture offset of each sidedef.
+     * @since 1.1
+     */
+    public final short[] yoffset;
+
+    /**
+     * The packed name of the upper texture of each sidedef.
+     * @since 1.1
+     */
+    public final long[] upper;
+
+    /**
+     * The packed name of the lower texture of each sidedef.
+     * @since 1.1
+     */
+    public final long[] lower;
+
+    /**
+     * The packed name of the middle texture of each sidedef.
+     * @since 1.1
+     */
+    public final long[] middle;
+
+    /**
+     * The unsigned number of the sector each sidedef faces.
+     * @since 1.1
+     */
+    public final short[] sector;
+
+    //Constructors
+    /**
+     * Creates a {@link Sidedefs Sidedefs} with room for the specified number of rows.
+     * @param count the number of rows.
+     * @since 1.1
+     */
+    private Sidedefs(final int count) {
+        xoffset = new short[count];
+        yoffset = new short[count];
+        upper = new long[count];
+        lower = new long[count];
+        middle = new long[count];
+        sector = new short[count];
+    }
+
+    //Public Methods
+    /**
+     * Returns the number of sidedefs.
+     * @return the number of sidedefs.
+     * @since 1.1
+     */
+    public int size() {
+        return xoffset.length;
+    }
+
+    //Public Static Methods
+    /**
+     * Decodes a <code>SIDEDEFS</code> lump.
+     * @param lump the lump to decode.
+     * @return the decoded sidedefs.
+     * @throws java.lang.IllegalStateException if the lump data cannot be read.
+     * @since 1.1
+     */
+    public static Sidedefs decode(final Lump lump) throws IllegalStateException {
+        return decode(lump.getView());
+    }
+
+    /**
+     * Decodes the data of a <code>SIDEDEFS</code> lump. Any bytes after the last
+     * whole row are ignored.
+     * @param view the lump data.
+     * @return the decoded sidedefs.
+     * @since 1.1
+     */
+    public static Sidedefs decode(final LumpView view) {
+        final Sidedefs sidedefs = new Sidedefs(count(view));
+        final ByteBuffer data = view.asByteBuffer();
+        for(int i=0, offset=0; i<sidedefs.xoffset.length; i++, offset+=RECORD_SIZE) {
+            sidedefs.xoffset[i] = data.getShort(offset);
+            sidedefs.yoffset[i] = data.getShort(offset+2);
+            sidedefs.upper[i] = LumpName.normalise(data.getLong(offset+4));
+            sidedefs.lower[i] = LumpName.normalise(data.getLong(offset+12));
+            sidedefs.middle[i] = LumpName.normalise(data.getLong(offset+20));
+            sidedefs.sector[i] = data.getShort(offset+28);
+        }
+        return sidedefs;
+    }
+
+    /**
+     * Returns the number of whole rows in the data of a <code>SIDEDEFS</code> lump.
+     * @param view the lump data.
+     * @return the number of rows.
+     * @since 1.1
+     */
+    public static int count(final LumpView view) {
+        return view.size()/RECORD_SIZE;
+    }
+
+    /**
+     * Reads the horizontal texture offset of a sidedef straight from the lump data.
+     * @param view the lump data.
+     * @param index the row of the sidedef.
+     * @return the horizontal offset.
+     * @throws java.lang.IndexOutOfBoundsException if the row is out of range.
+     * @since 1.1
+     */
+    public static short xoffset(final LumpView view, final int index) throws IndexOutOfBoundsException {
+        return view.i16(index*RECORD_SIZE);
+    }
+
+    /**
+     * Reads the vertical texture offset of a sidedef straight from the lump data.
+     * @param view the lump data.
+     * @param index the row of the sidedef.
+     * @return the vertical offset.
+     * @throws java.lang.IndexOutOfBoundsException if the row is out of range.
+     * @since 1.1
+     */
+    public static short yoffset(final LumpView view, final int index) throws IndexOutOfBoundsException {
+        return view.i16(index*RECORD_SIZE+2);
+    }
+
+    /**
+     * Reads the name of the upper texture of a sidedef straight from the lump data.
+     * @param view the lump data.
+     * @param index the row of the sidedef.
+     * @return the texture name, packed as by {@link
+     * jwadlib.LumpName#longValue() LumpName.longValue()}.
+     * @throws java.lang.IndexOutOfBoundsException if the row is out of range.
+     * @since 1.1
+     */
+    public static long upper(final LumpView view, final int index) throws IndexOutOfBoundsException {
+        return LumpName.normalise(view.i64(index*RECORD_SIZE+4));
+    }
+
+    /**
+     * Reads the name of the lower texture of a sidedef straight from the lump data.
+     * @param view the lump data.
+     * @param index the row of the sidedef.
+     * @return the texture name, packed as by {@link
+     * jwadlib.LumpName#longValue() LumpName.longValue()}.
+     * @throws java.lang.IndexOutOfBoundsException if the row is out of range.
+     * @since 1.1
+     */
+    public static long lower(final LumpView view, final int index) throws IndexOutOfBoundsException {
+        return LumpName.normalise(view.i64(index*RECORD_SIZE+12));
+    }
+
+    /**
+     * Reads the name of the middle texture of a sidedef straight from the lump data.
+     * @param view the lump data.
+     * @param index the row of the sidedef.
+     * @return the texture name, packed as by {@link
+     * jwadlib.LumpName#longValue() LumpName.longValue()}.
+     * @throws java.lang.IndexOutOfBoundsException if the row is out of range.
+     * @since 1.1
+     */
+    public static long middle(final LumpView view, final int index) throws IndexOutOfBoundsException {
+        return LumpName.normalise(view.i64(index*RECORD_SIZE+20));
+    }
+
+    /**
+     * Reads the number of the sector a sidedef faces straight from the lump data.
+     * @param view the lump data.
+     * @param index the row of the sidedef.
+     * @return the sector number, from 0 to 65535.
+     * @throws java.lang.IndexOutOfBoundsException if the row is out of range.
+     * @since 1.1
+     */
+    public static int sector(final LumpView view, final int index) throws IndexOutOfBoundsException {
+        return view.u16(index*RECORD_SIZE+28);
+    }
+}
@@ -0,0 +1,200 @@
+/*
+ * Things.java
+ * This file is part of jwadlib.
+ *
+ * jwadlib WAD Library - A Java(TM) library for manipulating WAD files.
+ * Copyright (C) 2025 @picttarge
+ *
+ * jwadlib is free software; you can redistribute it and/or
+ * modify it under the terms of the GNU Lesser General Public
+ * License as published by the Free Software Foundation; either
+ * version 2.1 of the License, or (at your option) any later version.
+ *
+ * jwadlib is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the GNU
+ * Lesser General Public License for more details.
+ *
+ * You should have received a copy of the GNU Lesser General Public
+ * License along with this library; if not, write to the Free Software
+ * Foundation, Inc., 51 Franklin Street, Fifth Floor, Boston, MA  02110-1301  USA
+ */
+package jwadlib.map;
+
+import jwadlib.Lump;
+import jwadlib.LumpView;
+
+import java.nio.ByteBuffer;
+
+/**
+ * The decoded <code>THINGS</code> lump of a map. Each row is a monster, item,
+ * player start or other object placed in the map.
+ * @author @picttarge
+ * @version 1.1
+ * @since 1.1
+ */
+public final class Things {
+    //Public Static Variables
+    /**
+     * The number of bytes in each row of the lump.
+     * @since 1.1
+     */
+    public static final int RECORD_SIZE = 10;
+
+    //Public Variables
+    /**
+     * The x coordinate of each thing.
+     * @since 1.1
+     */
+    public final short[] x;
+
+    /**
+     * The y coordinate of each thing.
+     * @since 1.1
+     */
+    public final short[] y;
+
+    /**
+     * The direction each thing faces, in degrees.
+     * @since 1.1
+     */
+    public final short[] angle;
+
+    /**
+     * The type of each thing, its DoomEd number.
+     * @since 1.1
+     */
+    public final short[] type;
+
+    /**
+     * The flags of each thing, such as the skill levels it appears in.
+     * @since 1.1
+     */
+    public final short[] flags;
+
+    //Constructors
+    /**
+     * Creates a {@link Things Things} with room for the specified number of rows.
+     * @param count the number of rows.
+     * @since 1.1
+     */
+    private Things(final int count) {
+        x = new short[count];
+        y = new short[count];
+        angle = new short[count];
+        type = new short[count];
+        flags = new short[count];
+    }
+
+    //Public Methods
+    /**
+     * Returns the number of things.
+     * @return the number of things.
+     * @since 1.1
+     */
+    public int size() {
+        return x.length;
+    }
+
+    //Public Static Methods
+    /**
+     * Decodes a <code>THINGS</code> lump.
+     * @param lump the lump to decode.
+     * @return the decoded things.
+     * @throws java.lang.IllegalStateException if the lump data cannot be read.
+     * @since 1.1
+     */
+    public static Things decode(final Lump lump) throws IllegalStateException {
+        return decode(lump.getView());
+    }
+
+    /**
+     * Decodes the data of a <code>THINGS</code> lump. Any bytes after the last
+     * whole row are ignored.
+     * @param view the lump data.
+     * @return the decoded things.
+     * @since 1.1
+     */
+    public static Things decode(final LumpView view) {
+        final Things things = new Things(count(view));
+        final ByteBuffer data = view.asByteBuffer();
+        for(int i=0, offset=0; i<things.x.length; i++, offset+=RECORD_SIZE) {
+            things.x[i] = data.getShort(offset);
+            things.y[i] = data.getShort(offset+2);
+            things.angle[i] = data.getShort(offset+4);
+            things.type[i] = data.getShort(offset+6);
+            things.flags[i] = data.getShort(offset+8);
+        }
+        return things;
+    }
+
+    /**
+     * Returns the number of whole rows in the data of a <code>THINGS</code> lump.
+     * @param view the lump data.
+     * @return the number of rows.
+     * @since 1.1
+     */
+    public static int count(final LumpView view) {
+        return view.size()/RECORD_SIZE;
+    }
+
+    /**
+     * Reads the x coordinate of a thing straight from the lump data.
+     * @param view the lump data.
+     * @param index the row of the thing.
+     * @return the x coordinate.
+     * @throws java.lang.IndexOutOfBoundsException if the row is out of range.
+     * @since 1.1
+     */
+    public static short x(final LumpView view, final int index) throws IndexOutOfBoundsException {
+        return view.i16(index*RECORD_SIZE);
+    }
+
+    /**
+     * Reads the y coordinate of a thing straight from the lump data.
+     * @param view the lump data.
+     * @param index the row of the thing.
+     * @return the y coordinate.
+     * @throws java.lang.IndexOutOfBoundsException if the row is out of range.
+     * @since 1.1
+     */
+    public static short y(final LumpView view, final int index) throws IndexOutOfBoundsException {
+        return view.i16(index*RECORD_SIZE+2);
+    }
+
+    /**
+     * Reads the angle of a thing straight from the lump data.
+     * @param view the lump data.
+     * @param index the row of the thing.
+     * @return the angle, in degrees.
+     * @throws java.lang.IndexOutOfBoundsException if the row is out of range.
+     * @since 1.1
+     */
+    public static short angle(final LumpView view, final int index) throws IndexOutOfBoundsException {
+        return view.i16(index*RECORD_SIZE+4);
+    }
+
+    /**
+     * Reads the type of a thing straight from the lump data.
+     * @param view the lump data.
+     * @param index the row of the thing.
+     * @return the DoomEd number.
+     * @throws java.lang.IndexOutOfBoundsException if the row is out of range.
+     * @since 1.1
+     */
+    public static short type(final LumpView view, final int index) throws IndexOutOfBoundsException {
+        return view.i16(index*RECORD_SIZE+6);
+    }
+
+    /**
+     * Reads the flags of a thing straight from the lump data.
+     * @param view the lump data.
+     * @param index the row of the thing.
+     * @return the flags.
+     * @throws java.lang.IndexOutOfBoundsException if the row is out of range.
+     * @since 1.1
+     */
+    public static short flags(final LumpView view, final int index) throws IndexOutOfBoundsException {
+        return view.i16(index*RECORD_SIZE+8);
+    }
+}
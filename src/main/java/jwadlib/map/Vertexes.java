@@ -0,0 +1,140 @@
+/*
+ * Vertexes.java
+ * This file is part of jwadlib.
+ *
+ * jwadlib WAD Library - A Java(TM) library for manipulating WAD files.
+ * Copyright (C) 2025 @picttarge
+ *
+ * jwadlib is free software; you can redistribute it and/or
+ * modify it under the terms of the GNU Lesser General Public
+ * License as published by the Free Software Foundation; either
+ * version 2.1 of the License, or (at your option) any later version.
+ *
+ * jwadlib is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the GNU
+ * Lesser General Public License for more details.
+ *
+ * You should have received a copy of the GNU Lesser General Public
+ * License along with this library; if not, write to the Free Software
+ * Foundation, Inc., 51 Franklin Street, Fifth Floor, Boston, MA  02110-1301  USA
+ */
+package jwadlib.map;
+
+import jwadlib.Lump;
+import jwadlib.LumpView;
+
+import java.nio.ByteBuffer;
+
+/**
+ * The decoded <code>VERTEXES</code> lump of a map. Each row is a point that
+ * linedefs start and end at.
+ * @author @picttarge
+ * @version 1.1
+ * @since 1.1
+ */
+public final class Vertexes {
+    //Public Static Variables
+    /**
+     * The number of bytes in each row of the lump.
+     * @since 1.1
+     */
+    public static final int RECORD_SIZE = 4;
+
+    //Public Variables
+    /**
+     * The x coordinate of each vertex.
+     * @since 1.1
+     */
+    public final short[] x;
+
+    /**
+     * The y coordinate of each vertex.
+     * @since 1.1
+     */
+    public final short[] y;
+
+    //Constructors
+    /**
+     * Creates a {@link Vertexes Vertexes} with room for the specified number of rows.
+     * @param count the number of rows.
+     * @since 1.1
+     */
+    private Vertexes(final int count) {
+        x = new short[count];
+        y = new short[count];
+    }
+
+    //Public Methods
+    /**
+     * Returns the number of vertexes.
+     * @return the number of vertexes.
+     * @since 1.1
+     */
+    public int size() {
+        return x.length;
+    }
+
+    //Public Static Methods
+    /**
+     * Decodes a <code>VERTEXES</code> lump.
+     * @param lump the lump to decode.
+     * @return the decoded vertexes.
+     * @throws java.lang.IllegalStateException if the lump data cannot be read.
+     * @since 1.1
+     */
+    public static Vertexes decode(final Lump lump) throws IllegalStateException {
+        return decode(lump.getView());
+    }
+
+    /**
+     * Decodes the data of a <code>VERTEXES</code> lump. Any bytes after the last
+     * whole row are ignored.
+     * @param view the lump data.
+     * @return the decoded vertexes.
+     * @since 1.1
+     */
+    public static Vertexes decode(final LumpView view) {
+        final Vertexes vertexes = new Vertexes(count(view));
+        final ByteBuffer data = view.asByteBuffer();
+        for(int i=0, offset=0; i<vertexes.x.length; i++, offset+=RECORD_SIZE) {
+            vertexes.x[i] = data.getShort(offset);
+            vertexes.y[i] = data.getShort(offset+2);
+        }
+        return vertexes;
+    }
+
+    /**
+     * Returns the number of whole rows in the data of a <code>VERTEXES</code> lump.
+     * @param view the lump data.
+     * @return the number of rows.
+     * @since 1.1
+     */
+    public static int count(final LumpView view) {
+        return view.size()/RECORD_SIZE;
+    }
+
+    /**
+     * Reads the x coordinate of a vertex straight from the lump data.
+     * @param view the lump data.
+     * @param index the row of the vertex.
+     * @return the x coordinate.
+     * @throws java.lang.IndexOutOfBoundsException if the row is out of range.
+     * @since 1.1
+     */
+    public static short x(final LumpView view, final int index) throws IndexOutOfBoundsException {
+        return view.i16(index*RECORD_SIZE);
+    }
+
+    /**
+     * Reads the y coordinate of a vertex straight from the lump data.
+     * @param view the lump data.
+     * @param index the row of the vertex.
+     * @return the y coordinate.
+     * @throws java.lang.IndexOutOfBoundsException if the row is out of range.
+     * @since 1.1
+     */
+    public static short y(final LumpView view, final int index) throws IndexOutOfBoundsException {
+        return view.i16(index*RECORD_SIZE+2);
+    }
+}
@@ -0,0 +1,33 @@
+/*
+ * package-info.java
+ * This file is part of jwadlib.
+ *
+ * jwadlib WAD Library - A Java(TM) library for manipulating WAD files.
+ * Copyright (C) 2025 @picttarge
+ *
+ * jwadlib is free software; you can redistribute it and/or
+ * modify it under the terms of the GNU Lesser General Public
+ * License as published by the Free Software Foundation; either
+ * version 2.1 of the License, or (at your option) any later version.
+ *
+ * jwadlib is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the GNU
+ * Lesser General Public License for more details.
+ *
+ * You should have received a copy of the GNU Lesser General Public
+ * License along with this library; if not, write to the Free Software
+ * Foundation, Inc., 51 Franklin Street, Fifth Floor, Boston, MA  02110-1301  USA
+ */
+/**
+ * This package decodes the lumps that make up a classic Doom format map, such as
+ * <code>THINGS</code> and <code>LINEDEFS</code>. Each lump is decoded in one pass
+ * into a structure of arrays of primitives, with one array per field, so a map
+ * costs a handful of arrays rather than an object per row. Each class also has
+ * static accessors that read a single field of a single row straight from a
+ * {@link jwadlib.LumpView LumpView} without allocating anything.
+ * @author @picttarge
+ * @version 1.1
+ * @since 1.1
+ */
+package jwadlib.map;
@@ -0,0 +1,650 @@
+/*
+ * WadServer.java
+ * This file is part of jwadlib.
+ *
+ * jwadlib WAD Library - A Java(TM) library for manipulating WAD files.
+ * Copyright (C) 2025 @picttarge
+ *
+ * jwadlib is free software; you can redistribute it and/or
+ * modify it under the terms of the GNU Lesser General Public
+ * License as published by the Free Software Foundation; either
+ * version 2.1 of the License, or (at your option) any later version.
+ *
+ * jwadlib is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the GNU
+ * Lesser General Public License for more details.
+ *
+ * You should have received a copy of the GNU Lesser General Public
+ * License along with this library; if not, write to the Free Software
+ * Foundation, Inc., 51 Franklin Street, Fifth Floor, Boston, MA  02110-1301  USA
+ */
+package jwadlib.server;
+
+import jwadlib.Lump;
+import jwadlib.LumpLookup;
+import jwadlib.LumpName;
+import jwadlib.LumpNamespace;
+
+import java.io.Closeable;
+import java.io.EOFException;
+import java.io.IOException;
+import java.io.InputStream;
+import java.net.InetSocketAddress;
+import java.net.URLDecoder;
+import java.nio.ByteBuffer;
+import java.nio.channels.ServerSocketChannel;
+import java.nio.channels.SocketChannel;
+import java.nio.charset.StandardCharsets;
+import java.util.HashMap;
+import java.util.Locale;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.Executor;
+import java.util.concurrent.RejectedExecutionException;
+
+/**
+ * Serves the lumps of a {@link jwadlib.Wad Wad}, {@link jwadlib.WadStack
+ * WadStack} or any other {@link jwadlib.LumpLookup LumpLookup} over HTTP/1.1.
+ * A lump is requested by name, optionally within a namespace:
+ * <pre>
+ * GET /lumps/PLAYPAL
+ * GET /lumps/sprites/TROOA1
+ * </pre>
+ * Each connection is served by a task on the {@link java.util.concurrent.Executor
+ * Executor} given to the server, using blocking I/O, and stays open for further
+ * requests unless the client asks for it to be closed. On Java 21 and later,
+ * giving the server <code>Executors.newVirtualThreadPerTaskExecutor()</code>
+ * serves every connection on a virtual thread of its own, so thousands of
+ * clients cost little more than their sockets. One task accepts connections
+ * for as long as the server is running, waiting a little longer after each
+ * failure to accept one in a row rather than retrying at once.
+ * <p>
+ * A connection that sends nothing for the idle timeout is closed, so clients
+ * that open connections and go quiet do not keep tasks forever. A client that
+ * stops reading in the middle of a response still holds its task until the
+ * operating system gives up on it, so an {@link java.util.concurrent.Executor
+ * Executor} with a bounded number of threads can still be used up by slow
+ * clients and should only be used where the clients are trusted. Connections
+ * that the {@link java.util.concurrent.Executor Executor} rejects are closed.
+ * <p>
+ * Lump data is sent with {@link jwadlib.Lump#transferTo(java.nio.channels.WritableByteChannel,
+ * long, long) Lump.transferTo()}, so data that is still in the WAD file goes
+ * from the file to the socket without being copied into the Java heap. Single
+ * byte ranges are supported, and every response carries an <code>ETag</code>
+ * made from the {@link jwadlib.Lump#getContentHash() content hash} of the
+ * lump, which <code>If-None-Match</code> and <code>If-Range</code> are checked
+ * against.
+ * @author @picttarge
+ * @version 1.1
+ * @since 1.1
+ */
+public class WadServer implements Closeable {
+    //Private Static Variables
+    /**
+     * The largest request line and headers accepted, in bytes.
+     * @since 1.1
+     */
+    private static final int MAX_HEAD_BYTES = 8192;
+
+    /**
+     * The path that lumps are served under.
+     * @since 1.1
+     */
+    private static final String LUMPS_PATH = "/lumps/";
+
+    /**
+     * The idle timeout used if none is given, in milliseconds.
+     * @since 1.1
+     */
+    private static final int DEFAULT_IDLE_TIMEOUT = 30000;
+
+    /**
+     * How long the server waits before accepting again after the first failure
+     * to accept a connection, in milliseconds.
+     * @since 1.1
+     */
+    private static final long MIN_ACCEPT_BACKOFF = 10;
+
+    /**
+     * The longest the server waits before accepting again after repeated
+     * failures to accept a connection, in milliseconds.
+     * @since 1.1
+     */
+    private static final long MAX_ACCEPT_BACKOFF = 1000;
+
+    //Private Variables
+    /**
+     * Where the served lumps are looked up.
+     * @since 1.1
+     */
+    private final LumpLookup lookup;
+
+    /**
+     * Runs the task that accepts connections and the task of each connection.
+     * @since 1.1
+     */
+    private final Executor executor;
+
+    /**
+     * How long a connection may wait for the next part of a request before it
+     * is closed, in milliseconds.
+     * @since 1.1
+     */
+    private final int idletimeout;
+
+    /**
+     * The connections that are open.
+     * @since 1.1
+     */
+    private final Set<SocketChannel> connections = ConcurrentHashMap.newKeySet();
+
+    /**
+     * The channel that connections are accepted from, or null if the server has
+     * not been started.
+     * @since 1.1
+     */
+    private ServerSocketChannel serverchannel;
+
+    //Constructors
+    /**
+     * Creates a {@link WadServer WadServer} that serves the lumps found by the
+     * specified {@link jwadlib.LumpLookup LumpLookup}. It does not accept
+     * connections until it is {@link #start(java.net.InetSocketAddress) started}.
+     * @param lookup where the served lumps are looked up, such as a {@link
+     * jwadlib.Wad Wad}.
+     * @param executor the {@link java.util.concurrent.Executor Executor} that runs
+     * the task of each connection, and the task that accepts them.
+     * @since 1.1
+     */
+    public WadServer(final LumpLookup lookup, final Executor executor) {
+        this(lookup, executor, DEFAULT_IDLE_TIMEOUT);
+    }
+
+    /**
+     * Creates a {@link WadServer WadServer} that serves the lumps found by the
+     * specified {@link jwadlib.LumpLookup LumpLookup} and closes connections that
+     * are idle for the specified time.
+     * @param lookup where the served lumps are looked up, such as a {@link
+     * jwadlib.Wad Wad}.
+     * @param executor the {@link java.util.concurrent.Executor Executor} that runs
+     * the task of each connection, and the task that accepts them.
+     * @param idletimeout how long a connection may wait for the next part of a
+     * request before it is closed, in milliseconds, or 0 to wait forever.
+     * @throws java.lang.IllegalArgumentException if the timeout is negative.
+     * @since 1.1
+     */
+    public WadServer(final LumpLookup lookup, final Executor executor, final int idletimeout) throws IllegalArgumentException {
+        if(idletimeout < 0) {
+            throw new IllegalArgumentException("Idle timeout cannot be negative.");
+        }
+        this.lookup = lookup;
+        this.executor = executor;
+        this.idletimeout = idletimeout;
+    }
+
+    //Private Methods
+    /**
+     * Accepts connections until the server is closed, handing each one to the
+     * {@link java.util.concurrent.Executor Executor}. A failure to accept, such
+     * as running out of file descriptors, is usually not cleared by trying again
+     * at once, so the server waits before the next attempt, doubling the wait
+     * after each failure in a row up to {@link #MAX_ACCEPT_BACKOFF
+     * MAX_ACCEPT_BACKOFF}. If the task is interrupted while it waits, the server
+     * channel is closed and no more connections are accepted.
+     * @param server the channel to accept connections from.
+     * @since 1.1
+     */
+    private void accept(final ServerSocketChannel server) {
+        long backoff = 0;
+        while(server.isOpen()) {
+            final SocketChannel connection;
+            try {
+                connection = server.accept();
+            } catch(final IOException e) {
+                backoff = Math.min(Math.max(backoff*2, MIN_ACCEPT_BACKOFF), MAX_ACCEPT_BACKOFF);
+                try {
+                    Thread.sleep(backoff);
+                } catch(final InterruptedException interrupted) {
+                    Thread.currentThread().interrupt();
+                    closeQuietly(server);
+                    break;
+                }
+                continue;
+            }
+            backoff = 0;
+            connections.add(connection);
+            if(!server.isOpen()) {
+                connections.remove(connection);
+                closeQuietly(connection);
+                break;
+            }
+            try {
+                executor.execute(() -> serve(connection));
+            } catch(final RejectedExecutionException e) {
+                connections.remove(connection);
+                closeQuietly(connection);
+            }
+        }
+    }
+
+    /**
+     * Answers the requests on a connection until either side closes it.
+     * @param connection the connection.
+     * @since 1.1
+     */
+    private void serve(final SocketChannel connection) {
+        try {
+            connection.socket().setTcpNoDelay(true);
+            connection.socket().setSoTimeout(idletimeout);
+            //Unlike the channel, the socket's stream gives up after the timeout.
+            final InputStream stream = connection.socket().getInputStream();
+            final ByteBuffer input = ByteBuffer.allocate(MAX_HEAD_BYTES);
+            boolean keepalive = true;
+            while(keepalive) {
+                final String head;
+                try {
+                    head = readHead(stream, input);
+                } catch(final HttpException e) {
+                    writeHead(connection, e.status, "", false);
+                    break;
+                }
+                if(head == null) {
+                    break;
+                }
+                keepalive = respond(connection, head);
+            }
+        } catch(final IOException | RuntimeException e) {
+            //The client has gone away, or the lump could not be read while it was being sent.
+        } finally {
+            connections.remove(connection);
+            closeQuietly(connection);
+        }
+    }
+
+    /**
+     * Answers one request.
+     * @param connection the connection to answer on.
+     * @param head the request line and headers of the request.
+     * @return true if the connection should be kept open for another request.
+     * @throws java.io.IOException if the response cannot be sent.
+     * @since 1.1
+     */
+    private boolean respond(final SocketChannel connection, final String head) throws IOException {
+        final String[] lines = head.split("\r\n");
+        final String[] requestline = lines[0].split(" ");
+        if(requestline.length != 3 || !requestline[2].startsWith("HTTP/1.")) {
+            writeHead(connection, 400, "", false);
+            return false;
+        }
+        final HashMap<String, String> headers = new HashMap<>();
+        for(int i=1; i<lines.length; i++) {
+            final int colon = lines[i].indexOf(':');
+            if(colon > 0) {
+                headers.put(lines[i].substring(0, colon).trim().toLowerCase(Locale.ROOT), lines[i].substring(colon+1).trim());
+            }
+        }
+        if(headers.containsKey("transfer-encoding") || !"0".equals(headers.getOrDefault("content-length", "0"))) {
+            //Requests for lumps have no body, and one that has cannot safely be skipped.
+            writeHead(connection, 400, "", false);
+            return false;
+        }
+        final String connectionheader = headers.getOrDefault("connection", "").toLowerCase(Locale.ROOT);
+        final boolean keepalive = requestline[2].equals("HTTP/1.1") && !connectionheader.contains("close");
+        final String method = requestline[0];
+        if(!method.equals("GET") && !method.equals("HEAD")) {
+            writeHead(connection, 405, "Allow: GET, HEAD\r\n", keepalive);
+            return keepalive;
+        }
+
+        final Lump lump;
+        final String etag;
+        try {
+            lump = find(requestline[1]);
+            if(lump == null) {
+                writeHead(connection, 404, "", keepalive);
+                return keepalive;
+            }
+            etag = '"'+String.format("%016x", lump.getContentHash())+'"';
+        } catch(final IllegalArgumentException e) {
+            writeHead(connection, 400, "", keepalive);
+            return keepalive;
+        } catch(final IllegalStateException e) {
+            writeHead(connection, 500, "", false);
+            return false;
+        }
+        final String ifnonematch = headers.get("if-none-match");
+        if(ifnonematch != null && matches(ifnonematch, etag)) {
+            writeHead(connection, 304, "ETag: "+etag+"\r\n", keepalive);
+            return keepalive;
+        }
+
+        final long size = lump.getSize();
+        long offset = 0;
+        long length = size;
+        int status = 200;
+        String fields = "Accept-Ranges: bytes\r\nETag: "+etag+"\r\nContent-Type: application/octet-stream\r\n";
+        final String range = headers.get("range");
+        final String ifrange = headers.get("if-range");
+        if(range != null && (ifrange == null || ifrange.equals(etag))) {
+            final long[] bytes = parseRange(range, size);
+            if(bytes != null && bytes.length == 0) {
+                writeHead(connection, 416, "Content-Range: bytes */"+size+"\r\n", keepalive);
+                return keepalive;
+            }
+            if(bytes != null) {
+                status = 206;
+                offset = bytes[0];
+                length = bytes[1]-bytes[0]+1;
+                fields += "Content-Range: bytes "+bytes[0]+"-"+bytes[1]+"/"+size+"\r\n";
+            }
+        }
+        writeHead(connection, status, fields+"Content-Length: "+length+"\r\n", keepalive);
+        if(method.equals("GET")) {
+            lump.transferTo(connection, offset, length);
+        }
+        return keepalive;
+    }
+
+    /**
+     * Returns the {@link jwadlib.Lump Lump} named by a request target, such as
+     * <code>/lumps/PLAYPAL</code> or <code>/lumps/sprites/TROOA1</code>.
+     * @param target the request target.
+     * @return the {@link jwadlib.Lump Lump}, or null if there is none.
+     * @throws java.lang.IllegalArgumentException if the target is badly encoded.
+     * @since 1.1
+     */
+    private Lump find(final String target) throws IllegalArgumentException {
+        final int query = target.indexOf('?');
+        final String path = query < 0 ? target : target.substring(0, query);
+        if(!path.startsWith(LUMPS_PATH)) {
+            return null;
+        }
+        final String[] parts = path.substring(LUMPS_PATH.length()).split("/", -1);
+        LumpNamespace namespace = null;
+        if(parts.length == 2) {
+            for(final LumpNamespace candidate : LumpNamespace.values()) {
+                if(candidate.name().equalsIgnoreCase(parts[0])) {
+                    namespace = candidate;
+                }
+            }
+            if(namespace == null) {
+                return null;
+            }
+        }
+        else if(parts.length != 1) {
+            return null;
+        }
+        final String name = URLDecoder.decode(parts[parts.length-1], StandardCharsets.ISO_8859_1);
+        if(name.isEmpty() || name.length() > 8) {
+            return null;
+        }
+        return lookup.findLump(LumpName.of(name), namespace);
+    }
+
+    //Private Static Methods
+    /**
+     * Reads the request line and headers of the next request on a connection.
+     * Bytes that arrive after them, such as the next pipelined request, are kept
+     * in the buffer.
+     * @param stream the input stream of the connection to read from.
+     * @param input the buffer holding the bytes read but not yet used.
+     * @return the request line and headers, without the empty line that ends
+     * them, or null if the client closed the connection between requests.
+     * @throws jwadlib.server.WadServer.HttpException if the request line and
+     * headers are too large.
+     * @throws java.io.IOException if the connection cannot be read, is closed
+     * in the middle of a request or is idle for longer than the timeout.
+     * @since 1.1
+     */
+    private static String readHead(final InputStream stream, final ByteBuffer input) throws HttpException, IOException {
+        final byte[] bytes = input.array();
+        int scanned = 0;
+        while(true) {
+            for(int i=Math.max(scanned, 3); i<input.position(); i++) {
+                if(bytes[i] == '\n' && bytes[i-1] == '\r' && bytes[i-2] == '\n' && bytes[i-3] == '\r') {
+                    final String head = new String(bytes, 0, i-3, StandardCharsets.ISO_8859_1);
+                    System.arraycopy(bytes, i+1, bytes, 0, input.position()-i-1);
+                    input.position(input.position()-i-1);
+                    return head;
+                }
+            }
+            scanned = input.position();
+            if(!input.hasRemaining()) {
+                throw new HttpException(431);
+            }
+            final int read = stream.read(bytes, input.position(), input.remaining());
+            if(read < 0) {
+                if(input.position() == 0) {
+                    return null;
+                }
+                throw new EOFException("Connection closed in the middle of a request.");
+            }
+            input.position(input.position()+read);
+        }
+    }
+
+    /**
+     * Writes the status line and headers of a response. Responses without lump
+     * data get an empty body.
+     * @param connection the connection to write to.
+     * @param status the status code.
+     * @param fields the header fields, each ending with CRLF, including
+     * <code>Content-Length</code> if there is a body.
+     * @param keepalive whether the connection will be kept open.
+     * @throws java.io.IOException if the response cannot be sent.
+     * @since 1.1
+     */
+    private static void writeHead(final SocketChannel connection, final int status, final String fields, final boolean keepalive) throws IOException {
+        final StringBuilder head = new StringBuilder(256);
+        head.append("HTTP/1.1 ").append(status).append(' ').append(reason(status)).append("\r\n");
+        head.append(fields);
+        if(!fields.contains("Content-Length:") && status != 304) {
+            head.append("Content-Length: 0\r\n");
+        }
+        if(!keepalive) {
+            head.append("Connection: close\r\n");
+        }
+        head.append("\r\n");
+        final ByteBuffer buffer = ByteBuffer.wrap(head.toString().getBytes(StandardCharsets.ISO_8859_1));
+        while(buffer.hasRemaining()) {
+            connection.write(buffer);
+        }
+    }
+
+    /**
+     * Returns the reason phrase of a status code that the server sends.
+     * @param status the status code.
+     * @return the reason phrase.
+     * @since 1.1
+     */
+    private static String reason(final int status) {
+        switch(status) {
+            case 200: return "OK";
+            case 206: return "Partial Content";
+            case 304: return "Not Modified";
+            case 400: return "Bad Request";
+            case 404: return "Not Found";
+            case 405: return "Method Not Allowed";
+            case 416: return "Range Not Satisfiable";
+            case 431: return "Request Header Fields Too Large";
+            default: return "Internal Server Error";
+        }
+    }
+
+    /**
+     * Returns true if an <code>If-None-Match</code> header matches an entity tag.
+     * @param header the value of the header.
+     * @param etag the entity tag of the lump.
+     * @return true if the header lists the entity tag, or is <code>*</code>.
+     * @since 1.1
+     */
+    private static boolean matches(final String header, final String etag) {
+        for(String tag : header.split(",")) {
+            tag = tag.trim();
+            if(tag.startsWith("W/")) {
+                tag = tag.substring(2);
+            }
+            if(tag.equals(etag) || tag.equals("*")) {
+                return true;
+            }
+        }
+        return false;
+    }
+
+    /**
+     * Parses a <code>Range</code> header with a single byte range.
+     * @param header the value of the header.
+     * @param size the size of the lump.
+     * @return the first and last byte of the range, an empty array if the range
+     * cannot be satisfied, or null if the header should be ignored because it is
+     * invalid or asks for more than one range.
+     * @since 1.1
+     */
+    private static long[] parseRange(final String header, final long size) {
+        if(!header.regionMatches(true, 0, "bytes=", 0, 6) || header.indexOf(',') >= 0) {
+            return null;
+        }
+        final String spec = header.substring(6).trim();
+        final int dash = spec.indexOf('-');
+        if(dash < 0) {
+            return null;
+        }
+        final long first = parseNumber(spec.substring(0, dash).trim());
+        final long last = parseNumber(spec.substring(dash+1).trim());
+        if(dash == 0) {
+            //A suffix range asks for the last so many bytes.
+            if(last < 0) {
+                return null;
+            }
+            if(last == 0 || size == 0) {
+                return new long[0];
+            }
+            return new long[] {Math.max(0, size-last), size-1};
+        }
+        if(first < 0 || (dash < spec.length()-1 && (last < 0 || last < first))) {
+            return null;
+        }
+        if(first >= size) {
+            return new long[0];
+        }
+        return new long[] {first, last < 0 ? size-1 : Math.min(last, size-1)};
+    }
+
+    /**
+     * Parses a non-negative decimal number.
+     * @param text the number.
+     * @return the number, or -1 if the text is not a non-negative decimal number.
+     * @since 1.1
+     */
+    private static long parseNumber(final String text) {
+        if(text.isEmpty() || text.length() > 18) {
+            return -1;
+        }
+        long temp = 0;
+        for(int i=0; i<text.length(); i++) {
+            final char c = text.charAt(i);
+            if(c < '0' || c > '9') {
+                return -1;
+            }
+            temp = temp*10+(c-'0');
+        }
+        return temp;
+    }
+
+    /**
+     * Closes a channel, ignoring any error.
+     * @param channel the channel to close.
+     * @since 1.1
+     */
+    private static void closeQuietly(final Closeable channel) {
+        try {
+            channel.close();
+        } catch(final IOException e) {
+            //Nothing more can be done with the channel.
+        }
+    }
+
+    //Public Methods
+    /**
+     * Starts accepting connections on the specified address.
+     * @param address the address to listen on; a port of 0 picks a free port,
+     * which {@link #getAddress() getAddress()} then returns.
+     * @return true if the server is successfully started.
+     * @throws java.io.IOException if the address cannot be bound.
+     * @throws java.lang.IllegalStateException if the server has already been started.
+     * @since 1.1
+     */
+    public synchronized boolean start(final InetSocketAddress address) throws IOException, IllegalStateException {
+        if(serverchannel != null) {
+            throw new IllegalStateException("WAD server has already been started.");
+        }
+        final ServerSocketChannel server = ServerSocketChannel.open();
+        try {
+            server.bind(address);
+            executor.execute(() -> accept(server));
+        } catch(final IOException | RuntimeException e) {
+            server.close();
+            throw e;
+        }
+        serverchannel = server;
+        return true;
+    }
+
+    /**
+     * Returns the address the server is listening on.
+     * @return the address, or null if the server has not been started.
+     * @throws java.io.IOException if the address cannot be found.
+     * @since 1.1
+     */
+    public synchronized InetSocketAddress getAddress() throws IOException {
+        return serverchannel == null ? null : (InetSocketAddress)serverchannel.getLocalAddress();
+    }
+
+    /**
+     * Returns the number of connections that are open.
+     * @return the number of open connections.
+     * @since 1.1
+     */
+    public int getNumberOfConnections() {
+        return connections.size();
+    }
+
+    /**
+     * Stops accepting connections and closes every open connection. The {@link
+     * java.util.concurrent.Executor Executor} is not shut down.
+     * @throws java.io.IOException if the server cannot be closed.
+     * @since 1.1
+     */
+    @Override
+    public synchronized void close() throws IOException {
+        if(serverchannel != null) {
+            serverchannel.close();
+        }
+        for(final SocketChannel connection : connections) {
+            closeQuietly(connection);
+        }
+    }
+
+    /**
+     * Thrown when a request is refused before it has been read completely.
+     * @since 1.1
+     */
+    private static final class HttpException extends IOException {
+        /**
+         * The status code to answer with.
+         * @since 1.1
+         */
+        private final int status;
+
+        /**
+         * Creates an {@link HttpException HttpException}.
+         * @param status the status code to answer with.
+         * @since 1.1
+         */
+        private HttpException(final int status) {
+            super("HTTP "+status);
+            this.status = status;
+        }
+    }
+}
@@ -0,0 +1,121 @@
+/*
+ * LumpCacheTest.java
+ * This file is part of jwadlib.
+ *
+ * jwadlib WAD Library - A Java(TM) library for manipulating WAD files.
+ * Copyright (C) 2025 @picttarge
+ *
+ * jwadlib is free software; you can redistribute it and/or
+ * modify it under the terms of the GNU Lesser General Public
+ * License as published by the Free Software Foundation; either
+ * version 2.1 of the License, or (at your option) any later version.
+ *
+ * jwadlib is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the GNU
+ * Lesser General Public License for more details.
+ *
+ * You should have received a copy of the GNU Lesser General Public
+ * License along with this library; if not, write to the Free Software
+ * Foundation, Inc., 51 Franklin Street, Fifth Floor, Boston, MA  02110-1301  USA
+ */
+package jwadlib;
+
+import java.nio.file.Path;
+import java.util.Arrays;
+import java.util.concurrent.atomic.AtomicInteger;
+import static org.junit.jupiter.api.Assertions.assertArrayEquals;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertSame;
+import org.junit.jupiter.api.Test;
+
+/**
+ * Tests that {@link LumpCache LumpCache} stays under its capacity by evicting
+ * the least recently used lump data, and forgets the data and decoded objects
+ * of a lump when it is invalidated or altered.
+ * @author @picttarge
+ * @version 1.1
+ * @since 1.1
+ */
+public class LumpCacheTest {
+    /**
+     * Writes a WAD of three lumps of 100 bytes, each filled with its own index.
+     * @return the path of the WAD file.
+     * @throws java.lang.Exception if the file cannot be written.
+     * @since 1.1
+     */
+    private static Path writeThreeLumps() throws Exception {
+        final byte[][] data = new byte[3][100];
+        for(int i=0; i<data.length; i++) {
+            Arrays.fill(data[i], (byte)i);
+        }
+        return TestWads.write(new String[]{"A", "B", "C"}, data);
+    }
+
+    /**
+     * Reading a third lump into a cache with room for two evicts the one used
+     * least recently, which is read from the WAD file again when it is needed.
+     * @throws java.lang.Exception if the WAD file cannot be read.
+     * @since 1.1
+     */
+    @Test
+    public void evictsLeastRecentlyUsedData() throws Exception {
+        final Wad wad = new Wad(writeThreeLumps().toFile(), WadLoadMode.LAZY);
+        final LumpCache cache = new LumpCache(400);
+        wad.setLumpCache(cache);
+        final Lump a = wad.getAllLumps().get(0);
+        final Lump b = wad.getAllLumps().get(1);
+        final Lump c = wad.getAllLumps().get(2);
+        a.getView();
+        b.getView();
+        a.getView();
+        c.getView();
+        assertEquals(2, cache.size());
+        assertEquals(1, cache.getEvictionCount());
+        assertEquals(1, cache.getHitCount());
+        assertEquals(3, cache.getMissCount());
+
+        //B was used least recently, so it is the one read again.
+        assertEquals(1, b.getView().i8(0));
+        assertEquals(4, cache.getMissCount());
+        a.getView();
+        assertEquals(5, cache.getMissCount());
+        wad.close();
+    }
+
+    /**
+     * Invalidating a lump, or altering its data, removes its data and the
+     * objects decoded from it, so they are read and decoded again.
+     * @throws java.lang.Exception if the WAD file cannot be read.
+     * @since 1.1
+     */
+    @Test
+    public void forgetsInvalidatedAndAlteredLumps() throws Exception {
+        final Wad wad = new Wad(writeThreeLumps().toFile(), WadLoadMode.LAZY);
+        final LumpCache cache = new LumpCache(1 << 20);
+        wad.setLumpCache(cache);
+        final Lump a = wad.getAllLumps().get(0);
+        final AtomicInteger decodes = new AtomicInteger();
+        final Object decoded = cache.getDecoded(a, Object.class, lump -> {
+            decodes.incrementAndGet();
+            return new Object();
+        });
+        assertSame(decoded, cache.getDecoded(a, Object.class, lump -> new Object()));
+        a.getView();
+        assertEquals(2, cache.size());
+
+        cache.invalidate(a);
+        assertEquals(0, cache.size());
+        cache.getDecoded(a, Object.class, lump -> {
+            decodes.incrementAndGet();
+            return new Object();
+        });
+        assertEquals(2, decodes.get());
+
+        a.getView();
+        a.alterRawLumpData(new byte[]{7});
+        assertEquals(0, cache.size());
+        assertArrayEquals(new byte[]{7}, TestWads.bytes(a));
+        wad.close();
+    }
+}
@@ -0,0 +1,66 @@
+/*
+ * LumpDeduplicatorTest.java
+ * This file is part of jwadlib.
+ *
+ * jwadlib WAD Library - A Java(TM) library for manipulating WAD files.
+ * Copyright (C) 2025 @picttarge
+ *
+ * jwadlib is free software; you can redistribute it and/or
+ * modify it under the terms of the GNU Lesser General Public
+ * License as published by the Free Software Foundation; either
+ * version 2.1 of the License, or (at your option) any later version.
+ *
+ * jwadlib is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the GNU
+ * Lesser General Public License for more details.
+ *
+ * You should have received a copy of the GNU Lesser General Public
+ * License along with this library; if not, write to the Free Software
+ * Foundation, Inc., 51 Franklin Street, Fifth Floor, Boston, MA  02110-1301  USA
+ */
+package jwadlib;
+
+import static org.junit.jupiter.api.Assertions.assertArrayEquals;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+import org.junit.jupiter.api.Test;
+
+/**
+ * Tests that {@link LumpDeduplicator LumpDeduplicator} makes lumps with the
+ * same data across {@link Wad Wads} share it, and that altering one of them
+ * leaves the others alone.
+ * @author @picttarge
+ * @version 1.1
+ * @since 1.1
+ */
+public class LumpDeduplicatorTest {
+    /**
+     * Lumps with the same data in two {@link Wad Wads} are counted as one
+     * duplicate, lumps with different data are not, and the shared data is
+     * read-only until a lump is altered.
+     * @throws java.lang.Exception if the WAD files cannot be read.
+     * @since 1.1
+     */
+    @Test
+    public void sharesIdenticalDataAcrossWads() throws Exception {
+        final Wad first = new Wad(TestWads.write(new String[]{"SAME", "ONE"}, new byte[][]{{1, 2, 3, 4}, {5}}).toFile(), WadLoadMode.EAGER);
+        final Wad second = new Wad(TestWads.write(new String[]{"SAME", "TWO"}, new byte[][]{{1, 2, 3, 4}, {6}}).toFile(), WadLoadMode.LAZY);
+        final LumpDeduplicator deduplicator = new LumpDeduplicator();
+        first.setLumpDeduplicator(deduplicator);
+        second.setLumpDeduplicator(deduplicator);
+        final Lump a = first.getAllLumps().get(0);
+        final Lump b = second.getAllLumps().get(0);
+        assertArrayEquals(new byte[]{1, 2, 3, 4}, TestWads.bytes(b));
+        assertArrayEquals(new byte[]{6}, TestWads.bytes(second.getAllLumps().get(1)));
+        assertEquals(1, deduplicator.getDuplicateCount());
+        assertEquals(4, deduplicator.getDuplicateBytes());
+        assertTrue(a.getRawLumpData().isReadOnly());
+
+        a.alterRawLumpData(new byte[]{9, 9, 9, 9});
+        assertArrayEquals(new byte[]{9, 9, 9, 9}, TestWads.bytes(a));
+        assertArrayEquals(new byte[]{1, 2, 3, 4}, TestWads.bytes(b));
+        first.close();
+        second.close();
+    }
+}
@@ -0,0 +1,174 @@
+/*
+ * LumpReaderTest.java
+ * This file is part of jwadlib.
+ *
+ * jwadlib WAD Library - A Java(TM) library for manipulating WAD files.
+ * Copyright (C) 2025 @picttarge
+ *
+ * jwadlib is free software; you can redistribute it and/or
+ * modify it under the terms of the GNU Lesser General Public
+ * License as published by the Free Software Foundation; either
+ * version 2.1 of the License, or (at your option) any later version.
+ *
+ * jwadlib is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the GNU
+ * Lesser General Public License for more details.
+ *
+ * You should have received a copy of the GNU Lesser General Public
+ * License along with this library; if not, write to the Free Software
+ * Foundation, Inc., 51 Franklin Street, Fifth Floor, Boston, MA  02110-1301  USA
+ */
+package jwadlib;
+
+import java.nio.ByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import static org.junit.jupiter.api.Assertions.assertArrayEquals;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertSame;
+import org.junit.jupiter.api.Test;
+
+/**
+ * Tests that {@link LumpReader LumpReader} groups nearby lumps into runs, only
+ * makes lumps that overlap other lumps share their bytes, and that writing to
+ * one of them leaves the others alone.
+ * @author @picttarge
+ * @version 1.1
+ * @since 1.1
+ */
+public class LumpReaderTest {
+    /**
+     * The lumps of the test WAD: A and B are the same bytes, C lies inside D,
+     * E starts inside D and ends after it, and F touches E without overlapping.
+     * @since 1.1
+     */
+    private static final String[] NAMES = {"A", "B", "C", "D", "E", "F"};
+
+    /**
+     * The starting location of each lump.
+     * @since 1.1
+     */
+    private static final int[] POINTERS = {12, 12, 18, 16, 20, 24};
+
+    /**
+     * The size of each lump.
+     * @since 1.1
+     */
+    private static final int[] SIZES = {4, 4, 2, 6, 4, 4};
+
+    /**
+     * Writes the test WAD.
+     * @return the path of the WAD file.
+     * @throws java.lang.Exception if the file cannot be written.
+     * @since 1.1
+     */
+    private static Path writeOverlapping() throws Exception {
+        final byte[] body = new byte[16];
+        for(int i=0; i<body.length; i++) {
+            body[i] = (byte)(i+1);
+        }
+        return TestWads.write(NAMES, body, POINTERS, SIZES);
+    }
+
+    /**
+     * Only the slices of lumps that overlap another lump are read-only.
+     * @throws java.lang.Exception if the WAD file cannot be read.
+     * @since 1.1
+     */
+    @Test
+    public void onlyOverlappingSlicesAreReadOnly() throws Exception {
+        try(final FileChannel channel = FileChannel.open(writeOverlapping(), StandardOpenOption.READ)) {
+            final WadByteBuffer[] contents = LumpReader.read(channel, POINTERS, SIZES, null);
+            final boolean[] overlapping = {true, true, true, true, true, false};
+            for(int i=0; i<NAMES.length; i++) {
+                assertEquals(overlapping[i], contents[i].isReadOnly());
+                assertEquals(SIZES[i], contents[i].getCapacity());
+                assertEquals(POINTERS[i]-11, contents[i].getByte(0));
+            }
+        }
+    }
+
+    /**
+     * Writing to the data of a lump that aliases another does not change the
+     * other lump.
+     * @throws java.lang.Exception if the WAD file cannot be read.
+     * @since 1.1
+     */
+    @Test
+    public void writesDoNotReachAliasedLumps() throws Exception {
+        final Wad wad = new Wad(writeOverlapping().toFile(), WadLoadMode.EAGER);
+        final Lump a = wad.getAllLumps().get(0);
+        final Lump b = wad.getAllLumps().get(1);
+        final Lump d = wad.getAllLumps().get(3);
+        final LumpView view = b.getView();
+        a.getRawLumpData().put(0, (byte)99);
+        d.getRawLumpData().put(2, (byte)99);
+        assertEquals(99, a.getRawLumpData().getByte(0));
+        assertArrayEquals(new byte[]{1, 2, 3, 4}, TestWads.bytes(b));
+        assertEquals(1, view.i8(0));
+        assertArrayEquals(new byte[]{7, 8}, TestWads.bytes(wad.getAllLumps().get(2)));
+        wad.close();
+    }
+
+    /**
+     * A lump that overlaps no other lump hands out its own data rather than a
+     * copy, so a view taken before writing to it sees the write.
+     * @throws java.lang.Exception if the WAD file cannot be read.
+     * @since 1.1
+     */
+    @Test
+    public void ownDataIsNotCopied() throws Exception {
+        final Wad wad = new Wad(writeOverlapping().toFile(), WadLoadMode.EAGER);
+        final Lump f = wad.getAllLumps().get(5);
+        final LumpView view = f.getView();
+        final WadByteBuffer data = f.getRawLumpData();
+        assertFalse(data.isReadOnly());
+        data.put(0, (byte)42);
+        assertEquals(42, view.i8(0));
+        assertSame(data, f.getRawLumpData());
+        wad.close();
+    }
+
+    /**
+     * Lumps separated by a small gap are read in one run, and a lump far from
+     * the others in a run of its own, whether or not an {@link
+     * java.util.concurrent.Executor Executor} is given.
+     * @throws java.lang.Exception if the WAD file cannot be read.
+     * @since 1.1
+     */
+    @Test
+    public void groupsNearbyLumpsIntoRuns() throws Exception {
+        final byte[] body = new byte[12000];
+        for(int i=0; i<body.length; i++) {
+            body[i] = (byte)i;
+        }
+        final int[] pointers = {10012, 12, 20};
+        final int[] sizes = {4, 4, 4};
+        final Path file = TestWads.write(new String[]{"FAR", "X", "Y"}, body, pointers, sizes);
+        final ExecutorService executor = Executors.newFixedThreadPool(2);
+        try(final FileChannel channel = FileChannel.open(file, StandardOpenOption.READ)) {
+            for(final ExecutorService runner : new ExecutorService[]{null, executor}) {
+                final List<Integer> runs = Collections.synchronizedList(new ArrayList<>());
+                final WadByteBuffer[] contents = LumpReader.read(channel, pointers, sizes, runner, size -> {
+                    runs.add(size);
+                    return ByteBuffer.allocate(size);
+                });
+                Collections.sort(runs);
+                assertEquals(List.of(4, 12), runs);
+                for(int i=0; i<pointers.length; i++) {
+                    assertEquals((byte)(pointers[i]-12), contents[i].getByte(0));
+                }
+            }
+        } finally {
+            executor.shutdownNow();
+        }
+    }
+}
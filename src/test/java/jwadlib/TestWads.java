@@ -0,0 +1,111 @@
+/*
+ * TestWads.java
+ * This file is part of jwadlib.
+ *
+ * jwadlib WAD Library - A Java(TM) library for manipulating WAD files.
+ * Copyright (C) 2025 @picttarge
+ *
+ * jwadlib is free software; you can redistribute it and/or
+ * modify it under the terms of the GNU Lesser General Public
+ * License as published by the Free Software Foundation; either
+ * version 2.1 of the License, or (at your option) any later version.
+ *
+ * jwadlib is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the GNU
+ * Lesser General Public License for more details.
+ *
+ * You should have received a copy of the GNU Lesser General Public
+ * License along with this library; if not, write to the Free Software
+ * Foundation, Inc., 51 Franklin Street, Fifth Floor, Boston, MA  02110-1301  USA
+ */
+package jwadlib;
+
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.ByteOrder;
+import java.nio.file.Files;
+import java.nio.file.Path;
+
+/**
+ * Writes small WAD files for the tests to read.
+ * @author @picttarge
+ * @version 1.1
+ * @since 1.1
+ */
+final class TestWads {
+    //Constructors
+    /**
+     * {@link TestWads TestWads} only has static methods.
+     * @since 1.1
+     */
+    private TestWads() {
+    }
+
+    //Package Static Methods
+    /**
+     * Writes a PWAD with the specified lumps, stored one after another, to a
+     * temporary file.
+     * @param names the names of the lumps.
+     * @param data the data of the lumps.
+     * @return the path of the WAD file.
+     * @throws java.io.IOException if the file cannot be written.
+     * @since 1.1
+     */
+    static Path write(final String[] names, final byte[][] data) throws IOException {
+        int total = 0;
+        for(final byte[] lump : data) {
+            total += lump.length;
+        }
+        final ByteBuffer body = ByteBuffer.allocate(total);
+        final int[] pointers = new int[names.length];
+        final int[] sizes = new int[names.length];
+        for(int i=0; i<names.length; i++) {
+            pointers[i] = 12+body.position();
+            sizes[i] = data[i].length;
+            body.put(data[i]);
+        }
+        return write(names, body.array(), pointers, sizes);
+    }
+
+    /**
+     * Writes a PWAD whose lumps are the specified ranges of the specified bytes,
+     * which may overlap, to a temporary file. The bytes are stored right after
+     * the header, at offset 12.
+     * @param names the names of the lumps.
+     * @param body the bytes that the lump data is taken from.
+     * @param pointers the starting location of each lump in the WAD file.
+     * @param sizes the size of each lump.
+     * @return the path of the WAD file.
+     * @throws java.io.IOException if the file cannot be written.
+     * @since 1.1
+     */
+    static Path write(final String[] names, final byte[] body, final int[] pointers, final int[] sizes) throws IOException {
+        final ByteBuffer wad = ByteBuffer.allocate(12+body.length+16*names.length).order(ByteOrder.LITTLE_ENDIAN);
+        wad.put("PWAD".getBytes()).putInt(names.length).putInt(12+body.length).put(body);
+        for(int i=0; i<names.length; i++) {
+            wad.putInt(pointers[i]).putInt(sizes[i]);
+            final byte[] name = new byte[8];
+            System.arraycopy(names[i].getBytes(), 0, name, 0, names[i].length());
+            wad.put(name);
+        }
+        final Path file = Files.createTempFile("jwadlib", ".wad");
+        file.toFile().deleteOnExit();
+        Files.write(file, wad.array());
+        return file;
+    }
+
+    /**
+     * Returns a copy of the data of a lump, read through its {@link LumpView
+     * LumpView} so that the data is not handed out to be written to.
+     * @param lump the lump.
+     * @return a copy of the lump data.
+     * @since 1.1
+     */
+    static byte[] bytes(final Lump lump) {
+        final LumpView view = lump.getView();
+        final byte[] data = new byte[view.size()];
+        view.get(0, data, 0, data.length);
+        return data;
+    }
+}
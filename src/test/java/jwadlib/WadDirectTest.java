@@ -0,0 +1,86 @@
+/*
+ * WadDirectTest.java
+ * This file is part of jwadlib.
+ *
+ * jwadlib WAD Library - A Java(TM) library for manipulating WAD files.
+ * Copyright (C) 2025 @picttarge
+ *
+ * jwadlib is free software; you can redistribute it and/or
+ * modify it under the terms of the GNU Lesser General Public
+ * License as published by the Free Software Foundation; either
+ * version 2.1 of the License, or (at your option) any later version.
+ *
+ * jwadlib is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the GNU
+ * Lesser General Public License for more details.
+ *
+ * You should have received a copy of the GNU Lesser General Public
+ * License along with this library; if not, write to the Free Software
+ * Foundation, Inc., 51 Franklin Street, Fifth Floor, Boston, MA  02110-1301  USA
+ */
+package jwadlib;
+
+import java.nio.file.Path;
+import static org.junit.jupiter.api.Assertions.assertArrayEquals;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+import org.junit.jupiter.api.Test;
+
+/**
+ * Tests that the lump data of a {@link WadLoadMode#DIRECT DIRECT} {@link Wad
+ * Wad} stays in direct memory when it is handed out to be written to.
+ * @author @picttarge
+ * @version 1.1
+ * @since 1.1
+ */
+public class WadDirectTest {
+    /**
+     * Writes a WAD in which lumps A and B are the same bytes and C has bytes of
+     * its own.
+     * @return the path of the WAD file.
+     * @throws java.lang.Exception if the file cannot be written.
+     * @since 1.1
+     */
+    private static Path writeAliased() throws Exception {
+        return TestWads.write(new String[]{"A", "B", "C"}, new byte[]{1, 2, 3, 4, 5, 6}, new int[]{12, 12, 15}, new int[]{3, 3, 3});
+    }
+
+    /**
+     * A lump that overlaps no other lump hands out its direct memory itself.
+     * @throws java.lang.Exception if the WAD file cannot be read.
+     * @since 1.1
+     */
+    @Test
+    public void handsOutDirectMemory() throws Exception {
+        final Wad wad = new Wad(writeAliased().toFile(), WadLoadMode.DIRECT);
+        final Lump c = wad.getAllLumps().get(2);
+        final LumpView view = c.getView();
+        final WadByteBuffer data = c.getRawLumpData();
+        assertTrue(data.getByteBuffer().isDirect());
+        assertFalse(data.isReadOnly());
+        data.put(0, (byte)9);
+        assertEquals(9, view.i8(0));
+        wad.close();
+    }
+
+    /**
+     * A lump that aliases another is copied into direct memory of its own before
+     * it is handed out, and writing to it leaves the other lump alone.
+     * @throws java.lang.Exception if the WAD file cannot be read.
+     * @since 1.1
+     */
+    @Test
+    public void copiesAliasedLumpIntoDirectMemory() throws Exception {
+        final Wad wad = new Wad(writeAliased().toFile(), WadLoadMode.DIRECT);
+        final Lump a = wad.getAllLumps().get(0);
+        final WadByteBuffer data = a.getRawLumpData();
+        assertTrue(data.getByteBuffer().isDirect());
+        assertFalse(data.isReadOnly());
+        data.put(0, (byte)9);
+        assertArrayEquals(new byte[]{9, 2, 3}, TestWads.bytes(a));
+        assertArrayEquals(new byte[]{1, 2, 3}, TestWads.bytes(wad.getAllLumps().get(1)));
+        wad.close();
+    }
+}
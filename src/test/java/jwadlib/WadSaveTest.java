@@ -0,0 +1,151 @@
+/*
+ * WadSaveTest.java
+ * This file is part of jwadlib.
+ *
+ * jwadlib WAD Library - A Java(TM) library for manipulating WAD files.
+ * Copyright (C) 2025 @picttarge
+ *
+ * jwadlib is free software; you can redistribute it and/or
+ * modify it under the terms of the GNU Lesser General Public
+ * License as published by the Free Software Foundation; either
+ * version 2.1 of the License, or (at your option) any later version.
+ *
+ * jwadlib is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the GNU
+ * Lesser General Public License for more details.
+ *
+ * You should have received a copy of the GNU Lesser General Public
+ * License along with this library; if not, write to the Free Software
+ * Foundation, Inc., 51 Franklin Street, Fifth Floor, Boston, MA  02110-1301  USA
+ */
+package jwadlib;
+
+import java.nio.file.Files;
+import java.nio.file.Path;
+import static org.junit.jupiter.api.Assertions.assertArrayEquals;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertSame;
+import org.junit.jupiter.api.Test;
+
+/**
+ * Tests that {@link Wad#save() Wad.save()} writes the data of lumps that were 
+ * changed in place rather than reusing their old location in the WAD file, 
+ * writes unchanged data only once, and leaves lumps shared with another {@link 
+ * Wad Wad} untouched.
+ * @author @picttarge
+ * @version 1.1
+ * @since 1.1
+ */
+public class WadSaveTest {
+    /**
+     * A lump whose data is changed in place through {@link Lump#getRawLumpData() 
+     * getRawLumpData()} is written by {@link Wad#save() save()}.
+     * @throws java.lang.Exception if the WAD file cannot be read or written.
+     * @since 1.1
+     */
+    @Test
+    public void savesLumpEditedInPlace() throws Exception {
+        final Path file = TestWads.write(new String[]{"A", "B"}, new byte[][]{{1, 2, 3}, {4, 5}});
+        final Wad wad = new Wad(file.toFile(), WadLoadMode.EAGER);
+        wad.getAllLumps().get(0).getRawLumpData().put(1, (byte)9);
+        wad.save();
+        wad.close();
+        
+        final Wad saved = new Wad(file.toFile(), WadLoadMode.EAGER);
+        assertArrayEquals(new byte[]{1, 9, 3}, TestWads.bytes(saved.getAllLumps().get(0)));
+        assertArrayEquals(new byte[]{4, 5}, TestWads.bytes(saved.getAllLumps().get(1)));
+        saved.close();
+    }
+    
+    /**
+     * A lump whose data is grown in place with {@link 
+     * WadByteBuffer#alterBufferSize(int) alterBufferSize()} is written by {@link 
+     * Wad#save() save()} with its new size, and the lump after it is unchanged.
+     * @throws java.lang.Exception if the WAD file cannot be read or written.
+     * @since 1.1
+     */
+    @Test
+    public void savesLumpGrownInPlace() throws Exception {
+        final Path file = TestWads.write(new String[]{"A", "B"}, new byte[][]{{1, 2, 3}, {4, 5}});
+        final Wad wad = new Wad(file.toFile(), WadLoadMode.EAGER);
+        final WadByteBuffer data = wad.getAllLumps().get(0).getRawLumpData();
+        data.alterBufferSize(5);
+        data.put(3, (byte)7).put(4, (byte)8);
+        wad.save();
+        wad.close();
+        
+        final Wad saved = new Wad(file.toFile(), WadLoadMode.EAGER);
+        assertEquals(5, saved.getAllLumps().get(0).getSize());
+        assertArrayEquals(new byte[]{1, 2, 3, 7, 8}, TestWads.bytes(saved.getAllLumps().get(0)));
+        assertArrayEquals(new byte[]{4, 5}, TestWads.bytes(saved.getAllLumps().get(1)));
+        saved.close();
+    }
+    
+    /**
+     * Saving again after a lump has been altered and saved only writes a new 
+     * directory, rather than the lump data again.
+     * @throws java.lang.Exception if the WAD file cannot be read or written.
+     * @since 1.1
+     */
+    @Test
+    public void savesAlteredLumpOnce() throws Exception {
+        final Path file = TestWads.write(new String[]{"A", "B"}, new byte[][]{new byte[1000], {4, 5}});
+        final Wad wad = new Wad(file.toFile(), WadLoadMode.EAGER);
+        wad.getAllLumps().get(0).alterRawLumpData(new byte[1000]);
+        wad.save();
+        final long size = Files.size(file);
+        wad.save();
+        wad.save();
+        wad.close();
+        assertEquals(size+2*2*16, Files.size(file));
+    }
+    
+    /**
+     * Reading lump data through {@link Lump#getRawLumpData() getRawLumpData()} 
+     * without changing it does not make {@link Wad#save() save()} write it, in 
+     * every {@link WadLoadMode WadLoadMode}.
+     * @throws java.lang.Exception if the WAD file cannot be read or written.
+     * @since 1.1
+     */
+    @Test
+    public void doesNotSaveLumpThatWasOnlyRead() throws Exception {
+        for(final WadLoadMode mode : WadLoadMode.values()) {
+            final Path file = TestWads.write(new String[]{"A", "B"}, new byte[][]{new byte[1000], {4, 5}});
+            final long size = Files.size(file);
+            final Wad wad = new Wad(file.toFile(), mode);
+            wad.getAllLumps().get(0).getRawLumpData();
+            wad.save();
+            wad.close();
+            assertEquals(size+2*16, Files.size(file));
+        }
+    }
+    
+    /**
+     * Saving a {@link Wad Wad} that holds a lump of another {@link Wad Wad} 
+     * leaves that lump reading from the other WAD file.
+     * @throws java.lang.Exception if the WAD files cannot be read or written.
+     * @since 1.1
+     */
+    @Test
+    public void leavesSharedLumpWithItsWad() throws Exception {
+        final Path iwadfile = TestWads.write(new String[]{"A", "B"}, new byte[][]{{1, 2, 3}, {4, 5}});
+        final Path pwadfile = TestWads.write(new String[]{"C"}, new byte[][]{{6}});
+        final Wad iwad = new Wad(iwadfile.toFile(), WadLoadMode.LAZY);
+        final Wad pwad = new Wad(pwadfile.toFile(), WadLoadMode.LAZY);
+        final Lump shared = iwad.getAllLumps().get(1);
+        final int pointer = shared.getPointer();
+        pwad.addLump(shared);
+        pwad.save();
+        pwad.close();
+        
+        assertSame(shared, iwad.getAllLumps().get(1));
+        assertEquals(pointer, shared.getPointer());
+        assertArrayEquals(new byte[]{4, 5}, TestWads.bytes(shared));
+        iwad.close();
+        
+        final Wad saved = new Wad(pwadfile.toFile(), WadLoadMode.EAGER);
+        assertArrayEquals(new byte[]{4, 5}, TestWads.bytes(saved.getAllLumps().get(1)));
+        saved.close();
+    }
+}
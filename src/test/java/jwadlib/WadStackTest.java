@@ -0,0 +1,86 @@
+/*
+ * WadStackTest.java
+ * This file is part of jwadlib.
+ *
+ * jwadlib WAD Library - A Java(TM) library for manipulating WAD files.
+ * Copyright (C) 2025 @picttarge
+ *
+ * jwadlib is free software; you can redistribute it and/or
+ * modify it under the terms of the GNU Lesser General Public
+ * License as published by the Free Software Foundation; either
+ * version 2.1 of the License, or (at your option) any later version.
+ *
+ * jwadlib is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the GNU
+ * Lesser General Public License for more details.
+ *
+ * You should have received a copy of the GNU Lesser General Public
+ * License along with this library; if not, write to the Free Software
+ * Foundation, Inc., 51 Franklin Street, Fifth Floor, Boston, MA  02110-1301  USA
+ */
+package jwadlib;
+
+import java.util.List;
+import static org.junit.jupiter.api.Assertions.assertArrayEquals;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertSame;
+import org.junit.jupiter.api.Test;
+
+/**
+ * Tests that a {@link WadStack WadStack} resolves lumps the way Doom does, with
+ * later {@link Wad Wads} overriding earlier ones.
+ * @author @picttarge
+ * @version 1.1
+ * @since 1.1
+ */
+public class WadStackTest {
+    /**
+     * The last {@link Wad Wad} to have a lump wins, a namespace keeps the order
+     * of the first {@link Wad Wad} with overridden lumps in their place, and
+     * every copy of a lump is still found.
+     * @throws java.lang.Exception if the WAD files cannot be read.
+     * @since 1.1
+     */
+    @Test
+    public void laterWadsOverrideEarlierOnes() throws Exception {
+        final Wad iwad = new Wad(TestWads.write(new String[]{"PLAYPAL", "S_START", "TROOA1", "POSSA1", "S_END"},
+                new byte[][]{{1}, {}, {2}, {3}, {}}).toFile(), WadLoadMode.EAGER);
+        final Wad pwad = new Wad(TestWads.write(new String[]{"PLAYPAL", "SS_START", "TROOA1", "SARGA1", "SS_END"},
+                new byte[][]{{4}, {}, {5}, {6}, {}}).toFile(), WadLoadMode.EAGER);
+        final WadStack stack = new WadStack(iwad, pwad);
+
+        assertArrayEquals(new byte[]{4}, TestWads.bytes(stack.findLump("PLAYPAL")));
+        final List<Lump> sprites = stack.getLumps(LumpNamespace.SPRITES);
+        assertEquals(3, sprites.size());
+        assertArrayEquals(new byte[]{5}, TestWads.bytes(sprites.get(0)));
+        assertArrayEquals(new byte[]{3}, TestWads.bytes(sprites.get(1)));
+        assertArrayEquals(new byte[]{6}, TestWads.bytes(sprites.get(2)));
+        assertSame(sprites.get(0), stack.findLump("TROOA1", LumpNamespace.SPRITES));
+
+        final List<Lump> all = stack.findAllLumps("PLAYPAL");
+        assertEquals(2, all.size());
+        assertArrayEquals(new byte[]{1}, TestWads.bytes(all.get(0)));
+        assertArrayEquals(new byte[]{4}, TestWads.bytes(all.get(1)));
+        iwad.close();
+        pwad.close();
+    }
+
+    /**
+     * A lump added to a {@link Wad Wad} after the stack has been searched is
+     * found by the next search.
+     * @throws java.lang.Exception if the WAD files cannot be read.
+     * @since 1.1
+     */
+    @Test
+    public void seesLumpsAddedAfterSearching() throws Exception {
+        final Wad iwad = new Wad(TestWads.write(new String[]{"PLAYPAL"}, new byte[][]{{1}}).toFile(), WadLoadMode.EAGER);
+        final Wad pwad = new Wad(TestWads.write(new String[]{"MAP01"}, new byte[][]{{}}).toFile(), WadLoadMode.EAGER);
+        final WadStack stack = new WadStack(iwad, pwad);
+        assertArrayEquals(new byte[]{1}, TestWads.bytes(stack.findLump("PLAYPAL")));
+        pwad.addLump(new Lump("PLAYPAL", new byte[]{7}));
+        assertArrayEquals(new byte[]{7}, TestWads.bytes(stack.findLump("PLAYPAL")));
+        iwad.close();
+        pwad.close();
+    }
+}
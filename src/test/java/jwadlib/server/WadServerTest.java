@@ -0,0 +1,160 @@
+/*
+ * WadServerTest.java
+ * This file is part of jwadlib.
+ *
+ * jwadlib WAD Library - A Java(TM) library for manipulating WAD files.
+ * Copyright (C) 2025 @picttarge
+ *
+ * jwadlib is free software; you can redistribute it and/or
+ * modify it under the terms of the GNU Lesser General Public
+ * License as published by the Free Software Foundation; either
+ * version 2.1 of the License, or (at your option) any later version.
+ *
+ * jwadlib is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the GNU
+ * Lesser General Public License for more details.
+ *
+ * You should have received a copy of the GNU Lesser General Public
+ * License along with this library; if not, write to the Free Software
+ * Foundation, Inc., 51 Franklin Street, Fifth Floor, Boston, MA  02110-1301  USA
+ */
+package jwadlib.server;
+
+import java.io.ByteArrayOutputStream;
+import java.io.InputStream;
+import java.net.InetAddress;
+import java.net.InetSocketAddress;
+import java.net.Socket;
+import java.nio.charset.StandardCharsets;
+import java.util.Collections;
+import java.util.List;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import jwadlib.Lump;
+import jwadlib.LumpLookup;
+import jwadlib.LumpName;
+import jwadlib.LumpNamespace;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+import org.junit.jupiter.api.Test;
+
+/**
+ * Tests the byte ranges and <code>ETag</code> handling of {@link WadServer
+ * WadServer} over a real connection.
+ * @author @picttarge
+ * @version 1.1
+ * @since 1.1
+ */
+public class WadServerTest {
+    /**
+     * A {@link jwadlib.LumpLookup LumpLookup} that holds a single lump.
+     * @param lump the lump.
+     * @return the lookup.
+     * @since 1.1
+     */
+    private static LumpLookup lookup(final Lump lump) {
+        return new LumpLookup() {
+            @Override
+            public Lump findLump(final LumpName name, final LumpNamespace namespace) {
+                return name.equals(lump.getLumpName()) ? lump : null;
+            }
+
+            @Override
+            public List<Lump> getLumps(final LumpNamespace namespace) {
+                return Collections.singletonList(lump);
+            }
+        };
+    }
+
+    /**
+     * Sends a request for the lump to the server with the specified extra
+     * header fields and returns the whole response.
+     * @param server the server.
+     * @param fields the extra header fields, each ending in CRLF.
+     * @return the response, with the body decoded as ISO-8859-1.
+     * @throws java.lang.Exception if the request cannot be sent.
+     * @since 1.1
+     */
+    private static String request(final WadServer server, final String fields) throws Exception {
+        try(final Socket socket = new Socket(InetAddress.getLoopbackAddress(), server.getAddress().getPort())) {
+            socket.getOutputStream().write(("GET /lumps/DATA HTTP/1.1\r\nHost: localhost\r\nConnection: close\r\n"+fields+"\r\n").getBytes(StandardCharsets.ISO_8859_1));
+            final InputStream in = socket.getInputStream();
+            final ByteArrayOutputStream response = new ByteArrayOutputStream();
+            final byte[] buffer = new byte[1024];
+            int read;
+            while((read = in.read(buffer)) >= 0) {
+                response.write(buffer, 0, read);
+            }
+            return response.toString(StandardCharsets.ISO_8859_1);
+        }
+    }
+
+    /**
+     * Returns the value of the specified header field of a response.
+     * @param response the response.
+     * @param field the name of the field.
+     * @return the value, or null if the response does not have the field.
+     * @since 1.1
+     */
+    private static String field(final String response, final String field) {
+        for(final String line : response.substring(0, response.indexOf("\r\n\r\n")).split("\r\n")) {
+            if(line.regionMatches(true, 0, field+":", 0, field.length()+1)) {
+                return line.substring(field.length()+1).trim();
+            }
+        }
+        return null;
+    }
+
+    /**
+     * Returns the body of a response.
+     * @param response the response.
+     * @return the body.
+     * @since 1.1
+     */
+    private static String body(final String response) {
+        return response.substring(response.indexOf("\r\n\r\n")+4);
+    }
+
+    /**
+     * A range is answered with just those bytes, a range past the end of the
+     * lump is refused, and a request carrying the lump's <code>ETag</code> in
+     * <code>If-None-Match</code> gets no body.
+     * @throws java.lang.Exception if the server cannot be reached.
+     * @since 1.1
+     */
+    @Test
+    public void servesRangesAndETags() throws Exception {
+        final ExecutorService executor = Executors.newCachedThreadPool();
+        final WadServer server = new WadServer(lookup(new Lump("DATA", "0123456789".getBytes(StandardCharsets.ISO_8859_1))), executor);
+        try {
+            server.start(new InetSocketAddress(InetAddress.getLoopbackAddress(), 0));
+
+            final String full = request(server, "");
+            assertTrue(full.startsWith("HTTP/1.1 200 "));
+            assertEquals("0123456789", body(full));
+            final String etag = field(full, "ETag");
+
+            final String partial = request(server, "Range: bytes=2-4\r\n");
+            assertTrue(partial.startsWith("HTTP/1.1 206 "));
+            assertEquals("bytes 2-4/10", field(partial, "Content-Range"));
+            assertEquals("234", body(partial));
+
+            final String suffix = request(server, "Range: bytes=-3\r\n");
+            assertEquals("789", body(suffix));
+
+            assertTrue(request(server, "Range: bytes=20-30\r\n").startsWith("HTTP/1.1 416 "));
+
+            final String cached = request(server, "If-None-Match: "+etag+"\r\n");
+            assertTrue(cached.startsWith("HTTP/1.1 304 "));
+            assertEquals("", body(cached));
+
+            final String stale = request(server, "Range: bytes=2-4\r\nIf-Range: \"0000000000000000\"\r\n");
+            assertTrue(stale.startsWith("HTTP/1.1 200 "));
+            assertEquals("0123456789", body(stale));
+        } finally {
+            server.close();
+            executor.shutdownNow();
+        }
+    }
+}